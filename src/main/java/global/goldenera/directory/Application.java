@@ -24,11 +24,14 @@
 package global.goldenera.directory;
 
 import java.security.Security;
+import java.util.Arrays;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import global.goldenera.directory.cli.TxCorpusCommand;
+
 @SpringBootApplication
 public class Application {
 
@@ -39,6 +42,10 @@ public class Application {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(TxCorpusCommand.NAME)) {
+            // offline tool: no Spring context, no web server
+            System.exit(TxCorpusCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
         SpringApplication.run(Application.class, args);
     }
 
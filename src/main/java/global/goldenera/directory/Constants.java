@@ -23,7 +23,6 @@
  */
 package global.goldenera.directory;
 
-import java.lang.module.ModuleDescriptor.Version;
 import java.util.Map;
 
 import lombok.experimental.UtilityClass;
@@ -31,7 +30,7 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class Constants {
 
-    // Fork config
+    // Built-in fork schedule, see ForkScheduleService
     public static final Map<ForkName, Long> FORK_ACTIVATION_BLOCKS = Map.of(ForkName.GENESIS, 0L);
     public static final Map<ForkName, String> REQUIRED_SOFTWARE_VERSION_FOR_FORK = Map.of(ForkName.GENESIS, "0.0.1");
 
@@ -46,24 +45,4 @@ public class Constants {
         }
         return blockHeight >= activationHeight;
     }
-
-    public static boolean shouldNodeShutdown(long nodeHeight, String nodeVersionStr) {
-        try {
-            Version nodeVersion = Version.parse(nodeVersionStr);
-            for (ForkName fork : ForkName.values()) {
-                if (isForkActive(fork, nodeHeight)) {
-                    String requiredVersionStr = REQUIRED_SOFTWARE_VERSION_FOR_FORK.get(fork);
-                    if (requiredVersionStr != null) {
-                        Version requiredVersion = Version.parse(requiredVersionStr);
-                        if (nodeVersion.compareTo(requiredVersion) < 0) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            return true;
-        }
-        return false;
-    }
 }
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.follower;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import global.goldenera.directory.api.v1.follower.dtos.FollowerChangesDtoV1;
+import global.goldenera.directory.api.v1.follower.dtos.FollowerSnapshotDtoV1;
+import global.goldenera.directory.exceptions.GEAuthenticationException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesFollowerConfig;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.services.system.FollowerService;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Snapshot and change stream polled by {@link FollowerService} on followers.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/follower")
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class FollowerApiV1 {
+
+	PropertiesGeneralConfig propertiesGeneralConfig;
+	PropertiesFollowerConfig propertiesFollowerConfig;
+	FollowerService followerService;
+
+	@GetMapping("snapshot")
+	public FollowerSnapshotDtoV1 getSnapshot(
+			@RequestHeader(required = true, name = "X-Access-Token") String accessToken) {
+		checkAccessToken(accessToken);
+		return followerService.snapshot();
+	}
+
+	@GetMapping("changes")
+	public FollowerChangesDtoV1 getChanges(
+			@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestParam("since") long since,
+			@RequestParam(value = "limit", defaultValue = "1000") int limit) {
+		checkAccessToken(accessToken);
+		if (limit <= 0) {
+			throw new GEValidationException("Limit must be positive.");
+		}
+		return followerService.changes(since, Math.min(limit, propertiesFollowerConfig.getChangeLogCapacity()));
+	}
+
+	private void checkAccessToken(String accessToken) {
+		if (!accessToken.equals(propertiesGeneralConfig.getApiAccessToken())) {
+			throw new GEAuthenticationException("Invalid authorization header");
+		}
+	}
+}
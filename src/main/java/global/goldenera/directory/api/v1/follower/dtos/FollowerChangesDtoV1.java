@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.follower.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@FieldDefaults(level = PRIVATE)
+public class FollowerChangesDtoV1 {
+
+	/**
+	 * Leader's change log epoch; a new value means the leader restarted and
+	 * its sequences started over.
+	 */
+	long epoch;
+
+	/**
+	 * Last change covered by this response; pass it as {@code since} next.
+	 */
+	long sequence;
+
+	/**
+	 * Last change known to the leader.
+	 */
+	long leaderSequence;
+
+	/**
+	 * {@code true} when the requested changes are no longer kept and the
+	 * snapshot must be reloaded.
+	 */
+	boolean resync;
+
+	/**
+	 * Current records of the changed identities still registered.
+	 */
+	List<NodeRecordDtoV1> updated;
+
+	/**
+	 * Changed identities no longer registered.
+	 */
+	List<String> removed;
+}
@@ -31,12 +31,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import global.goldenera.cryptoj.datatypes.Address;
 import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodeHistoryDtoV1;
 import global.goldenera.directory.api.v1.node.dtos.NodePingDtoV1;
 import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeStatsDtoV1;
 import global.goldenera.directory.exceptions.GEAuthenticationException;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.services.business.CryptoJKeyPoolService;
 import global.goldenera.directory.services.business.NodeBusinessService;
+import global.goldenera.directory.services.system.FollowerService;
+import global.goldenera.directory.services.system.NodeHistoryService;
+import global.goldenera.directory.services.system.ReplicationService;
+import global.goldenera.directory.services.system.ShardingService;
 import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
@@ -50,18 +60,55 @@ public class NodeApiV1 {
 
 	PropertiesGeneralConfig propertiesGeneralConfig;
 	NodeBusinessService nodeBusinessService;
+	NodeHistoryService nodeHistoryService;
+	ReplicationService replicationService;
+	ShardingService shardingService;
+	FollowerService followerService;
+	AddressRateLimiter addressRateLimiter;
+	CryptoJKeyPoolService cryptoJKeyPoolService;
 
 	@PostMapping("ping")
-	public NodePongDtoV1 ping(@RequestBody NodePingDtoV1 nodePingDto) {
-		return nodeBusinessService.handlePing(nodePingDto);
+	public NodePongDtoV1 ping(@RequestBody NodePingDtoV1 nodePingDto, HttpServletRequest request) {
+		return nodeBusinessService.handlePing(nodePingDto, request.getRemoteAddr());
 	}
 
 	@GetMapping("peers")
 	public NodePongDtoV1 getPeers(@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
 			@RequestParam(value = "network", required = false) Network network) {
+		checkAccessToken(accessToken);
+		return nodeBusinessService.buildPong(network);
+	}
+
+	@GetMapping("history")
+	public NodeHistoryDtoV1 getHistory(@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestParam(value = "identity") Address identity) {
+		checkAccessToken(accessToken);
+		return nodeHistoryService.getHistory(identity);
+	}
+
+	@GetMapping("stats")
+	public NodeStatsDtoV1 getStats(@RequestHeader(required = true, name = "X-Access-Token") String accessToken) {
+		checkAccessToken(accessToken);
+		NodeStatsDtoV1 stats = nodeBusinessService.getStats();
+		stats.setReplicationDroppedDeltas(replicationService.getDroppedDeltas());
+		stats.setReplicationRepairedRecords(replicationService.getRepairedRecords());
+		stats.setShardForwarded(shardingService.getForwarded());
+		stats.setShardForwardFailures(shardingService.getForwardFailures());
+		stats.setShardForwardRejected(shardingService.getForwardRejected());
+		stats.setShardSummariesRejected(shardingService.getRejectedSummaries());
+		stats.setFollowerLagSequences(followerService.getLagSequences());
+		stats.setFollowerLagMillis(followerService.getLagMillis());
+		stats.setRateLimitEvictions(addressRateLimiter.getEvictions());
+		stats.setRateLimitRejectedByLevel(addressRateLimiter.getRejectedByLevel());
+		stats.setRateLimitRejectedByFamily(addressRateLimiter.getRejectedByFamily());
+		stats.setKeyPoolAvailable(cryptoJKeyPoolService.getAvailable());
+		stats.setKeyPoolMisses(cryptoJKeyPoolService.getMisses());
+		return stats;
+	}
+
+	private void checkAccessToken(String accessToken) {
 		if (!accessToken.equals(propertiesGeneralConfig.getApiAccessToken())) {
 			throw new GEAuthenticationException("Invalid authorization header");
 		}
-		return nodeBusinessService.buildPong(network);
 	}
 }
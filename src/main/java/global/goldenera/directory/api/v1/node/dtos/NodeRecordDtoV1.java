@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.node.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import global.goldenera.cryptoj.enums.Network;
+
+/**
+ * Registry record as exchanged between directory instances.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@FieldDefaults(level = PRIVATE)
+public class NodeRecordDtoV1 {
+
+	String nodeIdentity;
+
+	String p2pListenHost;
+
+	Integer p2pListenPort;
+
+	Network network;
+
+	String softwareVersion;
+
+	String totalDifficulty;
+
+	String headHash;
+
+	long headHeight;
+
+	/**
+	 * Signed ping timestamp (Unix seconds), the last-writer-wins version.
+	 */
+	long pingTimestamp;
+
+	/**
+	 * Address the ping arrived from, used for admission accounting.
+	 */
+	String sourceIp;
+
+	/**
+	 * Tenure at the origin (see {@code NodeTenure}), so the receiving instance
+	 * does not take established nodes for newcomers. {@code 0} in records built
+	 * from a ping and in records from instances that predate these fields.
+	 */
+	long firstSeen;
+
+	int pingCount;
+
+	int pingIntervalMillis;
+}
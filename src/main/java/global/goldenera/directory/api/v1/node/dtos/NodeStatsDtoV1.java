@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.node.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Map;
+
+import global.goldenera.directory.registry.NodeRegistryBackend;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@FieldDefaults(level = PRIVATE)
+public class NodeStatsDtoV1 {
+
+	NodeRegistryBackend registryBackend;
+
+	int registrySize;
+
+	int registryCapacity;
+
+	/**
+	 * Retained bytes per node record, including index overhead.
+	 */
+	long registryBytesPerNode;
+
+	/**
+	 * Heap objects retained per node record.
+	 */
+	int registryHeapObjectsPerNode;
+
+	long registryOffHeapBytes;
+
+	/**
+	 * Registered nodes per software version.
+	 */
+	Map<String, Integer> softwareVersionCounts;
+
+	/**
+	 * Host, version and source address values stored raw because their intern
+	 * table was full.
+	 */
+	int internSpilledValues;
+
+	long historyDroppedRecords;
+
+	/**
+	 * Identities with an armed expiry timer.
+	 */
+	int expiryPendingTimers;
+
+	/**
+	 * Entries removed by the expiry wheel since startup.
+	 */
+	long expiredNodes;
+
+	/**
+	 * Registered identities that have not yet earned tenure.
+	 */
+	int admissionOnProbation;
+
+	/**
+	 * New identities refused by the admission policy since startup.
+	 */
+	long admissionRejected;
+
+	/**
+	 * Distinct advertised {@code host:port} pairs.
+	 */
+	int endpointCount;
+
+	/**
+	 * New identities refused because more tenured ones held their endpoint.
+	 */
+	long endpointRejected;
+
+	/**
+	 * Deltas not pushed to peers because the outbox was full.
+	 */
+	long replicationDroppedDeltas;
+
+	/**
+	 * Records pulled in by anti-entropy since startup.
+	 */
+	long replicationRepairedRecords;
+
+	/**
+	 * Pings verified here and forwarded to the shard owning the identity.
+	 */
+	long shardForwarded;
+
+	/**
+	 * Pings kept locally because their owning shard was unreachable or the
+	 * forward queue was full.
+	 */
+	long shardForwardFailures;
+
+	/**
+	 * Forwarded pings the owning shard refused.
+	 */
+	long shardForwardRejected;
+
+	/**
+	 * Shard summaries dropped because they were not signed by the member.
+	 */
+	long shardSummariesRejected;
+
+	/**
+	 * Leader changes not yet applied by this follower, as of the last poll.
+	 */
+	long followerLagSequences;
+
+	/**
+	 * Milliseconds since this follower was last caught up, -1 before the first
+	 * sync.
+	 */
+	long followerLagMillis;
+
+	/**
+	 * Address rate limit buckets replaced while still in use; a steady rate
+	 * means the table is too small for the client population.
+	 */
+	long rateLimitEvictions;
+
+	/**
+	 * Requests refused per address level (address, ipv4-24, ipv6-64, ipv6-48).
+	 */
+	Map<String, Long> rateLimitRejectedByLevel;
+
+	/**
+	 * Requests refused per route family (ping, generate-keys, generate-tx,
+	 * verify-tx, default).
+	 */
+	Map<String, Long> rateLimitRejectedByFamily;
+
+	/**
+	 * Pings refused by the per-identity limit before verification.
+	 */
+	long rateLimitedIdentityPings;
+
+	/**
+	 * Bans started or extended by repeated authentication failures.
+	 */
+	long penaltyBans;
+
+	/**
+	 * Requests refused because the address or identity was banned.
+	 */
+	long penaltyRejected;
+
+	/**
+	 * Dial-back connects completed since startup.
+	 */
+	long reachabilityProbes;
+
+	/**
+	 * Dial-backs skipped because the probe queue was full.
+	 */
+	long reachabilityDroppedProbes;
+
+	/**
+	 * Registered nodes whose endpoint accepts dial-backs.
+	 */
+	int reachableNodes;
+
+	/**
+	 * Pre-generated keys ready for generate-keys.
+	 */
+	int keyPoolAvailable;
+
+	/**
+	 * generate-keys requests served while the key pool was empty.
+	 */
+	long keyPoolMisses;
+}
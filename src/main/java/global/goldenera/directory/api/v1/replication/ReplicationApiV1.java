@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.replication;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDeltasDtoV1;
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDigestDtoV1;
+import global.goldenera.directory.exceptions.GEAuthenticationException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.services.system.ReplicationService;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Peer-to-peer endpoints used by {@link ReplicationService} on other directory
+ * instances.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/replication")
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReplicationApiV1 {
+
+	PropertiesGeneralConfig propertiesGeneralConfig;
+	ReplicationService replicationService;
+
+	@PostMapping("deltas")
+	public int pushDeltas(@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestBody ReplicationDeltasDtoV1 deltas) {
+		checkAccessToken(accessToken);
+		if (deltas.getRecords() == null) {
+			throw new GEValidationException("Records cannot be null.");
+		}
+		return replicationService.applyRecords(deltas.getRecords());
+	}
+
+	@GetMapping("digest")
+	public ReplicationDigestDtoV1 getDigest(
+			@RequestHeader(required = true, name = "X-Access-Token") String accessToken) {
+		checkAccessToken(accessToken);
+		return replicationService.digest();
+	}
+
+	@GetMapping("buckets")
+	public ReplicationDeltasDtoV1 getBuckets(
+			@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestParam("ids") int[] buckets) {
+		checkAccessToken(accessToken);
+		if (buckets.length > ReplicationService.DIGEST_BUCKETS) {
+			throw new GEValidationException("Too many buckets.");
+		}
+		for (int bucket : buckets) {
+			if (bucket < 0 || bucket >= ReplicationService.DIGEST_BUCKETS) {
+				throw new GEValidationException("Bucket out of range.");
+			}
+		}
+		return new ReplicationDeltasDtoV1(replicationService.buckets(buckets));
+	}
+
+	private void checkAccessToken(String accessToken) {
+		if (!accessToken.equals(propertiesGeneralConfig.getApiAccessToken())) {
+			throw new GEAuthenticationException("Invalid authorization header");
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.api.v1.shard;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.exceptions.GEAuthenticationException;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import global.goldenera.directory.services.system.ShardingService;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Endpoints used by {@link ShardingService} on the other members of a shard
+ * group.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/shard")
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ShardApiV1 {
+
+	PropertiesGeneralConfig propertiesGeneralConfig;
+	NodeBusinessService nodeBusinessService;
+
+	@PostMapping("ingest")
+	public void ingest(@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestBody NodeRecordDtoV1 record) {
+		checkAccessToken(accessToken);
+		nodeBusinessService.acceptForwarded(record);
+	}
+
+	@GetMapping("summary")
+	public NodePongDtoV1 getSummary(@RequestHeader(required = true, name = "X-Access-Token") String accessToken,
+			@RequestParam(value = "network", required = false) Network network) {
+		checkAccessToken(accessToken);
+		return nodeBusinessService.buildShardSummary(network);
+	}
+
+	private void checkAccessToken(String accessToken) {
+		if (!accessToken.equals(propertiesGeneralConfig.getApiAccessToken())) {
+			throw new GEAuthenticationException("Invalid authorization header");
+		}
+	}
+}
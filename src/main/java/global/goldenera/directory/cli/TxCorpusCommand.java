@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.cli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.web3j.crypto.Keys;
+import org.web3j.utils.Numeric;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.cryptoj.exceptions.CryptoJException;
+import global.goldenera.cryptoj.serialization.tx.TxEncoder;
+import global.goldenera.cryptoj.utils.Amounts;
+import global.goldenera.directory.services.business.CryptoJTxService;
+import global.goldenera.directory.utils.TxFrameUtil;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Offline generator of signed transfers for load tests, run as
+ * {@code java -jar directory.jar tx-corpus --out=<file> [--option=value...]};
+ * no Spring context or web server is started.
+ * <p>
+ * Creates {@code keys} random senders, each signing {@code txs-per-key}
+ * transfers to the next sender with sequential nonces from
+ * {@code start-nonce}. Chunks of transactions are signed on all cores and
+ * written in sender, then nonce order through a {@link FileChannel} as
+ * {@link TxFrameUtil} frames, the format of binary {@code generate-tx}
+ * batches. Sender keys are written to {@code <out>.keys} so the senders can be
+ * funded.
+ */
+@UtilityClass
+public class TxCorpusCommand {
+
+	public static final String NAME = "tx-corpus";
+
+	static final int CHUNK_TXS = 1024;
+	static final int FRAME_BYTES_ESTIMATE = 192;
+
+	/**
+	 * @return process exit code.
+	 */
+	public static int run(String[] args) {
+		Map<String, String> options = new HashMap<>(Map.of(
+				"network", "TESTNET",
+				"keys", "100",
+				"txs-per-key", "10000",
+				"start-nonce", "0",
+				"amount", "0.000001",
+				"fee", "0.0001",
+				"threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			String name = separator < 0 || !arg.startsWith("--") ? null : arg.substring(2, separator);
+			if (name == null || !options.containsKey(name) && !name.equals("out") && !name.equals("message")) {
+				return usage("Unknown argument '" + arg + "'.");
+			}
+			options.put(name, arg.substring(separator + 1));
+		}
+		if (!options.containsKey("out")) {
+			return usage("Missing --out.");
+		}
+		try {
+			return generate(options);
+		} catch (IllegalArgumentException e) {
+			return usage(e.getMessage());
+		} catch (Exception e) {
+			System.err.println("Failed to generate transactions: " + e);
+			return 1;
+		}
+	}
+
+	private static int generate(Map<String, String> options) throws Exception {
+		Path out = Path.of(options.get("out"));
+		Network network = Network.valueOf(options.get("network").toUpperCase(Locale.ROOT));
+		int keyCount = Integer.parseInt(options.get("keys"));
+		long txsPerKey = Long.parseLong(options.get("txs-per-key"));
+		long startNonce = Long.parseLong(options.get("start-nonce"));
+		Wei amount = Amounts.tokensWithDecimals(options.get("amount"), Amounts.STANDARD_DECIMALS);
+		Wei fee = Amounts.tokensWithDecimals(options.get("fee"), Amounts.STANDARD_DECIMALS);
+		Bytes message = options.get("message") == null ? null
+				: Bytes.wrap(options.get("message").getBytes(StandardCharsets.UTF_8));
+		int threads = Integer.parseInt(options.get("threads"));
+		if (keyCount < 1 || txsPerKey < 1 || startNonce < 0 || threads < 1) {
+			throw new IllegalArgumentException("keys, txs-per-key and threads must be positive.");
+		}
+
+		PrivateKey[] keys = new PrivateKey[keyCount];
+		List<String> keyLines = new ArrayList<>(keyCount);
+		for (int k = 0; k < keyCount; k++) {
+			keys[k] = PrivateKey.wrap(Bytes.wrap(Numeric.toBytesPadded(Keys.createEcKeyPair().getPrivateKey(), 32)));
+			keyLines.add(keys[k].toHexString() + " " + keys[k].getAddress().toChecksumAddress());
+		}
+		Files.write(Path.of(out + ".keys"), keyLines);
+
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService signers = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "tx-corpus-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long started = System.nanoTime();
+		long written = 0;
+		long failed = 0;
+		try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			// signed chunks waiting to be written in order
+			Deque<Future<Chunk>> window = new ArrayDeque<>();
+			for (int k = 0; k < keyCount; k++) {
+				PrivateKey sender = keys[k];
+				Address recipient = keys[(k + 1) % keyCount].getAddress();
+				for (long offset = 0; offset < txsPerKey; offset += CHUNK_TXS) {
+					if (window.size() == threads * 2) {
+						Chunk chunk = write(channel, window.poll().get());
+						written += chunk.getTxs();
+						failed += chunk.getFailed();
+					}
+					long fromNonce = startNonce + offset;
+					int count = (int) Math.min(CHUNK_TXS, txsPerKey - offset);
+					window.add(signers.submit(
+							() -> sign(network, sender, recipient, amount, fee, message, fromNonce, count)));
+				}
+			}
+			while (!window.isEmpty()) {
+				Chunk chunk = write(channel, window.poll().get());
+				written += chunk.getTxs();
+				failed += chunk.getFailed();
+			}
+		} finally {
+			signers.shutdownNow();
+		}
+		double seconds = (System.nanoTime() - started) / 1e9;
+		System.out.printf(Locale.ROOT, "Wrote %d transactions (%d failed) from %d senders to %s in %.1f s (%.0f tx/s)%n",
+				written, failed, keyCount, out, seconds, written / seconds);
+		return failed == 0 ? 0 : 1;
+	}
+
+	private static Chunk sign(Network network, PrivateKey sender, Address recipient, Wei amount, Wei fee,
+			Bytes message, long fromNonce, int count) {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(count * FRAME_BYTES_ESTIMATE);
+		DataOutputStream frames = new DataOutputStream(buffer);
+		int failed = 0;
+		try {
+			for (int i = 0; i < count; i++) {
+				try {
+					byte[] encoded = TxEncoder.INSTANCE.encode(CryptoJTxService.signTransfer(network, sender,
+							Address.NATIVE_TOKEN, recipient, amount, fee, fromNonce + i, message), true)
+							.toArrayUnsafe();
+					TxFrameUtil.writeTx(frames, encoded);
+				} catch (CryptoJException | RuntimeException e) {
+					TxFrameUtil.writeError(frames,
+							e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+					failed++;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return new Chunk(ByteBuffer.wrap(buffer.toByteArray()), count, failed);
+	}
+
+	private static Chunk write(FileChannel channel, Chunk chunk) throws IOException {
+		ByteBuffer frames = chunk.getFrames();
+		while (frames.hasRemaining()) {
+			channel.write(frames);
+		}
+		return chunk;
+	}
+
+	private static int usage(String problem) {
+		System.err.println(problem);
+		System.err.println("Usage: " + NAME + " --out=<file> [--network=TESTNET] [--keys=100] [--txs-per-key=10000]"
+				+ " [--start-nonce=0] [--amount=0.000001] [--fee=0.0001] [--message=<text>] [--threads=<cores>]");
+		return 2;
+	}
+
+	@Value
+	static class Chunk {
+		ByteBuffer frames;
+		int txs;
+		int failed;
+	}
+}
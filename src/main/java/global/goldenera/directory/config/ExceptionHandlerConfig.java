@@ -29,6 +29,7 @@ import global.goldenera.cryptoj.exceptions.CryptoJFailedException;
 import global.goldenera.directory.exceptions.GEAuthenticationException;
 import global.goldenera.directory.exceptions.GEFailedException;
 import global.goldenera.directory.exceptions.GENotFoundException;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
 import global.goldenera.directory.exceptions.GEValidationException;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
@@ -89,6 +90,13 @@ public class ExceptionHandlerConfig {
         return wrapToJson(ex.getMessage());
     }
 
+    @ResponseBody
+    @ExceptionHandler(GETooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    String handleGETooManyRequestsException(@NonNull GETooManyRequestsException ex) {
+        return wrapToJson(ex.getMessage());
+    }
+
     @ResponseBody
     @ExceptionHandler(GEFailedException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
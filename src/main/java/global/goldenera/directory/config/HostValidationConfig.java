@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.config;
+
+import org.springframework.context.annotation.Configuration;
+
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesHostValidationConfig;
+import global.goldenera.directory.utils.ValidatorUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Installs the operator block-list into {@link ValidatorUtil.HostValidator}.
+ */
+@Slf4j
+@Configuration
+public class HostValidationConfig {
+
+	public HostValidationConfig(PropertiesHostValidationConfig hostValidationProperties) {
+		try {
+			ValidatorUtil.HostValidator.configure(hostValidationProperties.getBlockedRanges(),
+					hostValidationProperties.getBlockedHostnames());
+		} catch (IllegalArgumentException e) {
+			throw new GEFailedException("Invalid host validation configuration: " + e.getMessage(), e);
+		}
+		if (!hostValidationProperties.getBlockedRanges().isEmpty()
+				|| !hostValidationProperties.getBlockedHostnames().isEmpty()) {
+			log.info("Host validation blocks {} extra ranges and {} extra hostnames",
+					hostValidationProperties.getBlockedRanges().size(),
+					hostValidationProperties.getBlockedHostnames().size());
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.config;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.registry.HeapNodeRegistry;
+import global.goldenera.directory.registry.NodeInternTables;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.registry.OffHeapNodeRegistry;
+
+@Configuration
+public class NodeRegistryConfig {
+
+	@Bean
+	public NodeRegistry nodeRegistry(PropertiesRegistryConfig registryProperties, NodeInternTables internTables,
+			ApplicationEventPublisher eventPublisher) {
+		int capacity = registryProperties.getCapacity();
+		return switch (registryProperties.getBackend()) {
+			case HEAP -> new HeapNodeRegistry(capacity, internTables, eventPublisher);
+			case OFF_HEAP -> new OffHeapNodeRegistry(capacity, internTables, eventPublisher);
+		};
+	}
+}
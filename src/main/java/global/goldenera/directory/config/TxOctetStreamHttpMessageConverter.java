@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.config;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchItemResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxDto;
+import global.goldenera.directory.utils.TxFrameUtil;
+
+/**
+ * Writes generated transactions as raw bytes when the client sends
+ * {@code Accept: application/octet-stream}: a single transaction as its
+ * encoding, a batch as {@link TxFrameUtil} frames in item order. JSON stays the
+ * default for every other {@code Accept}.
+ */
+public class TxOctetStreamHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public TxOctetStreamHttpMessageConverter() {
+        super(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CryptoJTxDto.class || clazz == CryptoJTxBatchResultDto.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Binary transaction input is not supported.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+        if (value instanceof CryptoJTxDto tx) {
+            out.write(Bytes.fromHexString(tx.getRawTxDataInHex()).toArrayUnsafe());
+        } else {
+            for (CryptoJTxBatchItemResultDto result : ((CryptoJTxBatchResultDto) value).getResults()) {
+                if (result.getRawTxDataInHex() == null) {
+                    TxFrameUtil.writeError(out, result.getError());
+                } else {
+                    TxFrameUtil.writeTx(out, Bytes.fromHexString(result.getRawTxDataInHex()).toArrayUnsafe());
+                }
+            }
+        }
+        out.flush();
+    }
+}
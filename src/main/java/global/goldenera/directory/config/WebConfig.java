@@ -23,9 +23,12 @@
  */
 package global.goldenera.directory.config;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import global.goldenera.directory.exceptions.GEValidationException;
@@ -41,6 +44,12 @@ public class WebConfig implements WebMvcConfigurer {
         }
     }
 
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // after Jackson, so JSON stays the default for Accept: */*
+        converters.add(new TxOctetStreamHttpMessageConverter());
+    }
+
     private <T> void registerStringAdapter(FormatterRegistry registry,
             GlobalTypeRegistry.StringTypeAdapter<T> adapter) {
         registry.addConverter(String.class, adapter.getType(), new Converter<String, T>() {
@@ -24,20 +24,17 @@
 package global.goldenera.directory.filters;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 import global.goldenera.directory.properties.PropertiesGeneralConfig;
-import io.github.bucket4j.Bucket;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.PenaltyBox;
+import global.goldenera.directory.ratelimit.RouteFamily;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -56,21 +53,12 @@ import static lombok.AccessLevel.PRIVATE;
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 public class ThrottlingFilter implements Filter {
 
-	PropertiesGeneralConfig propertiesGeneralConfig;
+	// authenticated traffic between directory instances is not throttled per address
+	static final String[] CLUSTER_PATHS = { "/api/v1/replication/", "/api/v1/shard/", "/api/v1/follower/" };
 
-	final Map<String, Bucket> ipBuckets = Caffeine.newBuilder()
-			.expireAfterAccess(1, TimeUnit.HOURS)
-			.maximumSize(10_000)
-			.<String, Bucket>build()
-			.asMap();
-
-	private Bucket createNewBucket() {
-		return Bucket.builder()
-				.addLimit(limit -> limit.capacity(propertiesGeneralConfig.getMaxRequestsPerIpAddressPerMinute())
-						.refillGreedy(propertiesGeneralConfig.getMaxRequestsPerIpAddressPerMinute(),
-								Duration.ofMinutes(1)))
-				.build();
-	}
+	PropertiesGeneralConfig propertiesGeneralConfig;
+	AddressRateLimiter addressRateLimiter;
+	PenaltyBox penaltyBox;
 
 	@Override
 	public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
@@ -84,17 +72,41 @@ public class ThrottlingFilter implements Filter {
 			return;
 		}
 
-		String ip = httpRequest.getRemoteAddr();
-		Bucket bucket = ipBuckets.computeIfAbsent(ip, k -> createNewBucket());
+		if (isClusterPath(requestURI)
+				&& propertiesGeneralConfig.getApiAccessToken().equals(httpRequest.getHeader("X-Access-Token"))) {
+			filterChain.doFilter(servletRequest, servletResponse);
+			return;
+		}
 
-		if (bucket.tryConsume(1)) {
+		// rejected before the body is read, so banned clients cost next to nothing
+		long banMillis = penaltyBox.addressBanMillis(httpRequest.getRemoteAddr());
+		if (banMillis > 0) {
+			HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
+			httpResponse.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((banMillis + 999) / 1000));
+			reject(httpResponse, "Temporarily banned");
+			return;
+		}
+
+		if (addressRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), RouteFamily.of(requestURI))) {
 			filterChain.doFilter(servletRequest, servletResponse);
 		} else {
-			HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
-			httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-			httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
-			httpResponse.getWriter().write("{\"message\":\"Too many requests\"}");
+			reject((HttpServletResponse) servletResponse, "Too many requests");
+		}
+	}
+
+	private static void reject(HttpServletResponse httpResponse, String message) throws IOException {
+		httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		httpResponse.getWriter().write("{\"message\":\"" + message + "\"}");
+	}
+
+	private static boolean isClusterPath(String requestURI) {
+		for (String path : CLUSTER_PATHS) {
+			if (requestURI.startsWith(path)) {
+				return true;
+			}
 		}
+		return false;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import global.goldenera.cryptoj.enums.Network;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.admission", ignoreUnknownFields = false)
+public class PropertiesAdmissionConfig {
+
+	@NonNull
+	Integer maxIdentitiesPerIp;
+
+	@NonNull
+	Integer maxIdentitiesPerSubnet;
+
+	/**
+	 * Share of the registry capacity open to identities still on probation.
+	 */
+	@NonNull
+	Double probationShare;
+
+	@NonNull
+	Integer graduationSeconds;
+
+	@NonNull
+	Integer graduationPings;
+
+	/**
+	 * Longest smoothed ping interval that still counts as a steady cadence.
+	 */
+	@NonNull
+	Integer graduationMaxPingIntervalSeconds;
+
+	/**
+	 * Optional cap per network; networks not listed may use the whole capacity.
+	 */
+	Map<Network, Integer> networkQuotas = new HashMap<>();
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.cryptoj", ignoreUnknownFields = false)
+public class PropertiesCryptoJConfig {
+
+	/**
+	 * Threads signing batch transactions; {@code 0} uses one per CPU.
+	 */
+	@NonNull
+	Integer batchThreads;
+
+	@NonNull
+	Integer batchMaxItems;
+
+	/**
+	 * Generated keys kept ready for generate-keys; {@code 0} generates on
+	 * request.
+	 */
+	@NonNull
+	Integer keyPoolSize;
+
+	@NonNull
+	Integer keyPoolRefillPerSecond;
+
+	/**
+	 * Threads deriving child keys for generate-keys/derive; {@code 0} uses one
+	 * per CPU.
+	 */
+	@NonNull
+	Integer deriveThreads;
+
+	@NonNull
+	Integer deriveMaxKeys;
+
+	/**
+	 * Transfer templates kept at most; the least recently used is dropped
+	 * first.
+	 */
+	@NonNull
+	Integer templateMaxCount;
+
+	@NonNull
+	Integer templateIdleSeconds;
+}
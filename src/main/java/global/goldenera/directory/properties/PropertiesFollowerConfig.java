@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.follower", ignoreUnknownFields = false)
+public class PropertiesFollowerConfig {
+
+	/**
+	 * Runs this instance as a read-only follower of {@link #leaderUrl}.
+	 */
+	@NonNull
+	Boolean enabled;
+
+	/**
+	 * Base URL of the leader, e.g. http://10.0.0.2:8080. Leader and followers
+	 * must share the same api access token.
+	 */
+	@NonNull
+	String leaderUrl;
+
+	@NonNull
+	Integer pollIntervalMillis;
+
+	@NonNull
+	Integer batchSize;
+
+	@NonNull
+	Integer requestTimeoutMillis;
+
+	/**
+	 * Changes a leader keeps for its followers; a follower falling further
+	 * behind reloads the snapshot.
+	 */
+	@NonNull
+	Integer changeLogCapacity;
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.rate-limit", ignoreUnknownFields = false)
+public class PropertiesRateLimitConfig {
+
+	/**
+	 * Token buckets kept for client addresses, 16 bytes each.
+	 */
+	@NonNull
+	Integer addressSlots;
+
+	@NonNull
+	Integer ipv4Subnet24PerMinute;
+
+	@NonNull
+	Integer ipv6Subnet64PerMinute;
+
+	@NonNull
+	Integer ipv6Subnet48PerMinute;
+
+	/**
+	 * Strike counters kept for the penalty box, 16 bytes each.
+	 */
+	@NonNull
+	Integer penaltySlots;
+
+	/**
+	 * Authentication failures before an address is banned.
+	 */
+	@NonNull
+	Integer penaltyAddressStrikes;
+
+	/**
+	 * Authentication failures before an identity is banned at an address.
+	 */
+	@NonNull
+	Integer penaltyIdentityStrikes;
+
+	/**
+	 * First ban; each further failure doubles it up to
+	 * {@link #penaltyMaxBanSeconds}.
+	 */
+	@NonNull
+	Integer penaltyBaseBanSeconds;
+
+	@NonNull
+	Integer penaltyMaxBanSeconds;
+
+	/**
+	 * Quiet time after which strikes are forgotten.
+	 */
+	@NonNull
+	Integer penaltyForgetSeconds;
+
+	/**
+	 * Token costs and per-minute token budgets per {@code RouteFamily}; costs
+	 * are relative to a ping's signature verification.
+	 */
+	@NonNull
+	Integer pingCost;
+
+	@NonNull
+	Integer pingBudgetPerMinute;
+
+	@NonNull
+	Integer generateKeysCost;
+
+	@NonNull
+	Integer generateKeysBudgetPerMinute;
+
+	/**
+	 * Charged per chunk of 32 child keys after the first in one
+	 * generate-keys/derive request.
+	 */
+	@NonNull
+	Integer generateKeysBatchItemCost;
+
+	@NonNull
+	Integer generateTxCost;
+
+	@NonNull
+	Integer generateTxBudgetPerMinute;
+
+	/**
+	 * Charged per batch item after the first, which pays the full cost.
+	 * Signing dominates both, so the defaults are equal.
+	 */
+	@NonNull
+	Integer generateTxBatchItemCost;
+
+	@NonNull
+	Integer verifyTxCost;
+
+	@NonNull
+	Integer verifyTxBudgetPerMinute;
+
+	@NonNull
+	Integer verifyTxBatchItemCost;
+
+	/**
+	 * Optional file overriding the limits at runtime, checked every
+	 * {@link #limitsCheckSeconds}.
+	 */
+	@NonNull
+	String limitsFile;
+
+	@NonNull
+	Integer limitsCheckSeconds;
+
+	/**
+	 * Token buckets kept for node identities, 16 bytes each.
+	 */
+	@NonNull
+	Integer identitySlots;
+
+	@NonNull
+	Integer identityPingsPerMinute;
+
+	/**
+	 * Pings failing hash or signature verification tolerated per identity and
+	 * source address.
+	 */
+	@NonNull
+	Integer identityFailuresPerHour;
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import global.goldenera.directory.registry.NodeRegistryBackend;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.registry", ignoreUnknownFields = false)
+public class PropertiesRegistryConfig {
+
+	@NonNull
+	NodeRegistryBackend backend;
+
+	@NonNull
+	Integer capacity;
+
+	@NonNull
+	Integer maxSoftwareVersions;
+
+	@NonNull
+	Integer expiryTickMillis;
+
+	@NonNull
+	Integer maxIdentitiesPerEndpoint;
+
+	@NonNull
+	Integer pongCacheMillis;
+
+	@NonNull
+	Boolean adaptiveTtlEnabled;
+
+	@NonNull
+	Double adaptiveTtlMultiplier;
+
+	@NonNull
+	Double adaptiveTtlAlpha;
+
+	@NonNull
+	Integer adaptiveTtlMinSeconds;
+
+	@NonNull
+	Integer adaptiveTtlMaxSeconds;
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ge-directory.sharding", ignoreUnknownFields = false)
+public class PropertiesShardingConfig {
+
+	@NonNull
+	Boolean enabled;
+
+	/**
+	 * Id of this instance in {@link #members}.
+	 */
+	@NonNull
+	String selfId;
+
+	/**
+	 * All shard members, this instance included, as
+	 * {@code id@identityAddress@baseUrl}. The identity address verifies the
+	 * member's signed summaries.
+	 */
+	List<String> members = new ArrayList<>();
+
+	@NonNull
+	Integer virtualNodes;
+
+	@NonNull
+	Integer summaryRefreshSeconds;
+
+	@NonNull
+	Integer requestTimeoutMillis;
+
+	/**
+	 * Pings waiting for their owner; when full, pings are kept locally.
+	 */
+	@NonNull
+	Integer forwardQueueCapacity;
+}
@@ -0,0 +1,367 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+import global.goldenera.directory.utils.IpAddressUtil;
+import global.goldenera.directory.utils.ReloadableFile;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-client request limits, enforced on the address and on the networks it
+ * belongs to, so rotating through a rented IPv4 {@code /24} or an IPv6
+ * {@code /64} or {@code /48} does not multiply the budget.
+ * <p>
+ * IPv4 requests are checked against the address and its {@code /24}, IPv6
+ * requests against the address, its {@code /64} and its {@code /48}. All
+ * levels share one {@link TokenBucketTable}, keyed by level and masked prefix,
+ * and are checked narrowest first.
+ * <p>
+ * Each {@link RouteFamily} has its own buckets: a request costs its family's
+ * token cost, drawn from the family's per-minute budget. The network levels
+ * allow the same multiple of every family's budget as the {@code *-per-minute}
+ * limits allow of the {@code default} family's. Items of a batch after the
+ * first, and chunks of derived keys after the first, cost the family's
+ * {@code batch-item-cost} instead. Limits, budgets and
+ * costs are reloaded from the limits file when it changes; {@code 0} disables a
+ * level or a family's limit.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class AddressRateLimiter {
+
+	static final int ADDRESS = 0;
+	static final int IPV4_24 = 1;
+	static final int IPV6_64 = 2;
+	static final int IPV6_48 = 3;
+	static final String[] LEVEL_NAMES = { "address", "ipv4-24", "ipv6-64", "ipv6-48" };
+	static final RouteFamily[] FAMILIES = RouteFamily.values();
+	static final long IPV4_24_MASK = 0xffff_ffff_ffff_ff00L;
+	static final long IPV6_48_MASK = 0xffff_ffff_ffff_0000L;
+	// keeps a prefix's key apart from an address with the same bits
+	static final long LEVEL_SALT = 0xbf58476d1ce4e5b9L;
+	static final long FAMILY_SALT = 0x94d049bb133111ebL;
+
+	TokenBucketTable buckets;
+	ReloadableFile<Limits> limits;
+	AtomicLongArray rejected = new AtomicLongArray(LEVEL_NAMES.length);
+	AtomicLongArray rejectedByFamily = new AtomicLongArray(FAMILIES.length);
+
+	public AddressRateLimiter(PropertiesRateLimitConfig rateLimitProperties,
+			PropertiesGeneralConfig generalProperties) {
+		this.buckets = new TokenBucketTable(rateLimitProperties.getAddressSlots());
+		Properties defaults = new Properties();
+		defaults.setProperty("address-per-minute",
+				generalProperties.getMaxRequestsPerIpAddressPerMinute().toString());
+		defaults.setProperty("ipv4-24-per-minute", rateLimitProperties.getIpv4Subnet24PerMinute().toString());
+		defaults.setProperty("ipv6-64-per-minute", rateLimitProperties.getIpv6Subnet64PerMinute().toString());
+		defaults.setProperty("ipv6-48-per-minute", rateLimitProperties.getIpv6Subnet48PerMinute().toString());
+		defaults.setProperty("ping-cost", rateLimitProperties.getPingCost().toString());
+		defaults.setProperty("ping-budget-per-minute", rateLimitProperties.getPingBudgetPerMinute().toString());
+		defaults.setProperty("generate-keys-cost", rateLimitProperties.getGenerateKeysCost().toString());
+		defaults.setProperty("generate-keys-budget-per-minute",
+				rateLimitProperties.getGenerateKeysBudgetPerMinute().toString());
+		defaults.setProperty("generate-keys-batch-item-cost",
+				rateLimitProperties.getGenerateKeysBatchItemCost().toString());
+		defaults.setProperty("generate-tx-cost", rateLimitProperties.getGenerateTxCost().toString());
+		defaults.setProperty("generate-tx-budget-per-minute",
+				rateLimitProperties.getGenerateTxBudgetPerMinute().toString());
+		defaults.setProperty("generate-tx-batch-item-cost",
+				rateLimitProperties.getGenerateTxBatchItemCost().toString());
+		defaults.setProperty("verify-tx-cost", rateLimitProperties.getVerifyTxCost().toString());
+		defaults.setProperty("verify-tx-budget-per-minute",
+				rateLimitProperties.getVerifyTxBudgetPerMinute().toString());
+		defaults.setProperty("verify-tx-batch-item-cost", rateLimitProperties.getVerifyTxBatchItemCost().toString());
+		// the default family is the plain per-address request limit
+		defaults.setProperty("default-cost", "1");
+		this.limits = new ReloadableFile<>(Path.of(rateLimitProperties.getLimitsFile()),
+				rateLimitProperties.getLimitsCheckSeconds(), text -> parseLimits(text, defaults),
+				toLimits(defaults));
+		log.info("Address rate limits: {}, {} buckets", limits.get().describe(), buckets.getSlots());
+	}
+
+	public boolean tryAcquire(String remoteAddress, RouteFamily family) {
+		Limits current = limits.get();
+		return acquire(remoteAddress, family, current, current.costs[family.ordinal()]);
+	}
+
+	/**
+	 * Charges {@code items} batch items of {@code family} at once, at the
+	 * family's batch item cost. The request itself paid the full cost for the
+	 * first item.
+	 */
+	public boolean tryAcquireBatchItems(String remoteAddress, RouteFamily family, int items) {
+		Limits current = limits.get();
+		return acquire(remoteAddress, family, current, current.batchItemCosts[family.ordinal()] * items);
+	}
+
+	/**
+	 * @return the most items a batch of {@code family} can hold before it could
+	 *         never fit the family's smallest bucket, or
+	 *         {@link Integer#MAX_VALUE} when the family is not limited.
+	 */
+	public int maxBatchItems(RouteFamily family) {
+		return limits.get().maxBatchItems[family.ordinal()];
+	}
+
+	private boolean acquire(String remoteAddress, RouteFamily family, Limits current, long cost) {
+		RateLimit[] familyLimits = current.levels[family.ordinal()];
+		long familySalt = FAMILY_SALT * (family.ordinal() + 1);
+		// both halves stay in locals, nothing is allocated per request
+		long ipv4 = IpAddressUtil.parseIpv4(remoteAddress);
+		if (ipv4 >= 0) {
+			return acquire(0, IpAddressUtil.IPV4_MAPPED_PREFIX | ipv4, familySalt, familyLimits, family, cost);
+		}
+		if (IpAddressUtil.isIpv6(remoteAddress)) {
+			return acquire(IpAddressUtil.ipv6High(remoteAddress), IpAddressUtil.ipv6Low(remoteAddress), familySalt,
+					familyLimits, family, cost);
+		}
+		return acquire(keyOf(remoteAddress) ^ familySalt, familyLimits, ADDRESS, family, cost);
+	}
+
+	public long getEvictions() {
+		return buckets.getEvictions();
+	}
+
+	/**
+	 * @return requests refused per level since startup.
+	 */
+	public Map<String, Long> getRejectedByLevel() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (int level = 0; level < LEVEL_NAMES.length; level++) {
+			counts.put(LEVEL_NAMES[level], rejected.get(level));
+		}
+		return counts;
+	}
+
+	/**
+	 * @return requests refused per route family since startup.
+	 */
+	public Map<String, Long> getRejectedByFamily() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (RouteFamily family : FAMILIES) {
+			counts.put(family.getConfigName(), rejectedByFamily.get(family.ordinal()));
+		}
+		return counts;
+	}
+
+	static long keyOf(String remoteAddress) {
+		long ipv4 = IpAddressUtil.parseIpv4(remoteAddress);
+		if (ipv4 >= 0) {
+			return TokenBucketTable.keyOf(0, IpAddressUtil.IPV4_MAPPED_PREFIX | ipv4);
+		}
+		if (IpAddressUtil.isIpv6(remoteAddress)) {
+			return TokenBucketTable.keyOf(IpAddressUtil.ipv6High(remoteAddress),
+					IpAddressUtil.ipv6Low(remoteAddress));
+		}
+		// not an IP literal (e.g. a unix socket peer); still give it a bucket
+		return TokenBucketTable.keyOf(remoteAddress.hashCode(), -1);
+	}
+
+	/**
+	 * @return a table key for the network of {@code remoteAddress}: its
+	 *         {@code /24} for IPv4, its {@code /64} for IPv6.
+	 */
+	static long networkKeyOf(String remoteAddress) {
+		long ipv4 = IpAddressUtil.parseIpv4(remoteAddress);
+		if (ipv4 >= 0) {
+			return TokenBucketTable.keyOf(LEVEL_SALT * IPV4_24,
+					IpAddressUtil.subnetKey(0, IpAddressUtil.IPV4_MAPPED_PREFIX | ipv4));
+		}
+		if (IpAddressUtil.isIpv6(remoteAddress)) {
+			return TokenBucketTable.keyOf(LEVEL_SALT * IPV6_64, IpAddressUtil.ipv6High(remoteAddress));
+		}
+		return keyOf(remoteAddress);
+	}
+
+	/**
+	 * Takes {@code cost} from the address and each of its networks, or from
+	 * none: a level that refuses gives back what the narrower levels took, so
+	 * a rejected request does not drain its own address.
+	 */
+	private boolean acquire(long addressHigh, long low, long familySalt, RateLimit[] familyLimits,
+			RouteFamily family, long cost) {
+		long high = addressHigh ^ familySalt;
+		long addressKey = levelKey(ADDRESS, high, low);
+		if (!acquire(addressKey, familyLimits, ADDRESS, family, cost)) {
+			return false;
+		}
+		if (IpAddressUtil.isIpv4Mapped(addressHigh, low)) {
+			if (acquire(levelKey(IPV4_24, high, low & IPV4_24_MASK), familyLimits, IPV4_24, family, cost)) {
+				return true;
+			}
+			release(addressKey, familyLimits, ADDRESS, cost);
+			return false;
+		}
+		long ipv6Key64 = levelKey(IPV6_64, high, 0);
+		if (!acquire(ipv6Key64, familyLimits, IPV6_64, family, cost)) {
+			release(addressKey, familyLimits, ADDRESS, cost);
+			return false;
+		}
+		if (acquire(levelKey(IPV6_48, high & IPV6_48_MASK, 0), familyLimits, IPV6_48, family, cost)) {
+			return true;
+		}
+		release(ipv6Key64, familyLimits, IPV6_64, cost);
+		release(addressKey, familyLimits, ADDRESS, cost);
+		return false;
+	}
+
+	private boolean acquire(long key, RateLimit[] familyLimits, int level, RouteFamily family, long cost) {
+		if (familyLimits[level] == null || buckets.tryAcquire(key, familyLimits[level], cost)) {
+			return true;
+		}
+		rejected.incrementAndGet(level);
+		rejectedByFamily.incrementAndGet(family.ordinal());
+		return false;
+	}
+
+	private void release(long key, RateLimit[] familyLimits, int level, long cost) {
+		if (familyLimits[level] != null) {
+			buckets.release(key, familyLimits[level], cost);
+		}
+	}
+
+	private static long levelKey(int level, long high, long low) {
+		return level == ADDRESS ? TokenBucketTable.keyOf(high, low)
+				: TokenBucketTable.keyOf(high ^ (LEVEL_SALT * level), low);
+	}
+
+	/**
+	 * Reads {@code <level>-per-minute}, {@code <family>-cost} and
+	 * {@code <family>-budget-per-minute} entries, e.g.
+	 * {@code ipv6-64-per-minute=300}; missing entries keep their configured
+	 * default.
+	 */
+	private static Limits parseLimits(String text, Properties defaults) {
+		Properties properties = new Properties(defaults);
+		try {
+			properties.load(new StringReader(text));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return toLimits(properties);
+	}
+
+	private static Limits toLimits(Properties properties) {
+		long[] perMinute = new long[LEVEL_NAMES.length];
+		for (int level = 0; level < LEVEL_NAMES.length; level++) {
+			perMinute[level] = readLong(properties, LEVEL_NAMES[level] + "-per-minute");
+		}
+		RateLimit[][] levels = new RateLimit[FAMILIES.length][LEVEL_NAMES.length];
+		long[] costs = new long[FAMILIES.length];
+		long[] batchItemCosts = new long[FAMILIES.length];
+		int[] maxBatchItems = new int[FAMILIES.length];
+		for (RouteFamily family : FAMILIES) {
+			String name = family.getConfigName();
+			long cost = Math.max(1, readLong(properties, name + "-cost"));
+			long batchItemCost = properties.getProperty(name + "-batch-item-cost") == null ? cost
+					: Math.max(1, readLong(properties, name + "-batch-item-cost"));
+			long budget = family == RouteFamily.DEFAULT ? perMinute[ADDRESS]
+					: readLong(properties, name + "-budget-per-minute");
+			costs[family.ordinal()] = cost;
+			batchItemCosts[family.ordinal()] = batchItemCost;
+			maxBatchItems[family.ordinal()] = Integer.MAX_VALUE;
+			if (budget == 0) {
+				continue;
+			}
+			levels[family.ordinal()][ADDRESS] = RateLimit.perMinute(Math.max(cost, budget));
+			for (int level = ADDRESS + 1; level < LEVEL_NAMES.length; level++) {
+				if (perMinute[level] != 0) {
+					long scaled = perMinute[ADDRESS] == 0 ? perMinute[level]
+							: budget * perMinute[level] / perMinute[ADDRESS];
+					levels[family.ordinal()][level] = RateLimit.perMinute(Math.max(cost, scaled));
+				}
+			}
+			long smallest = Long.MAX_VALUE;
+			for (RateLimit limit : levels[family.ordinal()]) {
+				if (limit != null) {
+					smallest = Math.min(smallest, limit.getCapacity());
+				}
+			}
+			maxBatchItems[family.ordinal()] = (int) Math.min(Integer.MAX_VALUE,
+					1 + (smallest - cost) / batchItemCost);
+		}
+		return new Limits(levels, costs, batchItemCosts, maxBatchItems);
+	}
+
+	private static long readLong(Properties properties, String name) {
+		String value = properties.getProperty(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing " + name);
+		}
+		long parsed = Long.parseLong(value.trim());
+		if (parsed < 0) {
+			throw new IllegalArgumentException("Negative " + name);
+		}
+		return parsed;
+	}
+
+	/**
+	 * Buckets per family and level ({@code null} when disabled), token cost per
+	 * request and per further batch item, and the largest batch that fits.
+	 */
+	@AllArgsConstructor
+	@FieldDefaults(level = PRIVATE, makeFinal = true)
+	static class Limits {
+		RateLimit[][] levels;
+		long[] costs;
+		long[] batchItemCosts;
+		int[] maxBatchItems;
+
+		String describe() {
+			StringBuilder description = new StringBuilder();
+			for (RouteFamily family : FAMILIES) {
+				RateLimit budget = levels[family.ordinal()][ADDRESS];
+				if (description.length() > 0) {
+					description.append(", ");
+				}
+				description.append(family.getConfigName()).append(' ')
+						.append(budget == null ? "off" : budget.getCapacity() + "/min")
+						.append(" cost ").append(costs[family.ordinal()]);
+				if (batchItemCosts[family.ordinal()] != costs[family.ordinal()]) {
+					description.append(" (").append(batchItemCosts[family.ordinal()]).append(" per batch item, at most ")
+							.append(maxBatchItems[family.ordinal()]).append(" items)");
+				}
+			}
+			return description.toString();
+		}
+	}
+}
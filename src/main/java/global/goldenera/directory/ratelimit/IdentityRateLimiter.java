@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits pings per claimed node identity, checked before the ping's hash and
+ * signature are verified, so rotating addresses within a network does not
+ * change how much verification work one identity can cause.
+ * <p>
+ * The ping budget is keyed by identity and source network (the {@code /24}
+ * for IPv4, the {@code /64} for IPv6), and a ping that fails verification
+ * gets its token back. A forger claiming someone else's identity from another
+ * network therefore never touches the real node's budget, and one in the same
+ * network only holds tokens while its pings are being verified.
+ * <p>
+ * Failed verifications draw on a second, much smaller budget. It is keyed by
+ * identity and source address, so a forger exhausts only its own.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class IdentityRateLimiter {
+
+	static final int IDENTITY_LENGTH = 20;
+
+	TokenBucketTable buckets;
+	RateLimit pingLimit;
+	RateLimit failureLimit;
+	AtomicLong rejected = new AtomicLong();
+
+	public IdentityRateLimiter(PropertiesRateLimitConfig rateLimitProperties) {
+		this.buckets = new TokenBucketTable(rateLimitProperties.getIdentitySlots());
+		this.pingLimit = RateLimit.perMinute(rateLimitProperties.getIdentityPingsPerMinute());
+		this.failureLimit = new RateLimit(rateLimitProperties.getIdentityFailuresPerHour(), 3_600_000);
+		log.info("Identity rate limit: {} pings per minute, {} failed pings per hour", pingLimit.getCapacity(),
+				failureLimit.getCapacity());
+	}
+
+	/**
+	 * @throws GETooManyRequestsException
+	 *             when {@code nodeIdentity} is over either budget.
+	 */
+	public void checkPing(Address nodeIdentity, String sourceIp) {
+		long identityKey = identityKey(nodeIdentity);
+		// checked first: a ping refused here must not hold a ping token
+		if (!buckets.hasTokens(failureKey(identityKey, sourceIp), failureLimit, 1)) {
+			rejected.incrementAndGet();
+			throw new GETooManyRequestsException("Too many failed pings for this node identity.");
+		}
+		if (!buckets.tryAcquire(pingKey(identityKey, sourceIp), pingLimit, 1)) {
+			rejected.incrementAndGet();
+			throw new GETooManyRequestsException("Too many pings for this node identity.");
+		}
+	}
+
+	/**
+	 * Returns the ping token taken by {@link #checkPing(Address, String)} and
+	 * charges the failure budget instead.
+	 */
+	public void onVerificationFailed(Address nodeIdentity, String sourceIp) {
+		long identityKey = identityKey(nodeIdentity);
+		buckets.release(pingKey(identityKey, sourceIp), pingLimit, 1);
+		buckets.tryAcquire(failureKey(identityKey, sourceIp), failureLimit, 1);
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	static long identityKey(Address nodeIdentity) {
+		byte[] identity = nodeIdentity.toArrayUnsafe();
+		long high = 0;
+		long low = 0;
+		for (int i = 0; i < IDENTITY_LENGTH - 8; i++) {
+			high = (high << 8) | (identity[i] & 0xff);
+		}
+		for (int i = IDENTITY_LENGTH - 8; i < IDENTITY_LENGTH; i++) {
+			low = (low << 8) | (identity[i] & 0xff);
+		}
+		return TokenBucketTable.keyOf(high, low);
+	}
+
+	private static long pingKey(long identityKey, String sourceIp) {
+		return TokenBucketTable.keyOf(identityKey, AddressRateLimiter.networkKeyOf(sourceIp));
+	}
+
+	private static long failureKey(long identityKey, String sourceIp) {
+		return TokenBucketTable.keyOf(identityKey, AddressRateLimiter.keyOf(sourceIp));
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Temporarily bans clients whose pings keep failing authentication.
+ * <p>
+ * Failures are counted as strikes per source address and per identity claimed
+ * from that address. Once a key reaches its strike threshold it is banned,
+ * and every further strike doubles the ban, up to the maximum. Strikes are
+ * forgotten after a quiet period following the last ban. Address bans are
+ * checked by the throttling filter before the request body is read. Identity
+ * bans are checked right after the identity is parsed. An identity is only
+ * banned together with the address that failed for it, so forged pings cannot
+ * ban the real node.
+ * <p>
+ * The address threshold is higher than the identity threshold because many
+ * nodes may share one address behind NAT.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class PenaltyBox {
+
+	static final long IDENTITY_SALT = 0x2545f4914f6cdd1dL;
+
+	StrikeTable strikes;
+	int addressStrikes;
+	int identityStrikes;
+	long baseBanMillis;
+	long maxBanMillis;
+	long forgetMillis;
+	// table milliseconds, null for the table's own clock
+	LongSupplier clock;
+	AtomicLong bans = new AtomicLong();
+	AtomicLong rejected = new AtomicLong();
+
+	public PenaltyBox(PropertiesRateLimitConfig rateLimitProperties) {
+		this(rateLimitProperties, null);
+	}
+
+	PenaltyBox(PropertiesRateLimitConfig rateLimitProperties, LongSupplier clock) {
+		this.clock = clock;
+		this.strikes = new StrikeTable(rateLimitProperties.getPenaltySlots());
+		this.addressStrikes = rateLimitProperties.getPenaltyAddressStrikes();
+		this.identityStrikes = rateLimitProperties.getPenaltyIdentityStrikes();
+		this.baseBanMillis = rateLimitProperties.getPenaltyBaseBanSeconds() * 1000L;
+		this.maxBanMillis = rateLimitProperties.getPenaltyMaxBanSeconds() * 1000L;
+		this.forgetMillis = rateLimitProperties.getPenaltyForgetSeconds() * 1000L;
+	}
+
+	/**
+	 * @return milliseconds left of the address's ban, {@code 0} if not banned.
+	 */
+	public long addressBanMillis(String remoteAddress) {
+		long remaining = strikes.banRemaining(AddressRateLimiter.keyOf(remoteAddress), addressStrikes);
+		if (remaining > 0) {
+			rejected.incrementAndGet();
+		}
+		return remaining;
+	}
+
+	/**
+	 * @throws GETooManyRequestsException
+	 *             when {@code nodeIdentity} is banned at {@code remoteAddress}.
+	 */
+	public void checkIdentity(Address nodeIdentity, String remoteAddress) {
+		if (strikes.banRemaining(identityKey(nodeIdentity, remoteAddress), identityStrikes) > 0) {
+			rejected.incrementAndGet();
+			throw new GETooManyRequestsException("Temporarily banned after repeated authentication failures.");
+		}
+	}
+
+	public void recordFailure(Address nodeIdentity, String remoteAddress) {
+		if (strikes.strike(AddressRateLimiter.keyOf(remoteAddress), addressStrikes)) {
+			log.warn("Banned {} after repeated authentication failures", remoteAddress);
+		}
+		if (nodeIdentity != null && strikes.strike(identityKey(nodeIdentity, remoteAddress), identityStrikes)) {
+			log.warn("Banned identity {} at {} after repeated authentication failures", nodeIdentity,
+					remoteAddress);
+		}
+	}
+
+	public long getBans() {
+		return bans.get();
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	private static long identityKey(Address nodeIdentity, String remoteAddress) {
+		return StampedSlotTable.keyOf(IdentityRateLimiter.identityKey(nodeIdentity) ^ IDENTITY_SALT,
+				AddressRateLimiter.keyOf(remoteAddress));
+	}
+
+	/**
+	 * Strike counts (8 bits) stamped with the last strike.
+	 */
+	class StrikeTable extends StampedSlotTable {
+
+		static final long STRIKE_MASK = 0xff;
+
+		StrikeTable(int slots) {
+			super(slots);
+		}
+
+		long banRemaining(long key, int threshold) {
+			int slot = find(key);
+			if (slot < 0) {
+				return 0;
+			}
+			long state = states.get(slot);
+			if (!owns(slot, key)) {
+				return 0;
+			}
+			long count = state & STRIKE_MASK;
+			if (count < threshold) {
+				return 0;
+			}
+			return Math.max(0, banMillis(count, threshold) - age(state, nowMillis()));
+		}
+
+		/**
+		 * @return {@code true} when this strike started or extended a ban.
+		 */
+		boolean strike(long key, int threshold) {
+			long now = nowMillis();
+			int slot = slotOf(key, now, maxBanMillis + forgetMillis, 0);
+			while (true) {
+				long state = states.get(slot);
+				if (!owns(slot, key)) {
+					slot = slotOf(key, now, maxBanMillis + forgetMillis, 0);
+					continue;
+				}
+				long count = state & STRIKE_MASK;
+				long quiet = count < threshold ? forgetMillis : banMillis(count, threshold) + forgetMillis;
+				if (age(state, now) > quiet) {
+					count = 0;
+				}
+				count = Math.min(STRIKE_MASK, count + 1);
+				if (states.compareAndSet(slot, state, (now << VALUE_BITS) | count)) {
+					if (count >= threshold) {
+						bans.incrementAndGet();
+						return true;
+					}
+					return false;
+				}
+			}
+		}
+
+		@Override
+		long nowMillis() {
+			return clock == null ? super.nowMillis() : clock.getAsLong() & TIME_MASK;
+		}
+
+		private long banMillis(long count, int threshold) {
+			int doublings = (int) Math.min(30, count - threshold);
+			return Math.min(maxBanMillis, baseBanMillis << doublings);
+		}
+	}
+}
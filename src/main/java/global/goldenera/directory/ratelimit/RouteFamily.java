@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Groups of endpoints with similar cost that get separate rate limit budgets,
+ * so expensive endpoints cannot use up the budget of cheap ones.
+ */
+@Getter
+@AllArgsConstructor
+public enum RouteFamily {
+	/**
+	 * Node pings: one ECDSA verification; the unit other costs are measured in.
+	 */
+	PING("/api/v1/node/ping", "ping"),
+	/**
+	 * Mnemonic generation and PBKDF2 key derivation, including bulk child key
+	 * derivation.
+	 */
+	GENERATE_KEYS("/api/v1/cryptoj/generate-keys", "generate-keys"),
+	/**
+	 * Transaction building and signing.
+	 */
+	GENERATE_TX("/api/v1/cryptoj/generate-tx/", "generate-tx"),
+	/**
+	 * Decoding raw transactions and verifying their signatures.
+	 */
+	VERIFY_TX("/api/v1/cryptoj/verify-tx/", "verify-tx"),
+	/**
+	 * Everything else under {@code /api/}.
+	 */
+	DEFAULT("/api/", "default");
+
+	static final RouteFamily[] VALUES = values();
+
+	String prefix;
+	/**
+	 * Name used in the limits file.
+	 */
+	String configName;
+
+	public static RouteFamily of(String requestURI) {
+		for (RouteFamily family : VALUES) {
+			if (requestURI.startsWith(family.prefix)) {
+				return family;
+			}
+		}
+		return DEFAULT;
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static lombok.AccessLevel.PACKAGE;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Fixed-size, lock-free table mapping 64-bit keys to one {@code long} of state
+ * each, the base of the rate limit tables.
+ * <p>
+ * The table is 8-way set associative: a key lives in one of the eight slots of
+ * the set its hash selects. The upper 36 bits of every state are the slot's
+ * last use in table milliseconds (wrapping after about two years), the lower
+ * 28 bits belong to the subclass. When a set is full, the least recently used
+ * slot is replaced. Replacing parks the slot's key on {@link #CLAIMING} while
+ * the state is reset, so the new key never shows with the previous owner's
+ * state; subclasses re-check {@link #owns(int, long)} between reading a state
+ * and swapping it.
+ */
+@FieldDefaults(level = PACKAGE, makeFinal = true)
+abstract class StampedSlotTable {
+
+	static final int WAYS = 8;
+	static final int VALUE_BITS = 28;
+	static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+	static final long TIME_MASK = (1L << (64 - VALUE_BITS)) - 1;
+	// mark an unused slot and one being handed to a new key, see keyOf()
+	static final long EMPTY = 0;
+	static final long CLAIMING = -1;
+
+	AtomicLongArray keys;
+	AtomicLongArray states;
+	int setMask;
+	long startNanos = System.nanoTime();
+	AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param slots
+	 *            rounded up to a power of two; each slot costs 16 bytes.
+	 */
+	StampedSlotTable(int slots) {
+		int wanted = Math.max(1, (slots + WAYS - 1) / WAYS);
+		int sets = wanted == 1 ? 1 : Integer.highestOneBit(wanted - 1) << 1;
+		this.keys = new AtomicLongArray(sets * WAYS);
+		this.states = new AtomicLongArray(sets * WAYS);
+		this.setMask = sets - 1;
+	}
+
+	public int getSlots() {
+		return keys.length();
+	}
+
+	/**
+	 * @return slots replaced while still in use.
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return a table key for a 128-bit value, e.g. an address from
+	 *         {@link global.goldenera.directory.utils.IpAddressUtil}.
+	 */
+	public static long keyOf(long high, long low) {
+		long key = mix(high * 0x9e3779b97f4a7c15L + low);
+		return key == EMPTY || key == CLAIMING ? 1 : key;
+	}
+
+	/**
+	 * @return the slot of {@code key}, claimed with {@code initialValue} stamped
+	 *         {@code now} if absent. Slots unused for {@code idleMillis} are
+	 *         equivalent to fresh ones, so replacing them is not an eviction.
+	 */
+	int slotOf(long key, long now, long idleMillis, long initialValue) {
+		int base = setOf(key);
+		while (true) {
+			int victim = -1;
+			long victimKey = EMPTY;
+			long victimAge = -1;
+			boolean claiming = false;
+			for (int slot = base; slot < base + WAYS; slot++) {
+				long current = keys.get(slot);
+				if (current == key) {
+					return slot;
+				}
+				if (current == CLAIMING) {
+					claiming = true;
+					continue;
+				}
+				long age = current == EMPTY ? Long.MAX_VALUE : age(states.get(slot), now);
+				if (age > victimAge) {
+					victim = slot;
+					victimKey = current;
+					victimAge = age;
+				}
+			}
+			if (claiming) {
+				// may be this key; wait for it to show instead of claiming it twice
+				Thread.onSpinWait();
+				continue;
+			}
+			if (keys.compareAndSet(victim, victimKey, CLAIMING)) {
+				if (victimKey != EMPTY && victimAge < idleMillis) {
+					evictions.incrementAndGet();
+				}
+				states.set(victim, (now << VALUE_BITS) | initialValue);
+				keys.set(victim, key);
+				return victim;
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} while {@code slot} still belongs to {@code key}. A
+	 *         state read before this check and swapped after it belongs to
+	 *         {@code key}: replacing the slot changes the state first.
+	 */
+	boolean owns(int slot, long key) {
+		return keys.get(slot) == key;
+	}
+
+	/**
+	 * @return the slot of {@code key}, or {@code -1}.
+	 */
+	int find(long key) {
+		int base = setOf(key);
+		for (int slot = base; slot < base + WAYS; slot++) {
+			if (keys.get(slot) == key) {
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	long nowMillis() {
+		return ((System.nanoTime() - startNanos) / 1_000_000) & TIME_MASK;
+	}
+
+	static long age(long state, long now) {
+		return (now - (state >>> VALUE_BITS)) & TIME_MASK;
+	}
+
+	private int setOf(long key) {
+		return (int) (mix(key) & setMask) * WAYS;
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+/**
+ * Fixed-size table of token buckets keyed by 64-bit keys, lock-free and
+ * allocation-free per call.
+ * <p>
+ * Each bucket is a single {@code long} updated by CAS, packing the last update
+ * time and the remaining milli-tokens (28 bits). A bucket idle for a whole
+ * refill period is full again, so replacing it loses nothing; see
+ * {@link StampedSlotTable} for the layout and replacement.
+ */
+public class TokenBucketTable extends StampedSlotTable {
+
+	static final long MILLI = 1000;
+
+	/**
+	 * @param slots
+	 *            rounded up to a power of two; each slot costs 16 bytes.
+	 */
+	public TokenBucketTable(int slots) {
+		super(slots);
+	}
+
+	/**
+	 * Takes {@code cost} tokens from the bucket of {@code key}.
+	 *
+	 * @return {@code false} when the bucket holds fewer than {@code cost}
+	 *         tokens; nothing is taken then.
+	 */
+	public boolean tryAcquire(long key, RateLimit limit, long cost) {
+		long now = nowMillis();
+		long capacity = Math.min(limit.getCapacity() * MILLI, VALUE_MASK);
+		long required = cost * MILLI;
+		// a new bucket starts full
+		int slot = slotOf(key, now, limit.getPeriodMillis(), VALUE_MASK);
+		while (true) {
+			long state = states.get(slot);
+			if (!owns(slot, key)) {
+				slot = slotOf(key, now, limit.getPeriodMillis(), VALUE_MASK);
+				continue;
+			}
+			long tokens = tokens(state, now, capacity, limit.getPeriodMillis());
+			if (tokens < required) {
+				return false;
+			}
+			if (states.compareAndSet(slot, state, (now << VALUE_BITS) | (tokens - required))) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gives back {@code cost} tokens taken from the bucket of {@code key}, up
+	 * to its capacity. Does nothing when the bucket is gone.
+	 */
+	public void release(long key, RateLimit limit, long cost) {
+		int slot = find(key);
+		if (slot < 0) {
+			return;
+		}
+		long now = nowMillis();
+		long capacity = Math.min(limit.getCapacity() * MILLI, VALUE_MASK);
+		while (true) {
+			long state = states.get(slot);
+			if (!owns(slot, key)) {
+				return;
+			}
+			long tokens = Math.min(capacity, tokens(state, now, capacity, limit.getPeriodMillis()) + cost * MILLI);
+			if (states.compareAndSet(slot, state, (now << VALUE_BITS) | tokens)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Checks the bucket of {@code key} without taking tokens or creating it.
+	 *
+	 * @return {@code true} when the bucket holds at least {@code cost} tokens
+	 *         or does not exist.
+	 */
+	public boolean hasTokens(long key, RateLimit limit, long cost) {
+		int slot = find(key);
+		if (slot < 0) {
+			return true;
+		}
+		long state = states.get(slot);
+		if (!owns(slot, key)) {
+			return true;
+		}
+		long capacity = Math.min(limit.getCapacity() * MILLI, VALUE_MASK);
+		return tokens(state, nowMillis(), capacity, limit.getPeriodMillis()) >= cost * MILLI;
+	}
+
+	private static long tokens(long state, long now, long capacity, long periodMillis) {
+		long elapsed = age(state, now);
+		if (elapsed >= periodMillis) {
+			return capacity;
+		}
+		return Math.min(capacity, (state & VALUE_MASK) + elapsed * capacity / periodMillis);
+	}
+}
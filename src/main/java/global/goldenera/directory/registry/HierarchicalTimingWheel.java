@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.function.Consumer;
+
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Hierarchical timing wheel with {@value #SLOTS} slots per level and
+ * {@value #LEVELS} levels, giving a horizon of {@code 64^4} ticks.
+ * <p>
+ * Scheduling and cancelling are O(1) (intrusive doubly-linked buckets). Timers
+ * on higher levels are cascaded down when the wheel reaches their block, so
+ * each timer moves at most {@value #LEVELS} times before firing. Timers beyond
+ * the horizon park in the farthest top-level slot and are re-placed on cascade.
+ * <p>
+ * Not thread-safe: owned by a single driver thread.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class HierarchicalTimingWheel<T extends HierarchicalTimingWheel.Timeout> {
+
+	static final int SLOT_BITS = 6;
+	static final int SLOTS = 1 << SLOT_BITS;
+	static final int SLOT_MASK = SLOTS - 1;
+	static final int LEVELS = 4;
+
+	Timeout[][] buckets = new Timeout[LEVELS][SLOTS];
+
+	@NonFinal
+	long currentTick;
+	@NonFinal
+	int size;
+
+	public HierarchicalTimingWheel(long startTick) {
+		this.currentTick = startTick;
+	}
+
+	/**
+	 * Schedules {@code timeout} to fire at {@code deadlineTick}, or at the next
+	 * tick when the deadline already passed.
+	 */
+	public void schedule(T timeout, long deadlineTick) {
+		Timeout entry = timeout;
+		if (entry.scheduled) {
+			cancel(timeout);
+		}
+		entry.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+		place(entry);
+		size++;
+	}
+
+	public void cancel(T timeout) {
+		Timeout entry = timeout;
+		if (!entry.scheduled) {
+			return;
+		}
+		unlink(entry);
+		size--;
+	}
+
+	/**
+	 * Advances the wheel up to and including {@code nowTick}, passing every due
+	 * timeout to {@code expired}. The callback may schedule timeouts again.
+	 */
+	@SuppressWarnings("unchecked")
+	public void advanceTo(long nowTick, Consumer<T> expired) {
+		while (currentTick < nowTick) {
+			currentTick++;
+			for (int level = LEVELS - 1; level > 0; level--) {
+				if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+					cascade(level, (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK));
+				}
+			}
+			int slot = (int) (currentTick & SLOT_MASK);
+			Timeout timeout = buckets[0][slot];
+			buckets[0][slot] = null;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				timeout.prev = null;
+				timeout.next = null;
+				timeout.scheduled = false;
+				size--;
+				expired.accept((T) timeout);
+				timeout = next;
+			}
+		}
+	}
+
+	public long getCurrentTick() {
+		return currentTick;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void cascade(int level, int slot) {
+		Timeout timeout = buckets[level][slot];
+		buckets[level][slot] = null;
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			timeout.prev = null;
+			timeout.next = null;
+			place(timeout);
+			timeout = next;
+		}
+	}
+
+	private void place(Timeout timeout) {
+		long deadline = timeout.deadlineTick;
+		int level = 0;
+		int slot;
+		while (true) {
+			int shift = level * SLOT_BITS;
+			if ((deadline >>> shift) - (currentTick >>> shift) < SLOTS) {
+				slot = (int) ((deadline >>> shift) & SLOT_MASK);
+				break;
+			}
+			if (level == LEVELS - 1) {
+				// beyond the horizon: park in the farthest slot, re-placed on cascade
+				slot = (int) (((currentTick >>> shift) - 1) & SLOT_MASK);
+				break;
+			}
+			level++;
+		}
+		Timeout head = buckets[level][slot];
+		timeout.next = head;
+		if (head != null) {
+			head.prev = timeout;
+		}
+		buckets[level][slot] = timeout;
+		timeout.level = level;
+		timeout.slot = slot;
+		timeout.scheduled = true;
+	}
+
+	private void unlink(Timeout timeout) {
+		if (timeout.prev != null) {
+			timeout.prev.next = timeout.next;
+		} else {
+			buckets[timeout.level][timeout.slot] = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.prev = timeout.prev;
+		}
+		timeout.prev = null;
+		timeout.next = null;
+		timeout.scheduled = false;
+	}
+
+	/**
+	 * Intrusive wheel linkage; extend to attach a payload.
+	 */
+	@FieldDefaults(level = PRIVATE)
+	public abstract static class Timeout {
+		Timeout prev;
+		Timeout next;
+		long deadlineTick;
+		int level;
+		int slot;
+		boolean scheduled;
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Bounded, reference-counted dictionary mapping low-cardinality strings to
+ * small integer ids.
+ * <p>
+ * Every {@link #acquire(String)} must be paired with a {@link #release(int)}.
+ * Ids whose count drops to zero go to the back of a FIFO free list and keep
+ * resolving to their old value until reused, so a reader holding a slightly
+ * stale id never sees a foreign string in practice. Lookups by id are
+ * lock-free.
+ * <p>
+ * A full table never rejects: once every interned id is referenced, further
+ * values are stored raw under an id at or above the capacity, one id per
+ * reference and without deduplication, until released. Callers keeping
+ * per-id arrays size them by {@link #getCapacity()} and handle spilled ids
+ * (see {@link #isSpilled(int)}) separately.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class InternTable {
+
+	public static final int NO_ID = -1;
+
+	int capacity;
+	Map<String, Integer> ids;
+	// element reads are volatile, ids are resolved without the lock
+	AtomicReferenceArray<String> values;
+	// spilled values keep resolving after release until their id is reused
+	Map<Integer, String> spilled = new ConcurrentHashMap<>();
+	Set<Integer> liveSpilledIds = new HashSet<>();
+	Deque<Integer> freeSpilledIds = new ArrayDeque<>();
+	int[] referenceCounts;
+	int[] freeIds;
+	boolean[] queuedForReuse;
+
+	// guarded by this
+	@NonFinal
+	int freeHead;
+	@NonFinal
+	int freeCount;
+	@NonFinal
+	int nextId;
+	@NonFinal
+	int liveCount;
+	@NonFinal
+	int nextSpilledId;
+
+	public InternTable(int capacity) {
+		this.capacity = capacity;
+		this.ids = new HashMap<>();
+		this.values = new AtomicReferenceArray<>(capacity);
+		this.nextSpilledId = capacity;
+		this.referenceCounts = new int[capacity];
+		this.freeIds = new int[capacity];
+		this.queuedForReuse = new boolean[capacity];
+	}
+
+	/**
+	 * @return id holding one more reference to {@code value}; spilled when the
+	 *         table is full.
+	 */
+	public synchronized int acquire(String value) {
+		Integer existing = ids.get(value);
+		if (existing != null) {
+			// a released id that is still waiting in the free list is simply revived
+			if (referenceCounts[existing]++ == 0) {
+				liveCount++;
+			}
+			return existing;
+		}
+		int id = allocateId();
+		if (id == NO_ID) {
+			return spill(value);
+		}
+		values.set(id, value);
+		referenceCounts[id] = 1;
+		liveCount++;
+		ids.put(value, id);
+		return id;
+	}
+
+	public synchronized void release(int id) {
+		if (isSpilled(id)) {
+			if (liveSpilledIds.remove(id)) {
+				freeSpilledIds.addLast(id);
+			}
+			return;
+		}
+		if (id < 0 || referenceCounts[id] == 0) {
+			return;
+		}
+		if (--referenceCounts[id] == 0) {
+			liveCount--;
+			if (!queuedForReuse[id]) {
+				queuedForReuse[id] = true;
+				freeIds[(freeHead + freeCount) % capacity] = id;
+				freeCount++;
+			}
+		}
+	}
+
+	/**
+	 * @return interned id of a currently referenced value without taking a
+	 *         reference, or {@link #NO_ID}; spilled values are not found.
+	 */
+	public synchronized int find(String value) {
+		Integer id = ids.get(value);
+		return id == null || referenceCounts[id] == 0 ? NO_ID : id;
+	}
+
+	public String get(int id) {
+		return isSpilled(id) ? spilled.get(id) : values.get(id);
+	}
+
+	public boolean isSpilled(int id) {
+		return id >= capacity;
+	}
+
+	public synchronized int count(int id) {
+		if (isSpilled(id)) {
+			return liveSpilledIds.contains(id) ? 1 : 0;
+		}
+		return referenceCounts[id];
+	}
+
+	/**
+	 * @return referenced values with their reference counts.
+	 */
+	public synchronized Map<String, Integer> counts() {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (int id = 0; id < nextId; id++) {
+			if (referenceCounts[id] > 0) {
+				counts.put(values.get(id), referenceCounts[id]);
+			}
+		}
+		for (int id : liveSpilledIds) {
+			counts.merge(spilled.get(id), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	public synchronized int size() {
+		return liveCount + liveSpilledIds.size();
+	}
+
+	public synchronized int getSpilledCount() {
+		return liveSpilledIds.size();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private int allocateId() {
+		if (nextId < capacity) {
+			return nextId++;
+		}
+		while (freeCount > 0) {
+			int id = freeIds[freeHead];
+			freeHead = (freeHead + 1) % capacity;
+			freeCount--;
+			queuedForReuse[id] = false;
+			if (referenceCounts[id] == 0) {
+				ids.remove(values.get(id));
+				return id;
+			}
+		}
+		return NO_ID;
+	}
+
+	private int spill(String value) {
+		// bounded by the live references, i.e. by the registry capacity
+		int id = freeSpilledIds.isEmpty() ? nextSpilledId++ : freeSpilledIds.pollFirst();
+		spilled.put(id, value);
+		liveSpilledIds.add(id);
+		return id;
+	}
+}
@@ -0,0 +1,385 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesAdmissionConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.utils.IpAddressUtil;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether a new identity may enter the registry, in O(1) per ping.
+ * <p>
+ * Refreshes of registered identities are always accepted, so established nodes
+ * can never be pushed out by newcomers; only a refresh from another source
+ * address must fit that address's caps, or identities registered from many
+ * addresses could be packed behind one. A new identity must fit the overall
+ * capacity, its network's quota, the per-source-address and per-subnet caps,
+ * and the probation pool: identities that have not yet earned standing share
+ * only a fraction of the capacity. Standing needs tenure, a number of pings and
+ * a steady cadence, i.e. a smoothed ping interval (see {@link NodeTtlPolicy})
+ * no longer than the configured maximum, so identities pinging in bursts or
+ * rarely stay on probation. Minting fresh identities therefore only competes
+ * with other newcomers. Records replicated from peers or mirrored from a
+ * leader were admitted at their origin and are exempt from the probation cap;
+ * they carry their tenure (see {@link NodeTenure}), as do local pings after a
+ * restart, so established nodes do not start over as newcomers.
+ * <p>
+ * Admission reserves its slot in every counter before the registry write:
+ * {@link #reserve(NodeInfo, NodeInfo, boolean)} increments each counter only
+ * while it is below its limit and rolls back what it took when a later one is
+ * full, so concurrent admissions never overshoot a cap. {@code onPut} commits
+ * the reservation after the write, {@link #cancel(NodeInfo, Reservation)}
+ * returns it when the write fails, and {@link NodeRemovedEvent} releases it on
+ * removal.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeAdmissionPolicy {
+
+	static final Network[] NETWORKS = Network.values();
+	static final long NO_SUBNET = Long.MIN_VALUE;
+
+	NodeInternTables internTables;
+	int capacity;
+	int probationCapacity;
+	int maxIdentitiesPerIp;
+	int maxIdentitiesPerSubnet;
+	long graduationSeconds;
+	int graduationPings;
+	long graduationMaxPingIntervalMillis;
+	int[] networkQuotas = new int[NETWORKS.length];
+
+	AtomicInteger total = new AtomicInteger();
+	AtomicInteger onProbation = new AtomicInteger();
+	AtomicIntegerArray networkCounts = new AtomicIntegerArray(NETWORKS.length);
+	// indexed by source address intern id, spilled addresses are counted by value
+	AtomicIntegerArray sourceIpCounts;
+	ConcurrentHashMap<String, Integer> spilledSourceIpCounts = new ConcurrentHashMap<>();
+	// subnet of each source address intern id, parsed once per interned value
+	AtomicReferenceArray<SubnetOf> subnets;
+	ConcurrentHashMap<Long, Integer> subnetCounts = new ConcurrentHashMap<>();
+	AtomicLong rejected = new AtomicLong();
+
+	public NodeAdmissionPolicy(PropertiesAdmissionConfig admissionProperties,
+			PropertiesRegistryConfig registryProperties, NodeInternTables internTables) {
+		this.internTables = internTables;
+		this.capacity = registryProperties.getCapacity();
+		this.probationCapacity = (int) Math.ceil(capacity * admissionProperties.getProbationShare());
+		this.maxIdentitiesPerIp = admissionProperties.getMaxIdentitiesPerIp();
+		this.maxIdentitiesPerSubnet = admissionProperties.getMaxIdentitiesPerSubnet();
+		this.graduationSeconds = admissionProperties.getGraduationSeconds();
+		this.graduationPings = admissionProperties.getGraduationPings();
+		this.graduationMaxPingIntervalMillis = admissionProperties.getGraduationMaxPingIntervalSeconds() * 1000L;
+		for (Network network : NETWORKS) {
+			networkQuotas[network.ordinal()] = Math.min(capacity,
+					admissionProperties.getNetworkQuotas().getOrDefault(network, capacity));
+		}
+		this.sourceIpCounts = new AtomicIntegerArray(internTables.getSourceIpCapacity());
+		this.subnets = new AtomicReferenceArray<>(internTables.getSourceIpCapacity());
+		log.info("Node admission: capacity {}, probation {}, per address {}, per subnet {}", capacity,
+				probationCapacity, maxIdentitiesPerIp, maxIdentitiesPerSubnet);
+	}
+
+	/**
+	 * Reserves room for {@code node}: every counter for a new identity, the
+	 * source address counters when a registered identity pings from another
+	 * address. Follow with {@link #onPut(NodeInfo, NodeInfo, Reservation)} or
+	 * {@link #cancel(NodeInfo, Reservation)}.
+	 *
+	 * @param current
+	 *            registered record of the identity, or {@code null} when new.
+	 * @param local
+	 *            {@code false} for records replicated or mirrored from another
+	 *            instance, which are counted but not capped on probation.
+	 * @throws GEValidationException
+	 *             when the record may not be registered; nothing is reserved
+	 *             then.
+	 */
+	public Reservation reserve(NodeInfo current, NodeInfo node, boolean local) {
+		if (current == null) {
+			reserveIdentity(node, local);
+			return Reservation.IDENTITY;
+		}
+		if (sameSourceIp(current, node)) {
+			return Reservation.NONE;
+		}
+		long subnet = subnetKey(node.getSourceIpId());
+		if (!incrementSourceIpBelow(node.getSourceIpId(), maxIdentitiesPerIp)) {
+			reject("Too many node identities from this address.");
+		}
+		if (subnet == subnetKey(current.getSourceIpId())) {
+			// the identity already counts in this subnet, moving within it takes no room
+			countSubnet(subnet, 1);
+		} else if (subnet != NO_SUBNET && !incrementSubnetBelow(subnet, maxIdentitiesPerSubnet)) {
+			countSourceIp(node.getSourceIpId(), -1);
+			reject("Too many node identities from this subnet.");
+		}
+		return Reservation.ADDRESS;
+	}
+
+	private void reserveIdentity(NodeInfo node, boolean local) {
+		int network = node.getNetwork().ordinal();
+		boolean probation = isOnProbation(node);
+		long subnet = subnetKey(node.getSourceIpId());
+		if (!incrementBelow(total, capacity)) {
+			reject("Node registry is full.");
+		}
+		if (!incrementBelow(networkCounts, network, networkQuotas[network])) {
+			total.decrementAndGet();
+			reject("Node quota for network reached.");
+		}
+		if (!incrementSourceIpBelow(node.getSourceIpId(), maxIdentitiesPerIp)) {
+			total.decrementAndGet();
+			networkCounts.decrementAndGet(network);
+			reject("Too many node identities from this address.");
+		}
+		if (subnet != NO_SUBNET && !incrementSubnetBelow(subnet, maxIdentitiesPerSubnet)) {
+			total.decrementAndGet();
+			networkCounts.decrementAndGet(network);
+			countSourceIp(node.getSourceIpId(), -1);
+			reject("Too many node identities from this subnet.");
+		}
+		if (probation && !incrementBelow(onProbation, local ? probationCapacity : Integer.MAX_VALUE)) {
+			total.decrementAndGet();
+			networkCounts.decrementAndGet(network);
+			countSourceIp(node.getSourceIpId(), -1);
+			countSubnet(subnet, -1);
+			reject("No room for new nodes, try again later.");
+		}
+	}
+
+	/**
+	 * Returns a reservation whose registry write failed.
+	 */
+	public void cancel(NodeInfo node, Reservation reservation) {
+		if (reservation == Reservation.IDENTITY) {
+			count(node, -1);
+		} else if (reservation == Reservation.ADDRESS) {
+			countAddress(node, -1);
+		}
+	}
+
+	/**
+	 * Accounts a registry write; {@code previous} is the record it replaced and
+	 * {@code reservation} what {@link #reserve(NodeInfo, NodeInfo, boolean)}
+	 * already counted of {@code node}.
+	 */
+	public void onPut(NodeInfo previous, NodeInfo node, Reservation reservation) {
+		if (reservation == Reservation.NONE) {
+			count(node, 1);
+		} else if (reservation == Reservation.ADDRESS) {
+			countRecord(node, 1);
+		}
+		if (previous != null) {
+			count(previous, -1);
+		}
+	}
+
+	@EventListener
+	public void onNodeRemoved(NodeRemovedEvent event) {
+		count(event.getNode(), -1);
+	}
+
+	public int getOnProbation() {
+		return onProbation.get();
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * Probation is a pure function of the record, so a record leaves the pool
+	 * exactly as it entered it.
+	 */
+	boolean isOnProbation(NodeInfo node) {
+		return node.getPingCount() < graduationPings
+				|| node.getUpdatedAt() - node.getFirstSeen() < graduationSeconds
+				|| node.getPingIntervalMillis() == 0
+				|| node.getPingIntervalMillis() > graduationMaxPingIntervalMillis;
+	}
+
+	private void count(NodeInfo node, int delta) {
+		countRecord(node, delta);
+		countAddress(node, delta);
+	}
+
+	private void countRecord(NodeInfo node, int delta) {
+		total.addAndGet(delta);
+		networkCounts.addAndGet(node.getNetwork().ordinal(), delta);
+		if (isOnProbation(node)) {
+			onProbation.addAndGet(delta);
+		}
+	}
+
+	private void countAddress(NodeInfo node, int delta) {
+		countSourceIp(node.getSourceIpId(), delta);
+		countSubnet(subnetKey(node.getSourceIpId()), delta);
+	}
+
+	private boolean sameSourceIp(NodeInfo current, NodeInfo node) {
+		// spilled values get an id per reference, compare them by value
+		return current.getSourceIpId() == node.getSourceIpId() || internTables.sourceIp(current.getSourceIpId())
+				.equals(internTables.sourceIp(node.getSourceIpId()));
+	}
+
+	private static boolean incrementBelow(AtomicInteger counter, int limit) {
+		int current;
+		do {
+			current = counter.get();
+			if (current >= limit) {
+				return false;
+			}
+		} while (!counter.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private static boolean incrementBelow(AtomicIntegerArray counters, int index, int limit) {
+		int current;
+		do {
+			current = counters.get(index);
+			if (current >= limit) {
+				return false;
+			}
+		} while (!counters.compareAndSet(index, current, current + 1));
+		return true;
+	}
+
+	private boolean incrementSourceIpBelow(int sourceIpId, int limit) {
+		if (sourceIpId < sourceIpCounts.length()) {
+			return incrementBelow(sourceIpCounts, sourceIpId, limit);
+		}
+		boolean[] taken = new boolean[1];
+		spilledSourceIpCounts.compute(internTables.sourceIp(sourceIpId), (key, count) -> {
+			int current = count == null ? 0 : count;
+			taken[0] = current < limit;
+			return taken[0] ? current + 1 : count;
+		});
+		return taken[0];
+	}
+
+	private boolean incrementSubnetBelow(long subnet, int limit) {
+		boolean[] taken = new boolean[1];
+		subnetCounts.compute(subnet, (key, count) -> {
+			int current = count == null ? 0 : count;
+			taken[0] = current < limit;
+			return taken[0] ? current + 1 : count;
+		});
+		return taken[0];
+	}
+
+	private void countSourceIp(int sourceIpId, int delta) {
+		if (sourceIpId < sourceIpCounts.length()) {
+			sourceIpCounts.addAndGet(sourceIpId, delta);
+			return;
+		}
+		spilledSourceIpCounts.compute(internTables.sourceIp(sourceIpId), (key, count) -> {
+			int updated = (count == null ? 0 : count) + delta;
+			return updated <= 0 ? null : updated;
+		});
+	}
+
+	private void countSubnet(long subnet, int delta) {
+		if (subnet == NO_SUBNET) {
+			return;
+		}
+		subnetCounts.compute(subnet, (key, count) -> {
+			int updated = (count == null ? 0 : count) + delta;
+			return updated <= 0 ? null : updated;
+		});
+	}
+
+	/**
+	 * @return subnet of the interned source address, or {@link #NO_SUBNET} if it
+	 *         is not an IP literal.
+	 */
+	private long subnetKey(int sourceIpId) {
+		String sourceIp = internTables.sourceIp(sourceIpId);
+		if (sourceIpId >= subnets.length()) {
+			return parseSubnet(sourceIp);
+		}
+		// ids are reused for other values, the cached entry is checked by identity
+		SubnetOf cached = subnets.get(sourceIpId);
+		if (cached != null && cached.getSourceIp() == sourceIp) {
+			return cached.getSubnet();
+		}
+		long subnet = parseSubnet(sourceIp);
+		subnets.set(sourceIpId, new SubnetOf(sourceIp, subnet));
+		return subnet;
+	}
+
+	private static long parseSubnet(String sourceIp) {
+		long[] address = new long[2];
+		if (sourceIp == null || !IpAddressUtil.parse(sourceIp, address)) {
+			return NO_SUBNET;
+		}
+		return IpAddressUtil.subnetKey(address[0], address[1]);
+	}
+
+	private void reject(String message) {
+		rejected.incrementAndGet();
+		throw new GEValidationException(message);
+	}
+
+	/**
+	 * What {@link #reserve(NodeInfo, NodeInfo, boolean)} took for a write.
+	 */
+	public enum Reservation {
+		/**
+		 * Nothing, a refresh from the registered source address.
+		 */
+		NONE,
+		/**
+		 * The source address counters of a registered identity's new address.
+		 */
+		ADDRESS,
+		/**
+		 * Every counter, for a new identity.
+		 */
+		IDENTITY;
+	}
+
+	@Value
+	static class SubnetOf {
+		String sourceIp;
+		long subnet;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.properties.PropertiesFollowerConfig;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * Sequence-numbered log of the identities whose registry entry changed, kept
+ * in a ring buffer for followers.
+ * <p>
+ * Only identities are logged: a follower reads the entry's current state when
+ * it catches up, so repeated changes of one identity coalesce and the log
+ * costs one reference per change. The log lives in memory, so every start
+ * draws a new epoch and followers reload when it changes.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeChangeLog {
+
+	Address[] ring;
+	long epoch = new SecureRandom().nextLong();
+	@NonFinal
+	long lastSequence;
+
+	public NodeChangeLog(PropertiesFollowerConfig followerProperties) {
+		this.ring = new Address[followerProperties.getChangeLogCapacity()];
+	}
+
+	@EventListener
+	public void onNodeUpdated(NodeUpdatedEvent event) {
+		append(event.getNode().getNodeIdentity());
+	}
+
+	@EventListener
+	public void onNodeRemoved(NodeRemovedEvent event) {
+		append(event.getNode().getNodeIdentity());
+	}
+
+	/**
+	 * @return identifies this run of the log; sequences restart with it.
+	 */
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public synchronized long getLastSequence() {
+		return lastSequence;
+	}
+
+	/**
+	 * @return at most {@code limit} identities changed after sequence
+	 *         {@code since}, oldest first, or {@code null} when {@code since} is
+	 *         no longer in the log.
+	 */
+	public synchronized List<Address> changesSince(long since, int limit) {
+		if (since > lastSequence || since < lastSequence - ring.length) {
+			return null;
+		}
+		int count = (int) Math.min(limit, lastSequence - since);
+		List<Address> changes = new ArrayList<>(count);
+		for (long sequence = since + 1; sequence <= since + count; sequence++) {
+			changes.add(ring[(int) (sequence % ring.length)]);
+		}
+		return changes;
+	}
+
+	private synchronized void append(Address nodeIdentity) {
+		lastSequence++;
+		ring[(int) (lastSequence % ring.length)] = nodeIdentity;
+	}
+}
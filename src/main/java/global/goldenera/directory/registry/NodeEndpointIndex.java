@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.utils.ValidatorUtil;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Maps every advertised {@code host:port} to the identities registered on it
+ * and keeps at most {@code maxIdentitiesPerEndpoint} of them, so every
+ * advertised endpoint stays (near) distinct in pongs.
+ * <p>
+ * Holders are ordered by tenure ({@code firstSeen}) and keep their place: a
+ * new identity advertising a full endpoint is refused instead of displacing a
+ * tenured one, and gets in once a holder expires or moves. The registry write
+ * happens inside the endpoint's map entry lock (see {@link #put(NodeInfo)}), so
+ * the index and the registry cannot disagree about who holds an endpoint.
+ * <p>
+ * Endpoints are keyed by {@code hostId << 16 | port}, so the port must fit in
+ * 16 bits; the host id is held by the registry entries listed under the key,
+ * so it cannot be reused while the key is live.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeEndpointIndex {
+
+	static final Holder[] NONE = new Holder[0];
+
+	NodeRegistry nodeRegistry;
+	int maxIdentitiesPerEndpoint;
+	ConcurrentHashMap<Long, Holder[]> holdersByEndpoint = new ConcurrentHashMap<>();
+	AtomicLong rejected = new AtomicLong();
+
+	public NodeEndpointIndex(NodeRegistry nodeRegistry, PropertiesRegistryConfig registryProperties) {
+		this.nodeRegistry = nodeRegistry;
+		this.maxIdentitiesPerEndpoint = Math.max(1, registryProperties.getMaxIdentitiesPerEndpoint());
+	}
+
+	/**
+	 * Writes {@code node} to the registry while holding its endpoint, and
+	 * unlinks the endpoint it replaced.
+	 *
+	 * @return the record the write replaced, as {@link NodeRegistry#put(NodeInfo)}.
+	 * @throws GEValidationException
+	 *             when the endpoint is already held by as many more tenured
+	 *             identities as allowed; nothing is written then.
+	 * @throws IllegalArgumentException
+	 *             when the port is outside 1..65535 and would alias another
+	 *             host's endpoint.
+	 */
+	public NodeInfo put(NodeInfo node) {
+		return put(node, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Like {@link #put(NodeInfo)} with the last-writer-wins check of
+	 * {@link NodeRegistry#put(NodeInfo, long)}; a refused write leaves the
+	 * endpoint holders as they were.
+	 */
+	public NodeInfo put(NodeInfo node, long notNewerThan) {
+		if (!ValidatorUtil.PortValidator.isValid(node.getP2pListenPort())) {
+			throw new IllegalArgumentException("P2P listen port out of range: " + node.getP2pListenPort());
+		}
+		Address identity = node.getNodeIdentity();
+		long endpoint = endpointKey(node);
+		NodeInfo[] previous = new NodeInfo[1];
+		holdersByEndpoint.compute(endpoint, (key, holders) -> {
+			Holder[] current = holders == null ? NONE : holders;
+			Holder[] updated = current;
+			if (indexOf(current, identity) < 0) {
+				if (current.length >= maxIdentitiesPerEndpoint) {
+					rejected.incrementAndGet();
+					throw new GEValidationException("Endpoint is already registered by another node.");
+				}
+				updated = insertByTenure(current, new Holder(identity, node.getFirstSeen()));
+			}
+			// the registry never calls back into this map, so writing here is safe
+			previous[0] = nodeRegistry.put(node, notNewerThan);
+			return NodeRegistry.refused(previous[0], notNewerThan) ? holders : updated;
+		});
+		if (previous[0] != null && !NodeRegistry.refused(previous[0], notNewerThan) && endpointKey(previous[0]) != endpoint) {
+			unlink(endpointKey(previous[0]), identity);
+		}
+		return previous[0];
+	}
+
+	@EventListener
+	public void onNodeRemoved(NodeRemovedEvent event) {
+		unlink(endpointKey(event.getNode()), event.getNode().getNodeIdentity());
+	}
+
+	public int getEndpointCount() {
+		return holdersByEndpoint.size();
+	}
+
+	/**
+	 * @return new identities refused because their endpoint was full.
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	private void unlink(long endpoint, Address identity) {
+		holdersByEndpoint.computeIfPresent(endpoint, (key, holders) -> {
+			int position = indexOf(holders, identity);
+			if (position < 0) {
+				return holders;
+			}
+			// a racing write may have moved the identity back here and holds it again
+			NodeInfo current = nodeRegistry.get(identity);
+			if (current != null && endpointKey(current) == key) {
+				return holders;
+			}
+			if (holders.length == 1) {
+				return null;
+			}
+			Holder[] updated = new Holder[holders.length - 1];
+			System.arraycopy(holders, 0, updated, 0, position);
+			System.arraycopy(holders, position + 1, updated, position, updated.length - position);
+			return updated;
+		});
+	}
+
+	private static Holder[] insertByTenure(Holder[] holders, Holder holder) {
+		int position = holders.length;
+		while (position > 0 && holders[position - 1].getFirstSeen() > holder.getFirstSeen()) {
+			position--;
+		}
+		Holder[] updated = new Holder[holders.length + 1];
+		System.arraycopy(holders, 0, updated, 0, position);
+		updated[position] = holder;
+		System.arraycopy(holders, position, updated, position + 1, holders.length - position);
+		return updated;
+	}
+
+	private static int indexOf(Holder[] holders, Address identity) {
+		for (int i = 0; i < holders.length; i++) {
+			if (holders[i].getIdentity().equals(identity)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static long endpointKey(NodeInfo node) {
+		return ((long) node.getP2pListenHostId() << 16) | node.getP2pListenPort();
+	}
+
+	@Value
+	static class Holder {
+		Address identity;
+		long firstSeen;
+	}
+}
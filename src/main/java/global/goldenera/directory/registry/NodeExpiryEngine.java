@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Expires registry entries from a {@link HierarchicalTimingWheel} driven by a
+ * single {@code node-expiry-wheel} thread, so no expiry work runs on request
+ * threads.
+ * <p>
+ * Every identity owns one timer. A ping only updates the timer's deadline
+ * (O(1), no wheel access); a timer whose deadline moved later is re-placed when
+ * it fires, one whose deadline moved earlier is handed back to the wheel
+ * through a queue. Expired entries are removed with
+ * {@link NodeRemovalCause#EXPIRED}, which publishes a {@link NodeRemovedEvent}.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeExpiryEngine {
+
+	NodeRegistry nodeRegistry;
+	long tickMillis;
+	LongSupplier clock;
+	long startMillis;
+	ConcurrentHashMap<Address, ExpiryTimer> timers = new ConcurrentHashMap<>();
+	ConcurrentLinkedQueue<ExpiryTimer> pendingSchedules = new ConcurrentLinkedQueue<>();
+	AtomicLong expiredNodes = new AtomicLong();
+	// owned by the wheel thread
+	HierarchicalTimingWheel<ExpiryTimer> wheel = new HierarchicalTimingWheel<>(0);
+	ScheduledExecutorService ticker;
+
+	@Autowired
+	public NodeExpiryEngine(NodeRegistry nodeRegistry, PropertiesRegistryConfig registryProperties) {
+		this(nodeRegistry, registryProperties.getExpiryTickMillis(), System::currentTimeMillis,
+				Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "node-expiry-wheel");
+					thread.setDaemon(true);
+					return thread;
+				}));
+	}
+
+	/**
+	 * @param ticker
+	 *            drives {@link #tick()} every tick, {@code null} to drive it
+	 *            by hand.
+	 */
+	NodeExpiryEngine(NodeRegistry nodeRegistry, long tickMillis, LongSupplier clock,
+			ScheduledExecutorService ticker) {
+		this.nodeRegistry = nodeRegistry;
+		this.tickMillis = tickMillis;
+		this.clock = clock;
+		this.startMillis = clock.getAsLong();
+		this.ticker = ticker;
+		if (ticker != null) {
+			ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * (Re)arms the identity's timer after a registry write.
+	 *
+	 * @param lastSeen
+	 *            {@code updatedAt} of the record just written; the entry is only
+	 *            removed if it was not refreshed since.
+	 * @param ttlMillis
+	 *            time from now until the entry expires.
+	 */
+	public void touch(Address nodeIdentity, long lastSeen, long ttlMillis) {
+		long deadline = clock.getAsLong() + ttlMillis;
+		timers.compute(nodeIdentity, (identity, timer) -> {
+			if (timer == null) {
+				timer = new ExpiryTimer(identity);
+				pendingSchedules.add(timer);
+			} else if (deadline < timer.deadlineMillis) {
+				pendingSchedules.add(timer);
+			}
+			timer.deadlineMillis = deadline;
+			timer.lastSeen = lastSeen;
+			return timer;
+		});
+	}
+
+	public int getPendingTimers() {
+		return timers.size();
+	}
+
+	public long getExpiredNodes() {
+		return expiredNodes.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (ticker != null) {
+			ticker.shutdownNow();
+		}
+	}
+
+	void tick() {
+		try {
+			ExpiryTimer timer;
+			while ((timer = pendingSchedules.poll()) != null) {
+				if (timers.get(timer.identity) == timer) {
+					wheel.schedule(timer, toTick(timer.deadlineMillis));
+				}
+			}
+			wheel.advanceTo((clock.getAsLong() - startMillis) / tickMillis, this::onTimeout);
+		} catch (Exception e) {
+			log.error("Failed to advance node expiry wheel", e);
+		}
+	}
+
+	private void onTimeout(ExpiryTimer timer) {
+		long now = clock.getAsLong();
+		boolean[] expired = new boolean[1];
+		ExpiryTimer current = timers.computeIfPresent(timer.identity, (identity, existing) -> {
+			if (existing != timer || timer.deadlineMillis > now) {
+				return existing;
+			}
+			expired[0] = true;
+			return null;
+		});
+		if (expired[0]) {
+			if (nodeRegistry.remove(timer.identity, timer.lastSeen, NodeRemovalCause.EXPIRED)) {
+				expiredNodes.incrementAndGet();
+			}
+		} else if (current == timer) {
+			// refreshed by a ping since it was placed
+			wheel.schedule(timer, toTick(timer.deadlineMillis));
+		}
+	}
+
+	private long toTick(long millis) {
+		return Math.ceilDiv(millis - startMillis, tickMillis);
+	}
+
+	static final class ExpiryTimer extends HierarchicalTimingWheel.Timeout {
+		final Address identity;
+		// written under the map bin lock, read by the wheel thread
+		volatile long deadlineMillis;
+		volatile long lastSeen;
+
+		ExpiryTimer(Address identity) {
+			this.identity = identity;
+		}
+	}
+}
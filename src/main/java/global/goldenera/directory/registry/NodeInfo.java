@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import java.math.BigInteger;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Registry entry. Host and software version are ids into
+ * {@link NodeInternTables}.
+ */
+@Data
+@AllArgsConstructor
+public class NodeInfo {
+	Address nodeIdentity;
+	int p2pListenHostId;
+	int p2pListenPort;
+	Network network;
+	int softwareVersionId;
+	BigInteger totalDifficulty;
+	Hash headHash;
+	long headHeight;
+	long updatedAt;
+	/**
+	 * EWMA of the ping inter-arrival time, {@code 0} until the second ping.
+	 */
+	int pingIntervalMillis;
+	/**
+	 * Epoch seconds of the first ping since the identity (re)joined.
+	 */
+	long firstSeen;
+	int pingCount;
+	/**
+	 * Id of the address the pings arrive from, see {@link NodeInternTables}.
+	 */
+	int sourceIpId;
+	/**
+	 * Signed timestamp of the ping that produced this record; last writer wins
+	 * across directory instances.
+	 */
+	long pingTimestamp;
+}
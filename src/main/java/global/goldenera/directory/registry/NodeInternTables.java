@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Shared interning dictionaries for the low-cardinality string fields of
+ * {@link NodeInfo}. Registry entries hold ids instead of per-ping strings.
+ * {@code Network} needs no table of its own: the enum constant is already a
+ * canonical instance and the off-heap backend stores its ordinal.
+ * <p>
+ * Ownership: whoever builds a {@link NodeInfo} acquires its ids; once handed
+ * to {@link NodeRegistry#put(NodeInfo)} they belong to the registry, which
+ * releases them when the entry is removed. The record displaced by a put is
+ * returned to the caller together with its ids. Acquiring never fails; ids at
+ * or above a table's capacity are spilled, see {@link InternTable}.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeInternTables {
+
+	InternTable hosts;
+	InternTable softwareVersions;
+	InternTable sourceIps;
+
+	public NodeInternTables(PropertiesRegistryConfig registryProperties) {
+		// every entry references exactly one host; leave room for in-flight pings
+		this.hosts = new InternTable(Math.max(1024, registryProperties.getCapacity() * 2));
+		this.softwareVersions = new InternTable(registryProperties.getMaxSoftwareVersions());
+		this.sourceIps = new InternTable(Math.max(1024, registryProperties.getCapacity() * 2));
+	}
+
+	public int acquireHost(String host) {
+		return hosts.acquire(host);
+	}
+
+	public int acquireSoftwareVersion(String softwareVersion) {
+		return softwareVersions.acquire(softwareVersion);
+	}
+
+	public int acquireSourceIp(String sourceIp) {
+		return sourceIps.acquire(sourceIp);
+	}
+
+	public String host(int id) {
+		return hosts.get(id);
+	}
+
+	public String softwareVersion(int id) {
+		return softwareVersions.get(id);
+	}
+
+	/**
+	 * @return id of a registered software version without taking a reference,
+	 *         or {@link InternTable#NO_ID}.
+	 */
+	public int findSoftwareVersion(String softwareVersion) {
+		return softwareVersions.find(softwareVersion);
+	}
+
+	public String sourceIp(int id) {
+		return sourceIps.get(id);
+	}
+
+	public int getSourceIpCapacity() {
+		return sourceIps.getCapacity();
+	}
+
+	/**
+	 * @return number of values stored raw because their table was full.
+	 */
+	public int getSpilledCount() {
+		return hosts.getSpilledCount() + softwareVersions.getSpilledCount() + sourceIps.getSpilledCount();
+	}
+
+	/**
+	 * Releases every id held by the entry.
+	 */
+	public void release(NodeInfo node) {
+		release(node.getP2pListenHostId(), node.getSoftwareVersionId(), node.getSourceIpId());
+	}
+
+	/**
+	 * Releases the given ids; {@link InternTable#NO_ID} is ignored.
+	 */
+	public void release(int hostId, int softwareVersionId, int sourceIpId) {
+		hosts.release(hostId);
+		softwareVersions.release(softwareVersionId);
+		sourceIps.release(sourceIpId);
+	}
+
+	/**
+	 * @return number of registry entries per software version.
+	 */
+	public Map<String, Integer> softwareVersionCounts() {
+		return softwareVersions.counts();
+	}
+}
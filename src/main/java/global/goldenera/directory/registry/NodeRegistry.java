@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import java.util.List;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.exceptions.GEValidationException;
+
+/**
+ * Storage backend for the set of active nodes advertised by the directory.
+ */
+public interface NodeRegistry {
+
+	/**
+	 * Inserts or replaces the record for {@code node.getNodeIdentity()}.
+	 *
+	 * @return the replaced record, whose interned ids the caller must release,
+	 *         or {@code null} for a new identity.
+	 * @throws GEValidationException
+	 *             when the registry has no room left for a new identity.
+	 */
+	default NodeInfo put(NodeInfo node) {
+		return put(node, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Like {@link #put(NodeInfo)}, but keeps a stored record whose ping
+	 * timestamp is after {@code notNewerThan}. The comparison and the write
+	 * are one atomic step, so of two racing pings the newer one stays.
+	 *
+	 * @return the replaced record, {@code null} for a new identity, or the
+	 *         kept record, recognizable by a ping timestamp after
+	 *         {@code notNewerThan}, when nothing was written.
+	 */
+	NodeInfo put(NodeInfo node, long notNewerThan);
+
+	/**
+	 * @return whether {@code previous}, as returned by
+	 *         {@link #put(NodeInfo, long)}, is a newer record that was kept
+	 *         instead of the write.
+	 */
+	static boolean refused(NodeInfo previous, long notNewerThan) {
+		return previous != null && previous.getPingTimestamp() > notNewerThan;
+	}
+
+	/**
+	 * Removes the entry unless it was refreshed after {@code notUpdatedSince}
+	 * (epoch seconds) and publishes a {@link NodeRemovedEvent}.
+	 *
+	 * @return {@code true} when the entry was removed.
+	 */
+	boolean remove(Address nodeIdentity, long notUpdatedSince, NodeRemovalCause cause);
+
+	/**
+	 * @return current record for the identity or {@code null} when unknown.
+	 */
+	NodeInfo get(Address nodeIdentity);
+
+	/**
+	 * @return point-in-time copy of all records, optionally filtered by network.
+	 */
+	List<NodeInfo> snapshot(Network network);
+
+	int size();
+
+	NodeRegistryStats stats();
+}
@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import lombok.Value;
+
+/**
+ * Registry size and per-node cost. The per-node figures cover the whole
+ * stack that grows with the registry (record, expiry timer, endpoint index,
+ * admission counters, intern entries); reachability probing, when enabled,
+ * adds {@link #REACHABILITY_BYTES_PER_NODE} on top.
+ */
+@Value
+public class NodeRegistryStats {
+
+	/*
+	 * The reachability map node and score record, measured with JOL by
+	 * NodeRegistryFootprintTest.
+	 */
+	public static final long REACHABILITY_BYTES_PER_NODE = 80;
+	public static final int REACHABILITY_HEAP_OBJECTS_PER_NODE = 2;
+
+	NodeRegistryBackend backend;
+	int size;
+	int capacity;
+	/**
+	 * Retained bytes per node, including index and slab overhead.
+	 */
+	long bytesPerNode;
+	/**
+	 * Heap objects retained per node (GC tracing cost).
+	 */
+	int heapObjectsPerNode;
+	long offHeapBytes;
+}
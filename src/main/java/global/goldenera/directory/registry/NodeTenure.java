@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import lombok.Value;
+
+/**
+ * The standing an identity has built up, as of its last ping: what
+ * {@link NodeAdmissionPolicy} graduates identities on. Carried across
+ * restarts by the node history and across instances by replicated records,
+ * so established nodes are not newcomers wherever their record shows up.
+ */
+@Value
+public class NodeTenure {
+	/**
+	 * Epoch seconds of the first ping since the identity (re)joined.
+	 */
+	long firstSeen;
+	int pingCount;
+	/**
+	 * Smoothed ping interval, {@code 0} until the second ping.
+	 */
+	int pingIntervalMillis;
+	/**
+	 * Epoch seconds of the last ping.
+	 */
+	long lastSeen;
+}
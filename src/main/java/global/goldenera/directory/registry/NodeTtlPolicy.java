@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Derives each entry's time-to-live from its own ping cadence.
+ * <p>
+ * The cadence is an EWMA of inter-arrival times carried in
+ * {@link NodeInfo#getPingIntervalMillis()}. An entry expires after
+ * {@code multiplier} missed intervals, clamped to the configured bounds.
+ * Until a second ping was seen the entry gets the upper bound, so a node
+ * pinging less often than {@code deleteInactiveNodeAfterSeconds} is still
+ * present when its second ping arrives and yields the first sample. When
+ * adaptive TTL is disabled the global {@code deleteInactiveNodeAfterSeconds}
+ * applies.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class NodeTtlPolicy {
+
+	boolean enabled;
+	double multiplier;
+	double alpha;
+	long minTtlMillis;
+	long maxTtlMillis;
+	long defaultTtlMillis;
+
+	public NodeTtlPolicy(PropertiesRegistryConfig registryProperties, PropertiesGeneralConfig generalProperties) {
+		this.enabled = registryProperties.getAdaptiveTtlEnabled();
+		this.multiplier = registryProperties.getAdaptiveTtlMultiplier();
+		this.alpha = registryProperties.getAdaptiveTtlAlpha();
+		this.minTtlMillis = registryProperties.getAdaptiveTtlMinSeconds() * 1000L;
+		this.maxTtlMillis = registryProperties.getAdaptiveTtlMaxSeconds() * 1000L;
+		this.defaultTtlMillis = generalProperties.getDeleteInactiveNodeAfterSeconds() * 1000L;
+		if (alpha <= 0 || alpha > 1 || multiplier <= 0 || minTtlMillis > maxTtlMillis) {
+			throw new GEFailedException("Invalid adaptive TTL configuration.");
+		}
+	}
+
+	/**
+	 * @param previous
+	 *            record being replaced, or {@code null} for a new identity.
+	 * @param now
+	 *            {@code updatedAt} of the new record (epoch seconds).
+	 * @return smoothed ping interval to store in the new record, {@code 0} while
+	 *         unknown.
+	 */
+	public int nextPingInterval(NodeInfo previous, long now) {
+		if (previous == null) {
+			return 0;
+		}
+		return nextPingInterval(previous.getUpdatedAt(), previous.getPingIntervalMillis(), now);
+	}
+
+	/**
+	 * @param previousUpdatedAt
+	 *            epoch seconds of the previous ping.
+	 * @param previousPingIntervalMillis
+	 *            smoothed interval as of the previous ping, {@code 0} while
+	 *            unknown.
+	 */
+	public int nextPingInterval(long previousUpdatedAt, int previousPingIntervalMillis, long now) {
+		long sample = (now - previousUpdatedAt) * 1000L;
+		if (sample <= 0) {
+			// same-second repeat carries no cadence information
+			return previousPingIntervalMillis;
+		}
+		sample = Math.min(sample, maxTtlMillis);
+		if (previousPingIntervalMillis == 0) {
+			return (int) sample;
+		}
+		return (int) Math.round(alpha * sample + (1 - alpha) * previousPingIntervalMillis);
+	}
+
+	public long ttlMillis(int pingIntervalMillis) {
+		if (!enabled) {
+			return defaultTtlMillis;
+		}
+		if (pingIntervalMillis == 0) {
+			return maxTtlMillis;
+		}
+		long ttl = Math.round(multiplier * pingIntervalMillis);
+		return Math.max(minTtlMillis, Math.min(maxTtlMillis, ttl));
+	}
+}
@@ -0,0 +1,358 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.springframework.context.ApplicationEventPublisher;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.utils.ValidatorUtil;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node registry that packs every record into a fixed-width slot of a single
+ * direct buffer, so the registry itself holds no per-node heap objects. The
+ * expiry timers, endpoint index, admission counters and intern entries still
+ * do, and {@link #stats()} reports them.
+ * <p>
+ * Reads decode a slot into a fresh {@link NodeInfo} with its own Address,
+ * Hash and BigInteger, so lookups and snapshots allocate where the heap
+ * backend hands out the stored record; a refreshing ping allocates about
+ * 1.2 KB against some 320 bytes on the heap backend.
+ * <p>
+ * Identity lookups go through a primitive open-addressing index (linear
+ * probing, backward-shift deletion) that stores {@code slot + 1}. Freed slots
+ * are pushed on a stack and reused before the slab grows into untouched slots.
+ * All mutations happen under the write lock; readers share the read lock.
+ */
+@Slf4j
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class OffHeapNodeRegistry implements NodeRegistry {
+
+	// Slot layout (bytes)
+	static final int HEAD_HEIGHT_OFFSET = 0; // long
+	static final int UPDATED_AT_OFFSET = 8; // long
+	static final int VERSION_ID_OFFSET = 16; // int, software version intern id
+	static final int HOST_ID_OFFSET = 20; // int, p2p host intern id
+	static final int PORT_OFFSET = 24; // unsigned short
+	static final int NETWORK_OFFSET = 26; // byte, Network ordinal
+	static final int FLAGS_OFFSET = 27; // byte
+	static final int IDENTITY_OFFSET = 28; // 20 bytes
+	static final int HEAD_HASH_OFFSET = 48; // 32 bytes
+	static final int DIFFICULTY_OFFSET = 80; // 32 bytes, unsigned big-endian
+	static final int PING_INTERVAL_OFFSET = 112; // int, smoothed millis
+	static final int FIRST_SEEN_OFFSET = 116; // long
+	static final int PING_COUNT_OFFSET = 124; // int
+	static final int SOURCE_IP_ID_OFFSET = 128; // int, source address intern id
+	static final int PING_TIMESTAMP_OFFSET = 132; // long
+	static final int SLOT_SIZE = 140;
+
+	static final int IDENTITY_SIZE = 20;
+	static final int HASH_SIZE = 32;
+	static final int DIFFICULTY_SIZE = 32;
+	static final byte FLAG_USED = 1;
+	/*
+	 * Per-node heap state kept beside the slab, measured with JOL by
+	 * NodeRegistryFootprintTest: the expiry timer with its map node and
+	 * Address key, the endpoint index holder, admission counters and intern
+	 * entries.
+	 */
+	static final long SHARED_HEAP_BYTES_PER_NODE = 515;
+	static final int SHARED_HEAP_OBJECTS_PER_NODE = 17;
+	static final Network[] NETWORKS = Network.values();
+
+	int capacity;
+	ByteBuffer slab;
+	int[] index;
+	int indexMask;
+	int[] freeSlots;
+	NodeInternTables internTables;
+	ApplicationEventPublisher eventPublisher;
+	ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// guarded by lock
+	@NonFinal
+	int freeSlotCount;
+	@NonFinal
+	int highWaterMark;
+	@NonFinal
+	int size;
+
+	public OffHeapNodeRegistry(int capacity, NodeInternTables internTables,
+			ApplicationEventPublisher eventPublisher) {
+		this.capacity = capacity;
+		this.internTables = internTables;
+		this.eventPublisher = eventPublisher;
+		this.slab = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, SLOT_SIZE));
+		// keep the index at most half full so probe sequences stay short
+		int indexSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+		this.index = new int[indexSize];
+		this.indexMask = indexSize - 1;
+		this.freeSlots = new int[capacity];
+		log.info("Off-heap node registry allocated {} bytes for {} nodes", slab.capacity(), capacity);
+	}
+
+	@Override
+	public NodeInfo put(NodeInfo node, long notNewerThan) {
+		// the slot stores the port as an unsigned short
+		if (!ValidatorUtil.PortValidator.isValid(node.getP2pListenPort())) {
+			throw new IllegalArgumentException("P2P listen port out of range: " + node.getP2pListenPort());
+		}
+		byte[] identity = node.getNodeIdentity().toArrayUnsafe();
+		byte[] headHash = node.getHeadHash().toArrayUnsafe();
+		byte[] difficulty = toFixedWidth(node.getTotalDifficulty());
+		lock.writeLock().lock();
+		try {
+			int position = findIndexPosition(identity);
+			int slot;
+			NodeInfo previous = null;
+			if (index[position] != 0) {
+				slot = index[position] - 1;
+				previous = readSlot(slot);
+				if (previous.getPingTimestamp() > notNewerThan) {
+					return previous;
+				}
+			} else {
+				slot = allocateSlot();
+				if (slot < 0) {
+					throw new GEValidationException("Node registry is full.");
+				}
+				index[position] = slot + 1;
+				size++;
+			}
+			int base = slot * SLOT_SIZE;
+			slab.putLong(base + HEAD_HEIGHT_OFFSET, node.getHeadHeight());
+			slab.putLong(base + UPDATED_AT_OFFSET, node.getUpdatedAt());
+			slab.putInt(base + VERSION_ID_OFFSET, node.getSoftwareVersionId());
+			slab.putInt(base + HOST_ID_OFFSET, node.getP2pListenHostId());
+			slab.putChar(base + PORT_OFFSET, (char) node.getP2pListenPort());
+			slab.put(base + NETWORK_OFFSET, (byte) node.getNetwork().ordinal());
+			slab.put(base + FLAGS_OFFSET, FLAG_USED);
+			slab.put(base + IDENTITY_OFFSET, identity);
+			slab.put(base + HEAD_HASH_OFFSET, headHash);
+			slab.put(base + DIFFICULTY_OFFSET, difficulty);
+			slab.putInt(base + PING_INTERVAL_OFFSET, node.getPingIntervalMillis());
+			slab.putLong(base + FIRST_SEEN_OFFSET, node.getFirstSeen());
+			slab.putInt(base + PING_COUNT_OFFSET, node.getPingCount());
+			slab.putInt(base + SOURCE_IP_ID_OFFSET, node.getSourceIpId());
+			slab.putLong(base + PING_TIMESTAMP_OFFSET, node.getPingTimestamp());
+			return previous;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Address nodeIdentity, long notUpdatedSince, NodeRemovalCause cause) {
+		byte[] identity = nodeIdentity.toArrayUnsafe();
+		NodeInfo removed;
+		lock.writeLock().lock();
+		try {
+			int position = findIndexPosition(identity);
+			if (index[position] == 0) {
+				return false;
+			}
+			int slot = index[position] - 1;
+			if (slab.getLong(slot * SLOT_SIZE + UPDATED_AT_OFFSET) > notUpdatedSince) {
+				return false;
+			}
+			removed = readSlot(slot);
+			removeFromIndex(position);
+			slab.put(slot * SLOT_SIZE + FLAGS_OFFSET, (byte) 0);
+			freeSlots[freeSlotCount++] = slot;
+			size--;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		// listeners see the interned ids still resolvable
+		eventPublisher.publishEvent(new NodeRemovedEvent(removed, cause));
+		internTables.release(removed);
+		return true;
+	}
+
+	@Override
+	public NodeInfo get(Address nodeIdentity) {
+		byte[] identity = nodeIdentity.toArrayUnsafe();
+		lock.readLock().lock();
+		try {
+			int position = findIndexPosition(identity);
+			return index[position] == 0 ? null : readSlot(index[position] - 1);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<NodeInfo> snapshot(Network network) {
+		lock.readLock().lock();
+		try {
+			List<NodeInfo> nodes = new ArrayList<>(size);
+			for (int slot = 0; slot < highWaterMark; slot++) {
+				int base = slot * SLOT_SIZE;
+				if (slab.get(base + FLAGS_OFFSET) != FLAG_USED) {
+					continue;
+				}
+				if (network != null && slab.get(base + NETWORK_OFFSET) != network.ordinal()) {
+					continue;
+				}
+				nodes.add(readSlot(slot));
+			}
+			return nodes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public NodeRegistryStats stats() {
+		long indexBytesPerNode = (long) index.length * Integer.BYTES / Math.max(1, capacity);
+		return new NodeRegistryStats(NodeRegistryBackend.OFF_HEAP, size(), capacity,
+				SLOT_SIZE + indexBytesPerNode + Integer.BYTES + SHARED_HEAP_BYTES_PER_NODE, SHARED_HEAP_OBJECTS_PER_NODE,
+				slab.capacity());
+	}
+
+	private NodeInfo readSlot(int slot) {
+		int base = slot * SLOT_SIZE;
+		// identity, head hash and difficulty are adjacent, copy them in one go and
+		// let the value types share the array
+		byte[] fields = new byte[IDENTITY_SIZE + HASH_SIZE + DIFFICULTY_SIZE];
+		slab.get(base + IDENTITY_OFFSET, fields);
+		return new NodeInfo(
+				Address.wrap(Bytes.wrap(fields, 0, IDENTITY_SIZE)),
+				slab.getInt(base + HOST_ID_OFFSET),
+				slab.getChar(base + PORT_OFFSET),
+				NETWORKS[slab.get(base + NETWORK_OFFSET)],
+				slab.getInt(base + VERSION_ID_OFFSET),
+				new BigInteger(1, fields, IDENTITY_SIZE + HASH_SIZE, DIFFICULTY_SIZE),
+				Hash.wrap(Bytes32.wrap(fields, IDENTITY_SIZE)),
+				slab.getLong(base + HEAD_HEIGHT_OFFSET),
+				slab.getLong(base + UPDATED_AT_OFFSET),
+				slab.getInt(base + PING_INTERVAL_OFFSET),
+				slab.getLong(base + FIRST_SEEN_OFFSET),
+				slab.getInt(base + PING_COUNT_OFFSET),
+				slab.getInt(base + SOURCE_IP_ID_OFFSET),
+				slab.getLong(base + PING_TIMESTAMP_OFFSET));
+	}
+
+	private int allocateSlot() {
+		if (freeSlotCount > 0) {
+			return freeSlots[--freeSlotCount];
+		}
+		if (highWaterMark < capacity) {
+			return highWaterMark++;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return index position holding the identity, or the empty position where it
+	 *         would be inserted.
+	 */
+	private int findIndexPosition(byte[] identity) {
+		int position = hash(identity) & indexMask;
+		while (true) {
+			int entry = index[position];
+			if (entry == 0 || identityEquals(entry - 1, identity)) {
+				return position;
+			}
+			position = (position + 1) & indexMask;
+		}
+	}
+
+	private void removeFromIndex(int position) {
+		// backward-shift deletion keeps every remaining probe chain unbroken
+		int hole = position;
+		int next = (hole + 1) & indexMask;
+		while (index[next] != 0) {
+			int home = hashOfSlot(index[next] - 1) & indexMask;
+			if (((next - home) & indexMask) >= ((next - hole) & indexMask)) {
+				index[hole] = index[next];
+				hole = next;
+			}
+			next = (next + 1) & indexMask;
+		}
+		index[hole] = 0;
+	}
+
+	private boolean identityEquals(int slot, byte[] identity) {
+		int base = slot * SLOT_SIZE + IDENTITY_OFFSET;
+		for (int i = 0; i < IDENTITY_SIZE; i++) {
+			if (slab.get(base + i) != identity[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int hashOfSlot(int slot) {
+		return mix(slab.getLong(slot * SLOT_SIZE + IDENTITY_OFFSET));
+	}
+
+	private static int hash(byte[] identity) {
+		return mix(ByteBuffer.wrap(identity).getLong(0));
+	}
+
+	private static int mix(long value) {
+		// identities are hash derived, a cheap finalizer is enough to spread them
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		return (int) value;
+	}
+
+	private static byte[] toFixedWidth(BigInteger value) {
+		if (value.signum() < 0 || value.bitLength() > DIFFICULTY_SIZE * Byte.SIZE) {
+			throw new GEValidationException("Total difficulty out of range.");
+		}
+		byte[] raw = value.toByteArray();
+		byte[] fixed = new byte[DIFFICULTY_SIZE];
+		int length = Math.min(raw.length, DIFFICULTY_SIZE);
+		System.arraycopy(raw, raw.length - length, fixed, DIFFICULTY_SIZE - length, length);
+		return fixed;
+	}
+}
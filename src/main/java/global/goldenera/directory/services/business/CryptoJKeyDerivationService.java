@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.web3j.crypto.Bip32ECKeyPair;
+import org.web3j.crypto.MnemonicUtils;
+import org.web3j.utils.Numeric;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJDeriveKeysInDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJDerivedKeyDtoV1;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.RouteFamily;
+import jakarta.annotation.PreDestroy;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Derives many BIP-32 child keys from one mnemonic.
+ * <p>
+ * The seed and the parent key at {@code basePath} are derived once, on the
+ * request thread, so invalid input fails before the response starts. Children
+ * are then derived in chunks on a fixed pool of {@code deriveThreads} and
+ * streamed as NDJSON in index order; only one chunk is held in memory.
+ * <p>
+ * The request pays the generate-keys cost for the first chunk; every further
+ * chunk is charged the family's batch item cost before anything is derived,
+ * so a request costs what the same keys fetched {@value #CHUNK_SIZE} at a
+ * time would.
+ */
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CryptoJKeyDerivationService {
+
+	// about one generate-keys cost of work, so a chunk is priced like a key
+	static final int CHUNK_SIZE = 32;
+	// non-hardened child indexes are below 2^31
+	static final long CHILD_INDEX_LIMIT = 1L << 31;
+	static final byte[] NEWLINE = { '\n' };
+
+	ObjectMapper objectMapper;
+	AddressRateLimiter addressRateLimiter;
+	int maxKeys;
+	ExecutorService deriveExecutor;
+
+	public CryptoJKeyDerivationService(PropertiesCryptoJConfig cryptoJProperties, ObjectMapper objectMapper,
+			AddressRateLimiter addressRateLimiter) {
+		this.objectMapper = objectMapper;
+		this.addressRateLimiter = addressRateLimiter;
+		this.maxKeys = cryptoJProperties.getDeriveMaxKeys();
+		int threads = cryptoJProperties.getDeriveThreads() > 0 ? cryptoJProperties.getDeriveThreads()
+				: Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.deriveExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "cryptoj-derive-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @throws GEValidationException
+	 *             for an invalid mnemonic, path or index range, or more keys
+	 *             than the generate-keys budget can ever pay for.
+	 * @throws GETooManyRequestsException
+	 *             when {@code sourceIp} cannot pay for the chunks now.
+	 */
+	public StreamingResponseBody deriveKeys(CryptoJDeriveKeysInDto input, String sourceIp) {
+		int fromIndex = input.getFromIndex() == null ? 0 : input.getFromIndex();
+		int count = input.getCount();
+		long budgetMaxKeys = (long) addressRateLimiter.maxBatchItems(RouteFamily.GENERATE_KEYS) * CHUNK_SIZE;
+		if (count <= 0 || count > Math.min(maxKeys, budgetMaxKeys)) {
+			throw new GEValidationException(budgetMaxKeys < maxKeys
+					? "Count must be between 1 and " + budgetMaxKeys + ", the most the "
+							+ RouteFamily.GENERATE_KEYS.getConfigName() + " budget allows."
+					: "Count must be between 1 and " + maxKeys + ".");
+		}
+		if (fromIndex < 0 || (long) fromIndex + count > CHILD_INDEX_LIMIT) {
+			throw new GEValidationException("Child indexes must be below " + CHILD_INDEX_LIMIT + ".");
+		}
+		String basePath = input.getBasePath().trim();
+		int[] path = parsePath(basePath);
+		if (!MnemonicUtils.validateMnemonic(input.getMnemonic())) {
+			throw new GEValidationException("Invalid mnemonic.");
+		}
+		int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		if (chunks > 1 && !addressRateLimiter.tryAcquireBatchItems(sourceIp, RouteFamily.GENERATE_KEYS, chunks - 1)) {
+			throw new GETooManyRequestsException("Too many keys requested.");
+		}
+		byte[] seed = MnemonicUtils.generateSeed(input.getMnemonic(), input.getPassphrase());
+		Bip32ECKeyPair parent;
+		try {
+			parent = Bip32ECKeyPair.deriveKeyPair(Bip32ECKeyPair.generateKeyPair(seed), path);
+		} finally {
+			Arrays.fill(seed, (byte) 0);
+		}
+		return out -> stream(parent, basePath, fromIndex, count, out);
+	}
+
+	@PreDestroy
+	public void close() {
+		deriveExecutor.shutdownNow();
+	}
+
+	private void stream(Bip32ECKeyPair parent, String basePath, int fromIndex, int count, OutputStream out)
+			throws IOException {
+		List<CompletableFuture<CryptoJDerivedKeyDtoV1>> chunk = new ArrayList<>(CHUNK_SIZE);
+		for (int start = 0; start < count; start += CHUNK_SIZE) {
+			chunk.clear();
+			for (int offset = start; offset < Math.min(count, start + CHUNK_SIZE); offset++) {
+				int index = fromIndex + offset;
+				chunk.add(CompletableFuture.supplyAsync(() -> derive(parent, basePath, index), deriveExecutor));
+			}
+			for (CompletableFuture<CryptoJDerivedKeyDtoV1> key : chunk) {
+				out.write(objectMapper.writeValueAsBytes(key.join()));
+				out.write(NEWLINE);
+			}
+			out.flush();
+		}
+	}
+
+	private static CryptoJDerivedKeyDtoV1 derive(Bip32ECKeyPair parent, String basePath, int index) {
+		Bip32ECKeyPair child = Bip32ECKeyPair.deriveKeyPair(parent, new int[] { index });
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.wrap(Numeric.toBytesPadded(child.getPrivateKey(), 32)));
+		return new CryptoJDerivedKeyDtoV1(index, basePath + "/" + index, privateKey.toHexString(),
+				privateKey.getAddress().toChecksumAddress());
+	}
+
+	/**
+	 * Parses {@code m/44'/60'/0'/0}; {@code '} or {@code h} marks a hardened
+	 * level.
+	 */
+	private static int[] parsePath(String basePath) {
+		String[] levels = basePath.split("/");
+		if (!levels[0].equals("m")) {
+			throw new GEValidationException("Derivation path must start with 'm'.");
+		}
+		int[] path = new int[levels.length - 1];
+		for (int i = 1; i < levels.length; i++) {
+			String level = levels[i];
+			boolean hardened = level.endsWith("'") || level.endsWith("h");
+			try {
+				int index = Integer.parseInt(hardened ? level.substring(0, level.length() - 1) : level);
+				if (index < 0) {
+					throw new NumberFormatException();
+				}
+				path[i - 1] = hardened ? index | Bip32ECKeyPair.HARDENED_BIT : index;
+			} catch (NumberFormatException e) {
+				throw new GEValidationException("Invalid derivation path level '" + level + "'.");
+			}
+		}
+		return path;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.exceptions.CryptoJException;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJKeysDtoV1;
+import global.goldenera.directory.exceptions.GERuntimeException;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps freshly generated key material ready for {@code generate-keys}, so
+ * requests do not pay for the deliberately slow seed derivation.
+ * <p>
+ * A background thread tops the pool up to {@code keyPoolSize} entries, at
+ * most {@code keyPoolRefillPerSecond} per second. Every entry is removed from
+ * the pool when handed out, so it is never served twice; an empty pool falls
+ * back to generating on the request thread. The pool is dropped on shutdown.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CryptoJKeyPoolService {
+
+	BlockingQueue<CryptoJKeysDtoV1> pool;
+	AtomicLong misses = new AtomicLong();
+	ScheduledExecutorService refiller;
+
+	public CryptoJKeyPoolService(PropertiesCryptoJConfig cryptoJProperties) {
+		if (cryptoJProperties.getKeyPoolSize() <= 0 || cryptoJProperties.getKeyPoolRefillPerSecond() <= 0) {
+			this.pool = null;
+			this.refiller = null;
+			return;
+		}
+		this.pool = new ArrayBlockingQueue<>(cryptoJProperties.getKeyPoolSize());
+		this.refiller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "key-pool-refill");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalMicros = Math.max(1,
+				TimeUnit.SECONDS.toMicros(1) / cryptoJProperties.getKeyPoolRefillPerSecond());
+		refiller.scheduleWithFixedDelay(this::refillSafely, 0, intervalMicros, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * @return key material no other caller received.
+	 */
+	public CryptoJKeysDtoV1 take() {
+		CryptoJKeysDtoV1 keys = pool == null ? null : pool.poll();
+		if (keys != null) {
+			return keys;
+		}
+		if (pool != null) {
+			misses.incrementAndGet();
+		}
+		return generate();
+	}
+
+	public int getAvailable() {
+		return pool == null ? 0 : pool.size();
+	}
+
+	/**
+	 * @return requests served while the pool was empty.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (refiller != null) {
+			refiller.shutdownNow();
+			pool.clear();
+		}
+	}
+
+	private void refillSafely() {
+		try {
+			if (pool.remainingCapacity() > 0) {
+				pool.offer(generate());
+			}
+		} catch (Exception e) {
+			log.warn("Failed to generate pooled keys: {}", e.getMessage());
+		}
+	}
+
+	private static CryptoJKeysDtoV1 generate() {
+		String mnemonic = PrivateKey.generateMnemonic();
+		try {
+			PrivateKey privateKey = PrivateKey.load(mnemonic, null);
+			return new CryptoJKeysDtoV1(mnemonic, privateKey.toHexString(),
+					privateKey.getAddress().toChecksumAddress());
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,774 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import global.goldenera.cryptoj.builder.TxBuilder;
+import global.goldenera.cryptoj.builder.payloads.BipVoteBuilder;
+import global.goldenera.cryptoj.common.Tx;
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.BipVoteType;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.cryptoj.enums.TxType;
+import global.goldenera.cryptoj.exceptions.CryptoJException;
+import global.goldenera.cryptoj.serialization.tx.TxDecoder;
+import global.goldenera.cryptoj.serialization.tx.TxEncoder;
+import global.goldenera.cryptoj.utils.Amounts;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchItemDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchItemResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipAddressAliasAddDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipAddressAliasRemoveDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipAddressAuthorityAddRemoveDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipAddressValidatorAddRemoveDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipNetworkParamsSetDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipTokenBurnDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipTokenCreateDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipTokenMintDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipTokenUpdateDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInBipVoteDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInTransfer;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxVerifyBatchResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxVerifyResultDto;
+import global.goldenera.directory.exceptions.GERuntimeException;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.RouteFamily;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Builds, signs and encodes transactions for the {@code generate-tx}
+ * endpoints and verifies raw ones for {@code verify-tx}.
+ * <p>
+ * A batch may mix every transaction type; its items are built in parallel on
+ * a fixed pool of {@code batchThreads} and answered in input order, each with
+ * either the encoded transaction or its own error. Verification batches run
+ * on the same pool.
+ */
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CryptoJTxService {
+
+	/**
+	 * Batch item types, named like the single-transaction endpoints below
+	 * {@code generate-tx/}.
+	 */
+	static final Map<String, TxKind<?>> TX_KINDS = Map.ofEntries(
+			kind("transfer", CryptoJTxInTransfer.class, CryptoJTxService::generateTxTransfer),
+			kind("bip/address-alias/add", CryptoJTxInBipAddressAliasAddDto.class,
+					CryptoJTxService::generateTxBipAddressAliasAdd),
+			kind("bip/address-alias/remove", CryptoJTxInBipAddressAliasRemoveDto.class,
+					CryptoJTxService::generateTxBipAddressAliasRemove),
+			kind("bip/authority/add", CryptoJTxInBipAddressAuthorityAddRemoveDto.class,
+					CryptoJTxService::generateTxBipAuthorityAdd),
+			kind("bip/authority/remove", CryptoJTxInBipAddressAuthorityAddRemoveDto.class,
+					CryptoJTxService::generateTxBipAuthorityRemove),
+			kind("bip/validator/add", CryptoJTxInBipAddressValidatorAddRemoveDto.class,
+					CryptoJTxService::generateTxBipValidatorAdd),
+			kind("bip/validator/remove", CryptoJTxInBipAddressValidatorAddRemoveDto.class,
+					CryptoJTxService::generateTxBipValidatorRemove),
+			kind("bip/network-params/set", CryptoJTxInBipNetworkParamsSetDto.class,
+					CryptoJTxService::generateTxBipNetworkParamsSet),
+			kind("bip/token/create", CryptoJTxInBipTokenCreateDto.class, CryptoJTxService::generateTxBipTokenCreate),
+			kind("bip/token/update", CryptoJTxInBipTokenUpdateDto.class, CryptoJTxService::generateTxBipTokenUpdate),
+			kind("bip/token/mint", CryptoJTxInBipTokenMintDto.class, CryptoJTxService::generateTxBipTokenMint),
+			kind("bip/token/burn", CryptoJTxInBipTokenBurnDto.class, CryptoJTxService::generateTxBipTokenBurn),
+			kind("bip/vote", CryptoJTxInBipVoteDto.class, CryptoJTxService::generateTxBipVote));
+
+	ObjectMapper objectMapper;
+	AddressRateLimiter addressRateLimiter;
+	int batchMaxItems;
+	ExecutorService batchExecutor;
+
+	public CryptoJTxService(PropertiesCryptoJConfig cryptoJProperties, ObjectMapper objectMapper,
+			AddressRateLimiter addressRateLimiter) {
+		this.objectMapper = objectMapper;
+		this.addressRateLimiter = addressRateLimiter;
+		this.batchMaxItems = cryptoJProperties.getBatchMaxItems();
+		int threads = cryptoJProperties.getBatchThreads() > 0 ? cryptoJProperties.getBatchThreads()
+				: Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.batchExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "cryptoj-tx-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public CryptoJTxDto generateTxTransfer(CryptoJTxInTransfer input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei amount = Amounts.tokensWithDecimals(input.getAmount(),
+				input.getTokenDecimals() == null ? Amounts.STANDARD_DECIMALS
+						: input.getTokenDecimals());
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Address tokenAddress = input.getTokenAddress() == null ? Address.NATIVE_TOKEN
+				: Address.fromHexString(input.getTokenAddress());
+		Address recipientAddress = Address.fromHexString(input.getRecipientAddress());
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		try {
+			Tx transferTx = signTransfer(network, privateKey, tokenAddress, recipientAddress, amount, fee, nonce,
+					message);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(transferTx, true).toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Transfer signing shared with transfer templates and the offline corpus
+	 * generator.
+	 */
+	public static Tx signTransfer(Network network, PrivateKey privateKey, Address tokenAddress,
+			Address recipientAddress, Wei amount, Wei fee, Long nonce, Bytes message) throws CryptoJException {
+		return TxBuilder.create()
+				.type(TxType.TRANSFER)
+				.network(network)
+				.recipient(recipientAddress)
+				.tokenAddress(tokenAddress)
+				.amount(amount)
+				.fee(fee)
+				.nonce(nonce)
+				.message(message)
+				.sign(privateKey);
+	}
+
+	public CryptoJTxDto generateTxBipAddressAliasAdd(CryptoJTxInBipAddressAliasAddDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Address address = Address.fromHexString(input.getAddress());
+		String alias = input.getAlias();
+
+		try {
+			Tx addressAliasAddTx = TxBuilder.create()
+					.addAddressAlias()
+					.address(address)
+					.alias(alias)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(addressAliasAddTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipAddressAliasRemove(CryptoJTxInBipAddressAliasRemoveDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+		String alias = input.getAlias();
+
+		try {
+			Tx addressAliasRemoveTx = TxBuilder.create()
+					.removeAddressAlias()
+					.alias(alias)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(addressAliasRemoveTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipAuthorityAdd(CryptoJTxInBipAddressAuthorityAddRemoveDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+		Address address = Address.fromHexString(input.getAddress());
+
+		try {
+			Tx authorityAddTx = TxBuilder.create()
+					.addAuthority()
+					.authority(address)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(authorityAddTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipAuthorityRemove(CryptoJTxInBipAddressAuthorityAddRemoveDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+		Address address = Address.fromHexString(input.getAddress());
+
+		try {
+			Tx authorityRemoveTx = TxBuilder.create()
+					.removeAuthority()
+					.authority(address)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(authorityRemoveTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipValidatorAdd(CryptoJTxInBipAddressValidatorAddRemoveDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+		Address address = Address.fromHexString(input.getAddress());
+
+		try {
+			Tx validatorAddTx = TxBuilder.create()
+					.addValidator()
+					.validator(address)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(validatorAddTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipValidatorRemove(CryptoJTxInBipAddressValidatorAddRemoveDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+		Address address = Address.fromHexString(input.getAddress());
+
+		try {
+			Tx validatorRemoveTx = TxBuilder.create()
+					.removeValidator()
+					.validator(address)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(validatorRemoveTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipNetworkParamsSet(CryptoJTxInBipNetworkParamsSetDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Wei blockReward = input.getBlockReward() == null ? null
+				: Amounts.tokensWithDecimals(input.getBlockReward(), Amounts.STANDARD_DECIMALS);
+		Address blockRewardPoolAddress = input.getBlockRewardPoolAddress() == null ? null
+				: Address.fromHexString(input.getBlockRewardPoolAddress());
+		Long targetMiningTimeMs = input.getTargetMiningTimeMs();
+		Long asertHalfLifeBlocks = input.getAsertHalfLifeBlocks();
+		BigInteger minDifficulty = input.getMinDifficulty() == null ? null
+				: new BigInteger(input.getMinDifficulty());
+		Wei minTxBaseFee = input.getMinTxBaseFee() == null ? null
+				: Amounts.tokensWithDecimals(input.getMinTxBaseFee(), Amounts.STANDARD_DECIMALS);
+		Wei minTxByteFee = input.getMinTxByteFee() == null ? null
+				: Amounts.tokensWithDecimals(input.getMinTxByteFee(), Amounts.STANDARD_DECIMALS);
+
+		try {
+			Tx networkParamsSetTx = TxBuilder.create()
+					.setNetworkParams()
+					.blockReward(blockReward)
+					.blockRewardPoolAddress(blockRewardPoolAddress)
+					.targetMiningTime(targetMiningTimeMs)
+					.asertHalfLife(asertHalfLifeBlocks)
+					.minDifficulty(minDifficulty)
+					.minTxBaseFee(minTxBaseFee)
+					.minTxByteFee(minTxByteFee)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(networkParamsSetTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipTokenCreate(CryptoJTxInBipTokenCreateDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		String name = input.getName();
+		String smallestUnitName = input.getSmallestUnitName();
+		int numberOfDecimals = input.getNumberOfDecimals();
+		String websiteUrl = input.getWebsiteUrl();
+		String logoUrl = input.getLogoUrl();
+		BigInteger maxSupply = input.getMaxSupply() == null ? null
+				: Amounts.tokensWithDecimals(input.getMaxSupply(), numberOfDecimals).toBigInteger();
+		boolean userBurnable = input.isUserBurnable();
+
+		try {
+			Tx tokenCreateTx = TxBuilder.create()
+					.tokenCreate()
+					.name(name)
+					.symbol(smallestUnitName)
+					.decimals(numberOfDecimals)
+					.website(websiteUrl)
+					.logo(logoUrl)
+					.maxSupply(maxSupply)
+					.userBurnable(userBurnable)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(tokenCreateTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipTokenUpdate(CryptoJTxInBipTokenUpdateDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Address address = Address.fromHexString(input.getTokenAddress());
+		String name = input.getName();
+		String smallestUnitName = input.getSmallestUnitName();
+		String websiteUrl = input.getWebsiteUrl();
+		String logoUrl = input.getLogoUrl();
+
+		try {
+			Tx tokenUpdateTx = TxBuilder.create()
+					.tokenUpdate()
+					.token(address)
+					.name(name)
+					.symbol(smallestUnitName)
+					.website(websiteUrl)
+					.logo(logoUrl)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(tokenUpdateTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipTokenMint(CryptoJTxInBipTokenMintDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Address tokenAddress = input.getTokenAddress() == null ? Address.NATIVE_TOKEN
+				: Address.fromHexString(input.getTokenAddress());
+		Integer tokenNumberOfDecimals = input.getTokenNumberOfDecimals() == null ? Amounts.STANDARD_DECIMALS
+				: input.getTokenNumberOfDecimals();
+		Address recipient = Address.fromHexString(input.getRecipient());
+		Wei amount = Amounts.tokensWithDecimals(input.getAmount(), tokenNumberOfDecimals);
+
+		try {
+			Tx tokenMintTx = TxBuilder.create()
+					.tokenMint()
+					.token(tokenAddress)
+					.recipient(recipient)
+					.amount(amount)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(tokenMintTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipTokenBurn(CryptoJTxInBipTokenBurnDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Address tokenAddress = input.getTokenAddress() == null ? Address.NATIVE_TOKEN
+				: Address.fromHexString(input.getTokenAddress());
+		Integer tokenNumberOfDecimals = input.getTokenNumberOfDecimals() == null ? Amounts.STANDARD_DECIMALS
+				: input.getTokenNumberOfDecimals();
+		Address sender = Address.fromHexString(input.getSender());
+		Wei amount = Amounts.tokensWithDecimals(input.getAmount(), tokenNumberOfDecimals);
+
+		try {
+			Tx tokenBurnTx = TxBuilder.create()
+					.tokenBurn()
+					.token(tokenAddress)
+					.from(sender)
+					.amount(amount)
+					.done()
+					.network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(tokenBurnTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	public CryptoJTxDto generateTxBipVote(CryptoJTxInBipVoteDto input) {
+		Network network = input.getNetwork();
+		PrivateKey privateKey = PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex()));
+		Wei fee = Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS);
+		Long nonce = input.getNonce();
+		Bytes message = input.getMessage() == null ? null
+				: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8));
+
+		Hash referenceHash = Hash.fromHexString(input.getReferenceHash());
+		BipVoteType bipVoteType = input.getBipVoteType();
+
+		try {
+			BipVoteBuilder bipVoteTxBuilder = TxBuilder.create()
+					.vote();
+
+			if (bipVoteType == BipVoteType.APPROVAL) {
+				bipVoteTxBuilder = bipVoteTxBuilder.approve(referenceHash);
+			} else {
+				bipVoteTxBuilder = bipVoteTxBuilder.disapprove(referenceHash);
+			}
+
+			Tx bipVoteTx = bipVoteTxBuilder.done().network(network)
+					.nonce(nonce)
+					.fee(fee)
+					.message(message)
+					.sign(privateKey);
+			return CryptoJTxDto.builder()
+					.rawTxDataInHex(TxEncoder.INSTANCE.encode(bipVoteTx, true)
+							.toHexString())
+					.build();
+		} catch (CryptoJException e) {
+			throw new GERuntimeException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Builds every item of a batch. The throttling filter charged the request
+	 * one transaction; the others are charged here at the batch item cost,
+	 * before any signing.
+	 *
+	 * @return one result per item, in input order.
+	 * @throws GETooManyRequestsException
+	 *             when {@code sourceIp} has no budget left for the whole batch.
+	 */
+	public CryptoJTxBatchResultDto generateTxBatch(List<CryptoJTxBatchItemDto> items, String sourceIp) {
+		return generateInParallel(items, sourceIp, this::generateTx);
+	}
+
+	/**
+	 * Runs {@code generator} for every item on the batch pool, charging each
+	 * item beyond the first to {@code sourceIp}'s generate-tx budget at the
+	 * batch item cost.
+	 *
+	 * @return one result per item, in input order.
+	 */
+	public <T> CryptoJTxBatchResultDto generateInParallel(List<T> items, String sourceIp,
+			Function<T, CryptoJTxDto> generator) {
+		List<CryptoJTxBatchItemResultDto> results = runInParallel(items, sourceIp, RouteFamily.GENERATE_TX,
+				item -> CryptoJTxBatchItemResultDto.builder()
+						.rawTxDataInHex(generator.apply(item).getRawTxDataInHex())
+						.build(),
+				e -> CryptoJTxBatchItemResultDto.builder().error(errorOf(e)).build());
+		return CryptoJTxBatchResultDto.builder().results(results).build();
+	}
+
+	/**
+	 * Decodes raw signed transactions and verifies their signatures in
+	 * parallel. An item is valid when it decodes, re-encodes to the same bytes,
+	 * its signature recovers a sender, and it is for {@code network} and
+	 * recovers {@code sender} when those are given.
+	 * <p>
+	 * The sender is the one {@code TxDecoder} recovers, so the signing digest is
+	 * cryptoj's own and is not recomputed here. A signature always recovers
+	 * some key; only an expected sender tells a tampered transaction from one
+	 * signed by somebody else.
+	 */
+	public CryptoJTxVerifyBatchResultDto verifyTxBatch(List<String> rawTxs, Network network, String sender,
+			String sourceIp) {
+		Address expectedSender;
+		try {
+			expectedSender = sender == null ? null : Address.fromHexString(sender);
+		} catch (IllegalArgumentException e) {
+			throw new GEValidationException("Invalid sender: " + e.getMessage());
+		}
+		List<CryptoJTxVerifyResultDto> results = runInParallel(rawTxs, sourceIp, RouteFamily.VERIFY_TX,
+				rawTx -> verifyTx(rawTx, network, expectedSender),
+				e -> CryptoJTxVerifyResultDto.builder().valid(false).error(errorOf(e)).build());
+		return CryptoJTxVerifyBatchResultDto.builder().results(results).build();
+	}
+
+	@PreDestroy
+	public void close() {
+		batchExecutor.shutdownNow();
+	}
+
+	/**
+	 * Runs {@code task} for every item on the batch pool; items beyond the first
+	 * are charged to {@code family} here, the first one was charged by the
+	 * throttling filter.
+	 * <p>
+	 * A batch holds at most {@code batchMaxItems} items and at most as many as
+	 * the family's budget can ever pay for; a larger one is refused as invalid
+	 * rather than throttled, since waiting would not help.
+	 */
+	private <T, R> List<R> runInParallel(List<T> items, String sourceIp, RouteFamily family, Function<T, R> task,
+			Function<Throwable, R> onError) {
+		if (items == null || items.isEmpty()) {
+			throw new GEValidationException("Batch contains no transactions.");
+		}
+		int budgetMaxItems = addressRateLimiter.maxBatchItems(family);
+		if (items.size() > Math.min(batchMaxItems, budgetMaxItems)) {
+			throw new GEValidationException(budgetMaxItems < batchMaxItems
+					? "Batch exceeds " + budgetMaxItems + " transactions, the most the " + family.getConfigName()
+							+ " budget allows."
+					: "Batch exceeds " + batchMaxItems + " transactions.");
+		}
+		if (items.size() > 1 && !addressRateLimiter.tryAcquireBatchItems(sourceIp, family, items.size() - 1)) {
+			throw new GETooManyRequestsException("Too many transactions requested.");
+		}
+		List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+		for (T item : items) {
+			futures.add(CompletableFuture.supplyAsync(() -> task.apply(item), batchExecutor));
+		}
+		List<R> results = new ArrayList<>(items.size());
+		for (CompletableFuture<R> future : futures) {
+			try {
+				results.add(future.join());
+			} catch (CompletionException e) {
+				results.add(onError.apply(e.getCause()));
+			}
+		}
+		return results;
+	}
+
+	private static CryptoJTxVerifyResultDto verifyTx(String rawTx, Network network, Address expectedSender) {
+		if (rawTx == null) {
+			throw new GEValidationException("Missing raw transaction.");
+		}
+		Bytes raw = Bytes.fromHexString(rawTx);
+		try {
+			Tx tx = decode(raw);
+			CryptoJTxVerifyResultDto.CryptoJTxVerifyResultDtoBuilder result = CryptoJTxVerifyResultDto.builder()
+					.valid(false)
+					.txHash(tx.getHash().toHexString())
+					.tx(tx);
+			if (tx.getSender() != null) {
+				result.sender(tx.getSender().toChecksumAddress());
+			}
+			String error = signatureError(tx, raw, expectedSender);
+			if (error == null && network != null && network != tx.getNetwork()) {
+				error = "Transaction is for network " + tx.getNetwork() + ".";
+			}
+			return result.valid(error == null).error(error).build();
+		} catch (CryptoJException e) {
+			throw new GEValidationException("Undecodable transaction: " + e.getMessage());
+		}
+	}
+
+	private static Tx decode(Bytes raw) throws CryptoJException {
+		return TxDecoder.INSTANCE.decode(raw);
+	}
+
+	/**
+	 * @return why {@code tx}'s signature is not acceptable, or {@code null}.
+	 */
+	private static String signatureError(Tx tx, Bytes raw, Address expectedSender) throws CryptoJException {
+		if (!TxEncoder.INSTANCE.encode(tx, true).equals(raw)) {
+			// trailing or non-canonical bytes would give one signature several encodings
+			return "Transaction is not canonically encoded.";
+		}
+		if (tx.getSender() == null) {
+			return "Sender cannot be recovered from the signature.";
+		}
+		if (expectedSender != null && !expectedSender.equals(tx.getSender())) {
+			return "Signature recovers " + tx.getSender().toChecksumAddress() + ", not the expected sender.";
+		}
+		return null;
+	}
+
+	private CryptoJTxDto generateTx(CryptoJTxBatchItemDto item) {
+		TxKind<?> kind = item == null || item.getType() == null ? null : TX_KINDS.get(item.getType());
+		if (kind == null) {
+			throw new GEValidationException("Unknown transaction type, expected one of " + TX_KINDS.keySet() + ".");
+		}
+		if (item.getInput() == null) {
+			throw new GEValidationException("Missing transaction input.");
+		}
+		return kind.generate(this, objectMapper, item.getInput());
+	}
+
+	private static String errorOf(Throwable e) {
+		if (e instanceof JsonProcessingException jsonException) {
+			return "Invalid transaction input: " + jsonException.getOriginalMessage();
+		}
+		return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+	}
+
+	private static <T> Map.Entry<String, TxKind<?>> kind(String type, Class<T> inputType,
+			BiFunction<CryptoJTxService, T, CryptoJTxDto> generator) {
+		return Map.entry(type, new TxKind<>(inputType, generator));
+	}
+
+	@Value
+	static class TxKind<T> {
+		Class<T> inputType;
+		BiFunction<CryptoJTxService, T, CryptoJTxDto> generator;
+
+		CryptoJTxDto generate(CryptoJTxService service, ObjectMapper objectMapper, JsonNode input) {
+			try {
+				return generator.apply(service, objectMapper.treeToValue(input, inputType));
+			} catch (JsonProcessingException e) {
+				throw new CompletionException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.cryptoj.exceptions.CryptoJException;
+import global.goldenera.cryptoj.serialization.tx.TxEncoder;
+import global.goldenera.cryptoj.utils.Amounts;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxTemplateDtoV1;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxTemplatePatchDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxTemplateTransferInDto;
+import global.goldenera.directory.exceptions.GENotFoundException;
+import global.goldenera.directory.exceptions.GERuntimeException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Transfer templates for bulk jobs that sign the same transfer shape many
+ * times.
+ * <p>
+ * Registering a template parses its key, addresses, decimals and amounts once;
+ * signing requests then only parse the fields they override (nonce, and
+ * optionally recipient and amount). Templates hold private keys, so they live
+ * in memory only, are dropped after {@code templateIdleSeconds} without use
+ * and are addressed by an unguessable 128-bit id.
+ */
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CryptoJTxTemplateService {
+
+	static final int TEMPLATE_ID_BYTES = 16;
+
+	CryptoJTxService cryptoJTxService;
+	long idleSeconds;
+	Cache<String, TransferTemplate> templates;
+	SecureRandom random = new SecureRandom();
+
+	public CryptoJTxTemplateService(PropertiesCryptoJConfig cryptoJProperties, CryptoJTxService cryptoJTxService) {
+		this(cryptoJProperties, cryptoJTxService, null);
+	}
+
+	// ticker drives idle expiry, null for the system ticker
+	CryptoJTxTemplateService(PropertiesCryptoJConfig cryptoJProperties, CryptoJTxService cryptoJTxService,
+			Ticker ticker) {
+		this.cryptoJTxService = cryptoJTxService;
+		this.idleSeconds = cryptoJProperties.getTemplateIdleSeconds();
+		this.templates = Caffeine.newBuilder()
+				.maximumSize(cryptoJProperties.getTemplateMaxCount())
+				.expireAfterAccess(Duration.ofSeconds(idleSeconds))
+				.ticker(ticker == null ? Ticker.systemTicker() : ticker)
+				.build();
+	}
+
+	public CryptoJTxTemplateDtoV1 registerTransfer(CryptoJTxTemplateTransferInDto input) {
+		int tokenDecimals = input.getTokenDecimals() == null ? Amounts.STANDARD_DECIMALS : input.getTokenDecimals();
+		TransferTemplate template = new TransferTemplate(
+				input.getNetwork(),
+				PrivateKey.wrap(Bytes.fromHexString(input.getPrivateKeyHex())),
+				input.getTokenAddress() == null ? Address.NATIVE_TOKEN
+						: Address.fromHexString(input.getTokenAddress()),
+				tokenDecimals,
+				input.getRecipientAddress() == null ? null : Address.fromHexString(input.getRecipientAddress()),
+				input.getAmount() == null ? null : Amounts.tokensWithDecimals(input.getAmount(), tokenDecimals),
+				Amounts.tokensWithDecimals(input.getFee(), Amounts.STANDARD_DECIMALS),
+				input.getMessage() == null ? null
+						: Bytes.wrap(input.getMessage().getBytes(StandardCharsets.UTF_8)));
+		byte[] id = new byte[TEMPLATE_ID_BYTES];
+		random.nextBytes(id);
+		String templateId = Bytes.wrap(id).toUnprefixedHexString();
+		templates.put(templateId, template);
+		return new CryptoJTxTemplateDtoV1(templateId, idleSeconds);
+	}
+
+	/**
+	 * Signs one transfer per patch, in parallel like a batch.
+	 *
+	 * @throws GENotFoundException
+	 *             when the template is unknown or expired.
+	 */
+	public CryptoJTxBatchResultDto generateTxTransfer(String templateId, List<CryptoJTxTemplatePatchDto> patches,
+			String sourceIp) {
+		TransferTemplate template = templates.getIfPresent(templateId);
+		if (template == null) {
+			throw new GENotFoundException("Unknown or expired template.");
+		}
+		return cryptoJTxService.generateInParallel(patches, sourceIp, template::sign);
+	}
+
+	public void remove(String templateId) {
+		templates.invalidate(templateId);
+	}
+
+	@PreDestroy
+	public void close() {
+		templates.invalidateAll();
+	}
+
+	@Value
+	static class TransferTemplate {
+		Network network;
+		@ToString.Exclude
+		PrivateKey privateKey;
+		Address tokenAddress;
+		int tokenDecimals;
+		// null when every patch must name its own
+		Address recipientAddress;
+		Wei amount;
+		Wei fee;
+		Bytes message;
+
+		CryptoJTxDto sign(CryptoJTxTemplatePatchDto patch) {
+			if (patch == null) {
+				throw new GEValidationException("Missing template patch.");
+			}
+			Address recipient = patch.getRecipientAddress() == null ? recipientAddress
+					: Address.fromHexString(patch.getRecipientAddress());
+			Wei patchedAmount = patch.getAmount() == null ? amount
+					: Amounts.tokensWithDecimals(patch.getAmount(), tokenDecimals);
+			if (recipient == null || patchedAmount == null) {
+				throw new GEValidationException("Template has no default recipient or amount to fall back to.");
+			}
+			try {
+				return CryptoJTxDto.builder()
+						.rawTxDataInHex(TxEncoder.INSTANCE.encode(CryptoJTxService.signTransfer(network, privateKey,
+								tokenAddress, recipient, patchedAmount, fee, patch.getNonce(), message), true)
+								.toHexString())
+						.build();
+			} catch (CryptoJException e) {
+				throw new GERuntimeException(e.getMessage());
+			}
+		}
+	}
+}
@@ -24,28 +24,45 @@
 package global.goldenera.directory.services.business;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 import global.goldenera.cryptoj.datatypes.Address;
 import global.goldenera.cryptoj.datatypes.Hash;
 import global.goldenera.cryptoj.datatypes.Signature;
 import global.goldenera.cryptoj.enums.Network;
-import global.goldenera.directory.Constants;
 import global.goldenera.directory.api.v1.node.dtos.NodeInfoDtoV1;
 import global.goldenera.directory.api.v1.node.dtos.NodePingDtoV1;
 import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
 import global.goldenera.directory.api.v1.node.dtos.NodePongPayloadDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeStatsDtoV1;
 import global.goldenera.directory.exceptions.GEAuthenticationException;
 import global.goldenera.directory.exceptions.GEValidationException;
-import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesFollowerConfig;
+import global.goldenera.directory.ratelimit.IdentityRateLimiter;
+import global.goldenera.directory.ratelimit.PenaltyBox;
+import global.goldenera.directory.registry.InternTable;
+import global.goldenera.directory.registry.NodeAdmissionPolicy;
+import global.goldenera.directory.registry.NodeAdmissionPolicy.Reservation;
+import global.goldenera.directory.registry.NodeEndpointIndex;
+import global.goldenera.directory.registry.NodeExpiryEngine;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeInternTables;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.registry.NodeRegistryStats;
+import global.goldenera.directory.registry.NodeTenure;
+import global.goldenera.directory.registry.NodeTtlPolicy;
+import global.goldenera.directory.registry.NodeUpdatedEvent;
+import global.goldenera.directory.services.system.ForkScheduleService;
 import global.goldenera.directory.services.system.IdentityService;
+import global.goldenera.directory.services.system.NodeHistoryService;
+import global.goldenera.directory.services.system.ReachabilityService;
+import global.goldenera.directory.services.system.ShardingService;
+import global.goldenera.directory.services.system.ShardingService.ShardMember;
 import global.goldenera.directory.utils.RlpEncoderUtil;
 import global.goldenera.directory.utils.ValidatorUtil;
 import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,10 +72,11 @@ import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@AllArgsConstructor
 @FieldDefaults(level = PRIVATE, makeFinal = true)
 @Slf4j
 public class NodeBusinessService {
@@ -66,18 +84,269 @@ public class NodeBusinessService {
 	private static final long MAX_TIMESTAMP_SKEW_SECONDS = 60;
 
 	IdentityService identityService;
+	NodeHistoryService nodeHistoryService;
+	NodeRegistry nodeRegistry;
+	NodeInternTables nodeInternTables;
+	NodeExpiryEngine nodeExpiryEngine;
+	NodeTtlPolicy nodeTtlPolicy;
+	NodeAdmissionPolicy nodeAdmissionPolicy;
+	NodeEndpointIndex nodeEndpointIndex;
+	ApplicationEventPublisher eventPublisher;
+	ShardingService shardingService;
+	PropertiesFollowerConfig propertiesFollowerConfig;
+	IdentityRateLimiter identityRateLimiter;
+	PenaltyBox penaltyBox;
+	ReachabilityService reachabilityService;
+	ForkScheduleService forkScheduleService;
+	PongCache pongCache;
+
+	public NodePongDtoV1 handlePing(NodePingDtoV1 request, String sourceIp) {
+		checkWritable();
+		// budget the hashing and ECDSA below by claimed identity
+		Address nodeIdentity = Address.fromHexString(request.getNodeIdentity());
+		penaltyBox.checkIdentity(nodeIdentity, sourceIp);
+		identityRateLimiter.checkPing(nodeIdentity, sourceIp);
+
+		try {
+			verifyPing(request, nodeIdentity);
+		} catch (GEAuthenticationException e) {
+			identityRateLimiter.onVerificationFailed(nodeIdentity, sourceIp);
+			penaltyBox.recordFailure(nodeIdentity, sourceIp);
+			throw e;
+		}
+		BigInteger totalDifficulty = new BigInteger(request.getTotalDifficulty());
+		Hash headHash = Hash.fromHexString(request.getHeadHash());
+
+		validateTimestamp(request.getTimestamp());
+
+		NodeRecordDtoV1 record = new NodeRecordDtoV1(
+				request.getNodeIdentity(),
+				request.getP2pListenHost(),
+				request.getP2pListenPort(),
+				request.getNetwork(),
+				request.getSoftwareVersion(),
+				request.getTotalDifficulty(),
+				request.getHeadHash(),
+				request.getHeadHeight(),
+				request.getTimestamp(),
+				sourceIp,
+				0,
+				0,
+				0);
+		validateRecord(record);
+		ShardMember owner = shardingService.remoteOwner(nodeIdentity);
+		if (owner == null || !shardingService.forward(owner, record, this::keepUnforwarded)) {
+			register(nodeIdentity, totalDifficulty, headHash, record, Instant.now().getEpochSecond(), true);
+		}
+
+		return buildPong(request.getNetwork());
+	}
+
+	/**
+	 * Applies a record replicated from another directory instance. The record
+	 * keeps the age of its ping, so it expires here when it would have expired
+	 * at its origin and expired records are never resurrected.
+	 *
+	 * @return {@code false} when an equal or newer ping for the identity is
+	 *         already registered, or the record is already expired.
+	 */
+	public boolean applyRecord(NodeRecordDtoV1 record) {
+		checkWritable();
+		return mirrorRecord(record);
+	}
+
+	/**
+	 * Applies a record from this follower's leader, like
+	 * {@link #applyRecord(NodeRecordDtoV1)} but allowed in follower mode.
+	 */
+	public boolean mirrorRecord(NodeRecordDtoV1 record) {
+		validateRecord(record);
+		long updatedAt = Math.min(Instant.now().getEpochSecond(), record.getPingTimestamp());
+		return registerRecord(record, updatedAt, false);
+	}
 
-	Cache<Address, NodeInfo> activeNodeCache;
+	/**
+	 * Registers a ping another shard verified and forwarded to this owner. It is
+	 * treated as received here, so it is replicated like a local ping, and it
+	 * passes the same host, fork, timestamp and admission checks.
+	 */
+	public void acceptForwarded(NodeRecordDtoV1 record) {
+		checkWritable();
+		validateRecord(record);
+		validateTimestamp(record.getPingTimestamp());
+		registerRecord(record, Instant.now().getEpochSecond(), true);
+	}
 
-	public NodeBusinessService(PropertiesGeneralConfig propertiesGeneralConfig, IdentityService identityService) {
-		this.identityService = identityService;
-		this.activeNodeCache = Caffeine.newBuilder()
-				.expireAfterWrite(propertiesGeneralConfig.getDeleteInactiveNodeAfterSeconds(), TimeUnit.SECONDS)
-				.maximumSize(100_000)
-				.build();
+	/**
+	 * Keeps a ping whose owning shard could not be reached. Runs on the shard
+	 * forwarder thread, so the record is checked again like a forwarded one.
+	 */
+	private void keepUnforwarded(NodeRecordDtoV1 record) {
+		validateRecord(record);
+		registerRecord(record, Instant.now().getEpochSecond(), true);
+	}
+
+	public NodeRecordDtoV1 toRecord(NodeInfo node) {
+		return new NodeRecordDtoV1(
+				node.getNodeIdentity().toHexString(),
+				nodeInternTables.host(node.getP2pListenHostId()),
+				node.getP2pListenPort(),
+				node.getNetwork(),
+				nodeInternTables.softwareVersion(node.getSoftwareVersionId()),
+				node.getTotalDifficulty().toString(),
+				node.getHeadHash().toHexString(),
+				node.getHeadHeight(),
+				node.getPingTimestamp(),
+				nodeInternTables.sourceIp(node.getSourceIpId()),
+				node.getFirstSeen(),
+				node.getPingCount(),
+				node.getPingIntervalMillis());
+	}
+
+	/**
+	 * Runs the checks every record passes besides its signature, whether it
+	 * arrived as a ping, replicated or forwarded: completeness, advertised host
+	 * and port, and fork gating. Admission and endpoint checks apply to every
+	 * registration.
+	 */
+	private void validateRecord(NodeRecordDtoV1 record) {
+		if (record == null || record.getNodeIdentity() == null || record.getP2pListenHost() == null
+				|| record.getP2pListenPort() == null || record.getNetwork() == null
+				|| record.getSoftwareVersion() == null || record.getTotalDifficulty() == null
+				|| record.getHeadHash() == null || record.getSourceIp() == null) {
+			throw new GEValidationException("Incomplete node record.");
+		}
+		if (!ValidatorUtil.HostValidator.isSafe(record.getP2pListenHost())) {
+			throw new GEValidationException("Invalid IP address in node record.");
+		}
+		if (!ValidatorUtil.PortValidator.isValid(record.getP2pListenPort())) {
+			throw new GEValidationException("Invalid P2P listen port in node record.");
+		}
+		validateVersion(record.getSoftwareVersion(), record.getHeadHeight());
 	}
 
-	public NodePongDtoV1 handlePing(NodePingDtoV1 request) {
+	private boolean registerRecord(NodeRecordDtoV1 record, long updatedAt, boolean local) {
+		Address nodeIdentity;
+		BigInteger totalDifficulty;
+		Hash headHash;
+		try {
+			nodeIdentity = Address.fromHexString(record.getNodeIdentity());
+			totalDifficulty = new BigInteger(record.getTotalDifficulty());
+			headHash = Hash.fromHexString(record.getHeadHash());
+		} catch (IllegalArgumentException e) {
+			throw new GEValidationException("Malformed node record: " + e.getMessage());
+		}
+		if (totalDifficulty.signum() < 0) {
+			throw new GEValidationException("Malformed node record: negative total difficulty.");
+		}
+		return register(nodeIdentity, totalDifficulty, headHash, record, updatedAt, local);
+	}
+
+	private boolean register(Address nodeIdentity, BigInteger totalDifficulty, Hash headHash,
+			NodeRecordDtoV1 record, long updatedAt, boolean local) {
+		// last writer wins by the node's signed timestamp; a replica needs a newer one
+		long notNewerThan = local ? record.getPingTimestamp() : record.getPingTimestamp() - 1;
+		NodeInfo current = nodeRegistry.get(nodeIdentity);
+		if (NodeRegistry.refused(current, notNewerThan)) {
+			return false;
+		}
+		long firstSeen = updatedAt;
+		int pingCount = 1;
+		int pingIntervalMillis = 0;
+		if (current != null) {
+			firstSeen = current.getFirstSeen();
+			pingCount = current.getPingCount() + 1;
+			pingIntervalMillis = nodeTtlPolicy.nextPingInterval(current, updatedAt);
+		} else {
+			NodeTenure tenure = priorTenure(nodeIdentity, record, updatedAt, local);
+			if (tenure != null) {
+				firstSeen = tenure.getFirstSeen();
+				pingCount = tenure.getPingCount() + 1;
+				pingIntervalMillis = nodeTtlPolicy.nextPingInterval(tenure.getLastSeen(),
+						tenure.getPingIntervalMillis(), updatedAt);
+			}
+		}
+		long ttlMillis = nodeTtlPolicy.ttlMillis(pingIntervalMillis)
+				- (Instant.now().getEpochSecond() - updatedAt) * 1000;
+		if (ttlMillis <= 0) {
+			return false;
+		}
+		int hostId = InternTable.NO_ID;
+		int softwareVersionId = InternTable.NO_ID;
+		int sourceIpId = InternTable.NO_ID;
+		NodeInfo node = null;
+		NodeInfo previous;
+		Reservation reservation = Reservation.NONE;
+		try {
+			hostId = nodeInternTables.acquireHost(record.getP2pListenHost());
+			softwareVersionId = nodeInternTables.acquireSoftwareVersion(record.getSoftwareVersion());
+			sourceIpId = nodeInternTables.acquireSourceIp(record.getSourceIp());
+			node = new NodeInfo(
+					nodeIdentity,
+					hostId,
+					record.getP2pListenPort(),
+					record.getNetwork(),
+					softwareVersionId,
+					totalDifficulty,
+					headHash,
+					record.getHeadHeight(),
+					updatedAt,
+					pingIntervalMillis,
+					firstSeen,
+					pingCount,
+					sourceIpId,
+					record.getPingTimestamp());
+			reservation = nodeAdmissionPolicy.reserve(current, node, local);
+			// checks the timestamp again, atomically with the write
+			previous = nodeEndpointIndex.put(node, notNewerThan);
+		} catch (RuntimeException e) {
+			nodeAdmissionPolicy.cancel(node, reservation);
+			nodeInternTables.release(hostId, softwareVersionId, sourceIpId);
+			throw e;
+		}
+		if (NodeRegistry.refused(previous, notNewerThan)) {
+			// a newer ping for the identity landed since the check above
+			nodeAdmissionPolicy.cancel(node, reservation);
+			nodeInternTables.release(hostId, softwareVersionId, sourceIpId);
+			return false;
+		}
+		nodeAdmissionPolicy.onPut(previous, node, reservation);
+		if (previous != null) {
+			nodeInternTables.release(previous);
+		}
+		nodeExpiryEngine.touch(nodeIdentity, updatedAt, ttlMillis);
+		nodeHistoryService.recordPing(node, record.getP2pListenHost());
+		eventPublisher.publishEvent(new NodeUpdatedEvent(node, local));
+		return true;
+	}
+
+	/**
+	 * Tenure of an identity this instance does not hold yet, as of its previous
+	 * ping: a replicated or mirrored record brings what its origin measured, and
+	 * a local ping after a restart resumes the history entry if the node kept
+	 * pinging within its TTL. Without it every established node would start over
+	 * on probation, and only the probation share of them could register.
+	 *
+	 * @return {@code null} when the identity is new.
+	 */
+	private NodeTenure priorTenure(Address nodeIdentity, NodeRecordDtoV1 record, long updatedAt, boolean local) {
+		if (!local) {
+			if (record.getPingCount() <= 0 || record.getFirstSeen() <= 0) {
+				return null;
+			}
+			// the record already counts its own ping
+			return new NodeTenure(Math.min(record.getFirstSeen(), updatedAt), record.getPingCount() - 1,
+					Math.max(0, record.getPingIntervalMillis()), updatedAt);
+		}
+		NodeTenure tenure = nodeHistoryService.getTenure(nodeIdentity);
+		if (tenure == null || tenure.getLastSeen() > updatedAt
+				|| (updatedAt - tenure.getLastSeen()) * 1000 > nodeTtlPolicy.ttlMillis(tenure.getPingIntervalMillis())) {
+			return null;
+		}
+		return tenure;
+	}
+
+	private void verifyPing(NodePingDtoV1 request, Address nodeIdentity) {
 		if (!ValidatorUtil.HostValidator.isSafe(request.getP2pListenHost())) {
 			log.warn("Invalid IP address for incoming ping. Client: {}", request.getP2pListenHost());
 			throw new GEAuthenticationException("Invalid IP address. Client data inconsistent.");
@@ -91,32 +360,12 @@ public class NodeBusinessService {
 			throw new GEAuthenticationException("Hash mismatch. Client data inconsistent.");
 		}
 
-		Address nodeIdentity = Address.fromHexString(request.getNodeIdentity());
-		BigInteger totalDifficulty = new BigInteger(request.getTotalDifficulty());
-		Hash headHash = Hash.fromHexString(request.getHeadHash());
 		Signature signature = Signature.wrap(Bytes.fromHexString(request.getSignature()));
 		if (!signature.validate(calculatedHash, nodeIdentity)) {
 			log.warn("Signature mismatch for incoming ping. Client: {}, Server: {}",
 					request.getSignature(), signature);
 			throw new GEAuthenticationException("Signature mismatch. Client data inconsistent.");
 		}
-
-		validateTimestamp(request.getTimestamp());
-		validateVersion(request.getSoftwareVersion(), request.getHeadHeight());
-
-		activeNodeCache.put(nodeIdentity,
-				new NodeInfo(
-						nodeIdentity,
-						request.getP2pListenHost(),
-						request.getP2pListenPort(),
-						request.getNetwork(),
-						request.getSoftwareVersion(),
-						totalDifficulty,
-						headHash,
-						request.getHeadHeight(),
-						Instant.now().getEpochSecond()));
-
-		return buildPong(request.getNetwork());
 	}
 
 	private void validateTimestamp(long timestamp) {
@@ -129,30 +378,68 @@ public class NodeBusinessService {
 	}
 
 	private void validateVersion(String nodeVersion, long nodeHeight) {
-		if (Constants.shouldNodeShutdown(nodeHeight, nodeVersion)) {
+		if (forkScheduleService.shouldNodeShutdown(nodeHeight, nodeVersion)) {
 			log.warn("Node rejected due to version mismatch. NodeVersion: {}, NodeHeight: {}", nodeVersion, nodeHeight);
 			throw new GEAuthenticationException("Node tried to ping with software version code below minimum.");
 		}
 	}
 
+	/**
+	 * @param network
+	 *            {@code null} for the peers of all networks.
+	 */
 	public NodePongDtoV1 buildPong(Network network) {
-		Collection<NodeInfo> allNodes = List.copyOf(activeNodeCache.asMap().values()).stream()
-				.filter(item -> network == null ? true : item.getNetwork().equals(network))
+		return pongCache.get(network, this::createPong);
+	}
+
+	private NodePongDtoV1 createPong(Network network) {
+		List<NodeInfoDtoV1> peers = toInfoDtos(reachabilityService.select(nodeRegistry.snapshot(network)));
+		if (shardingService.isEnabled()) {
+			// a node kept here while its owner was unreachable may appear twice
+			Set<String> localIdentities = peers.stream()
+					.map(NodeInfoDtoV1::getNodeIdentity)
+					.collect(Collectors.toSet());
+			shardingService.remoteNodes(network).stream()
+					.filter(peer -> localIdentities.add(peer.getNodeIdentity()))
+					.forEach(peers::add);
+		}
+		return signPong(peers);
+	}
+
+	/**
+	 * @return this instance's own registry slice, signed, for the other shards.
+	 */
+	public NodePongDtoV1 buildShardSummary(Network network) {
+		return signPong(toInfoDtos(reachabilityService.select(nodeRegistry.snapshot(network))));
+	}
+
+	/**
+	 * @throws GEValidationException
+	 *             when this instance is a read-only follower.
+	 */
+	public void checkWritable() {
+		if (propertiesFollowerConfig.getEnabled()) {
+			throw new GEValidationException("This directory is a read-only follower, send writes to the leader.");
+		}
+	}
+
+	private List<NodeInfoDtoV1> toInfoDtos(Collection<NodeInfo> nodes) {
+		return nodes.stream()
+				.map(node -> new NodeInfoDtoV1(
+						node.getNodeIdentity().toHexString(),
+						nodeInternTables.host(node.getP2pListenHostId()),
+						node.getP2pListenPort(),
+						node.getNetwork(),
+						nodeInternTables.softwareVersion(node.getSoftwareVersionId()),
+						node.getTotalDifficulty().toString(),
+						node.getHeadHash().toHexString(),
+						node.getHeadHeight(),
+						node.getUpdatedAt()))
 				.collect(Collectors.toList());
-		NodePongPayloadDtoV1 pongPayload = new NodePongPayloadDtoV1(
-				allNodes.stream()
-						.map(node -> new NodeInfoDtoV1(
-								node.nodeIdentity.toHexString(),
-								node.p2pListenHost,
-								node.p2pListenPort,
-								node.network,
-								node.softwareVersion,
-								node.totalDifficulty.toString(),
-								node.headHash.toHexString(),
-								node.headHeight,
-								node.updatedAt))
-						.collect(Collectors.toList()),
-				Instant.now().getEpochSecond());
+	}
+
+	private NodePongDtoV1 signPong(List<NodeInfoDtoV1> peers) {
+		NodePongPayloadDtoV1 pongPayload = new NodePongPayloadDtoV1(peers, Instant.now().getEpochSecond());
 		Bytes pongInRlpBytes = RlpEncoderUtil.encodePongV1(pongPayload);
 		Hash calculatedPongHash = Hash.hash(pongInRlpBytes);
 		Signature calculatedPongSignature = identityService.getPrivateKey().sign(calculatedPongHash);
@@ -161,17 +448,34 @@ public class NodeBusinessService {
 		return pong;
 	}
 
-	@Data
-	@AllArgsConstructor
-	public static class NodeInfo {
-		Address nodeIdentity;
-		String p2pListenHost;
-		Integer p2pListenPort;
-		Network network;
-		String softwareVersion;
-		BigInteger totalDifficulty;
-		Hash headHash;
-		long headHeight;
-		long updatedAt;
+	/**
+	 * @return registry statistics; cluster figures are added by the services
+	 *         owning them.
+	 */
+	public NodeStatsDtoV1 getStats() {
+		NodeRegistryStats registryStats = nodeRegistry.stats();
+		NodeStatsDtoV1 stats = new NodeStatsDtoV1();
+		stats.setRegistryBackend(registryStats.getBackend());
+		stats.setRegistrySize(registryStats.getSize());
+		stats.setRegistryCapacity(registryStats.getCapacity());
+		stats.setRegistryBytesPerNode(registryStats.getBytesPerNode());
+		stats.setRegistryHeapObjectsPerNode(registryStats.getHeapObjectsPerNode());
+		stats.setRegistryOffHeapBytes(registryStats.getOffHeapBytes());
+		stats.setSoftwareVersionCounts(nodeInternTables.softwareVersionCounts());
+		stats.setInternSpilledValues(nodeInternTables.getSpilledCount());
+		stats.setHistoryDroppedRecords(nodeHistoryService.getDroppedRecords());
+		stats.setExpiryPendingTimers(nodeExpiryEngine.getPendingTimers());
+		stats.setExpiredNodes(nodeExpiryEngine.getExpiredNodes());
+		stats.setAdmissionOnProbation(nodeAdmissionPolicy.getOnProbation());
+		stats.setAdmissionRejected(nodeAdmissionPolicy.getRejected());
+		stats.setEndpointCount(nodeEndpointIndex.getEndpointCount());
+		stats.setEndpointRejected(nodeEndpointIndex.getRejected());
+		stats.setRateLimitedIdentityPings(identityRateLimiter.getRejected());
+		stats.setPenaltyBans(penaltyBox.getBans());
+		stats.setPenaltyRejected(penaltyBox.getRejected());
+		stats.setReachabilityProbes(reachabilityService.getProbes());
+		stats.setReachabilityDroppedProbes(reachabilityService.getDroppedProbes());
+		stats.setReachableNodes(reachabilityService.getReachableNodes());
+		return stats;
 	}
 }
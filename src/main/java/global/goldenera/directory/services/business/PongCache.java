@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Keeps the last signed pong per network for
+ * {@code ge-directory.registry.pong-cache-millis}. Every ping is answered with
+ * a pong holding a registry snapshot and an ECDSA signature; within the window
+ * a ping burst shares one of each. Peers fetched without a network share the
+ * all-networks entry.
+ */
+@Component
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class PongCache {
+
+	long windowMillis;
+	Map<Optional<Network>, CachedPong> pongs = new ConcurrentHashMap<>();
+
+	public PongCache(PropertiesRegistryConfig registryProperties) {
+		this.windowMillis = registryProperties.getPongCacheMillis();
+	}
+
+	/**
+	 * @param network
+	 *            {@code null} for all networks.
+	 * @param createPong
+	 *            builds and signs the pong on a miss; called at most once per
+	 *            window and network.
+	 */
+	public NodePongDtoV1 get(Network network, Function<Network, NodePongDtoV1> createPong) {
+		if (windowMillis <= 0) {
+			return createPong.apply(network);
+		}
+		long now = System.currentTimeMillis();
+		Optional<Network> key = Optional.ofNullable(network);
+		CachedPong cached = pongs.get(key);
+		if (cached != null && cached.getExpiresAt() > now) {
+			return cached.getPong();
+		}
+		return pongs.compute(key, (ignored, current) -> current != null && current.getExpiresAt() > now
+				? current
+				: new CachedPong(createPong.apply(network), now + windowMillis)).getPong();
+	}
+
+	@Value
+	private static class CachedPong {
+		NodePongDtoV1 pong;
+		long expiresAt;
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.api.v1.follower.dtos.FollowerChangesDtoV1;
+import global.goldenera.directory.api.v1.follower.dtos.FollowerSnapshotDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesFollowerConfig;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesReplicationConfig;
+import global.goldenera.directory.properties.PropertiesShardingConfig;
+import global.goldenera.directory.registry.NodeChangeLog;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.registry.NodeRemovalCause;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import jakarta.annotation.PreDestroy;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leader/follower read replicas.
+ * <p>
+ * Every instance serves its registry as a snapshot plus a stream of changes
+ * taken from the {@link NodeChangeLog}. A follower loads the leader's snapshot,
+ * then polls the changes since the last applied sequence. It reloads the
+ * snapshot when it fell out of the leader's log, or when the leader restarted:
+ * the log epoch changed or the leader's sequence went backwards. Followers
+ * never accept pings or replicated records and sign pongs with their own
+ * identity.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class FollowerService {
+
+	static final String ACCESS_TOKEN_HEADER = "X-Access-Token";
+
+	PropertiesFollowerConfig followerProperties;
+	NodeRegistry nodeRegistry;
+	NodeChangeLog nodeChangeLog;
+	NodeBusinessService nodeBusinessService;
+	RestClient restClient;
+	ScheduledExecutorService synchronizer;
+
+	// -1 until a snapshot was loaded
+	@NonFinal
+	volatile long appliedSequence = -1;
+	@NonFinal
+	volatile long leaderEpoch;
+	@NonFinal
+	volatile long leaderSequence;
+	@NonFinal
+	volatile long lastSyncAt;
+
+	public FollowerService(PropertiesFollowerConfig followerProperties, PropertiesGeneralConfig generalProperties,
+			PropertiesReplicationConfig replicationProperties, PropertiesShardingConfig shardingProperties,
+			NodeRegistry nodeRegistry, NodeChangeLog nodeChangeLog, NodeBusinessService nodeBusinessService) {
+		this.followerProperties = followerProperties;
+		this.nodeRegistry = nodeRegistry;
+		this.nodeChangeLog = nodeChangeLog;
+		this.nodeBusinessService = nodeBusinessService;
+		if (!followerProperties.getEnabled()) {
+			this.restClient = null;
+			this.synchronizer = null;
+			return;
+		}
+		if (followerProperties.getLeaderUrl().isBlank()) {
+			throw new GEFailedException("Follower mode requires a leader url.");
+		}
+		if (replicationProperties.getEnabled() || shardingProperties.getEnabled()) {
+			throw new GEFailedException("A follower only mirrors its leader, disable replication and sharding.");
+		}
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(Duration.ofMillis(followerProperties.getRequestTimeoutMillis()));
+		requestFactory.setReadTimeout(Duration.ofMillis(followerProperties.getRequestTimeoutMillis()));
+		this.restClient = RestClient.builder()
+				.requestFactory(requestFactory)
+				.defaultHeader(ACCESS_TOKEN_HEADER, generalProperties.getApiAccessToken())
+				.build();
+		this.synchronizer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "follower-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		synchronizer.scheduleWithFixedDelay(this::syncSafely, 0, followerProperties.getPollIntervalMillis(),
+				TimeUnit.MILLISECONDS);
+		log.info("Following leader directory {}", followerProperties.getLeaderUrl());
+	}
+
+	public boolean isEnabled() {
+		return followerProperties.getEnabled();
+	}
+
+	public FollowerSnapshotDtoV1 snapshot() {
+		// read before the registry, so changes racing the snapshot are replayed
+		long sequence = nodeChangeLog.getLastSequence();
+		List<NodeRecordDtoV1> records = new ArrayList<>();
+		for (NodeInfo node : nodeRegistry.snapshot(null)) {
+			records.add(nodeBusinessService.toRecord(node));
+		}
+		return new FollowerSnapshotDtoV1(nodeChangeLog.getEpoch(), sequence, records);
+	}
+
+	public FollowerChangesDtoV1 changes(long since, int limit) {
+		long last = nodeChangeLog.getLastSequence();
+		List<Address> changed = nodeChangeLog.changesSince(since, limit);
+		if (changed == null) {
+			return new FollowerChangesDtoV1(nodeChangeLog.getEpoch(), last, last, true, List.of(), List.of());
+		}
+		List<NodeRecordDtoV1> updated = new ArrayList<>();
+		List<String> removed = new ArrayList<>();
+		for (Address nodeIdentity : new LinkedHashSet<>(changed)) {
+			NodeInfo node = nodeRegistry.get(nodeIdentity);
+			if (node == null) {
+				removed.add(nodeIdentity.toHexString());
+			} else {
+				updated.add(nodeBusinessService.toRecord(node));
+			}
+		}
+		return new FollowerChangesDtoV1(nodeChangeLog.getEpoch(), since + changed.size(),
+				Math.max(last, since + changed.size()), false, updated, removed);
+	}
+
+	/**
+	 * @return changes the leader has and this follower has not applied yet, as
+	 *         of the last poll.
+	 */
+	public long getLagSequences() {
+		return isEnabled() ? Math.max(0, leaderSequence - appliedSequence) : 0;
+	}
+
+	/**
+	 * @return milliseconds since this follower was last fully caught up, or
+	 *         {@code -1} if it never was.
+	 */
+	public long getLagMillis() {
+		if (!isEnabled()) {
+			return 0;
+		}
+		return lastSyncAt == 0 ? -1 : System.currentTimeMillis() - lastSyncAt;
+	}
+
+	@PreDestroy
+	public void close() {
+		if (synchronizer != null) {
+			synchronizer.shutdownNow();
+		}
+	}
+
+	private void syncSafely() {
+		try {
+			if (appliedSequence < 0) {
+				loadSnapshot();
+			}
+			do {
+				FollowerChangesDtoV1 changes = restClient.get()
+						.uri(followerProperties.getLeaderUrl() + "/api/v1/follower/changes?since={since}&limit={limit}",
+								appliedSequence, followerProperties.getBatchSize())
+						.retrieve()
+						.body(FollowerChangesDtoV1.class);
+				if (changes == null) {
+					return;
+				}
+				if (changes.getEpoch() != leaderEpoch || changes.getLeaderSequence() < appliedSequence) {
+					log.info("Leader restarted (epoch {}, sequence {}), reloading snapshot", changes.getEpoch(),
+							changes.getLeaderSequence());
+					loadSnapshot();
+					continue;
+				}
+				if (changes.isResync()) {
+					log.info("Fell behind leader at sequence {}, reloading snapshot", appliedSequence);
+					loadSnapshot();
+					continue;
+				}
+				changes.getUpdated().forEach(this::apply);
+				for (String removed : changes.getRemoved()) {
+					nodeRegistry.remove(Address.fromHexString(removed), Long.MAX_VALUE, NodeRemovalCause.MIRRORED);
+				}
+				appliedSequence = changes.getSequence();
+				leaderSequence = changes.getLeaderSequence();
+			} while (appliedSequence < leaderSequence);
+			lastSyncAt = System.currentTimeMillis();
+		} catch (Exception e) {
+			log.warn("Failed to sync with leader {}: {}", followerProperties.getLeaderUrl(), e.getMessage());
+		}
+	}
+
+	private void loadSnapshot() {
+		FollowerSnapshotDtoV1 snapshot = restClient.get()
+				.uri(followerProperties.getLeaderUrl() + "/api/v1/follower/snapshot")
+				.retrieve()
+				.body(FollowerSnapshotDtoV1.class);
+		if (snapshot == null || snapshot.getRecords() == null) {
+			throw new GEFailedException("Empty snapshot from leader.");
+		}
+		Set<Address> present = new HashSet<>();
+		for (NodeRecordDtoV1 record : snapshot.getRecords()) {
+			present.add(Address.fromHexString(record.getNodeIdentity()));
+			apply(record);
+		}
+		for (NodeInfo node : nodeRegistry.snapshot(null)) {
+			if (!present.contains(node.getNodeIdentity())) {
+				nodeRegistry.remove(node.getNodeIdentity(), Long.MAX_VALUE, NodeRemovalCause.MIRRORED);
+			}
+		}
+		leaderEpoch = snapshot.getEpoch();
+		appliedSequence = snapshot.getSequence();
+		leaderSequence = snapshot.getSequence();
+		log.info("Loaded {} nodes from leader snapshot at sequence {}", present.size(), appliedSequence);
+	}
+
+	private void apply(NodeRecordDtoV1 record) {
+		try {
+			nodeBusinessService.mirrorRecord(record);
+		} catch (Exception e) {
+			log.debug("Skipped leader record for {}: {}", record.getNodeIdentity(), e.getMessage());
+		}
+	}
+}
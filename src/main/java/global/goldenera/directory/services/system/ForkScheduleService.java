@@ -0,0 +1,254 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleDescriptor.Version;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.stereotype.Service;
+
+import global.goldenera.directory.Constants;
+import global.goldenera.directory.Constants.ForkName;
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesForkConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.registry.InternTable;
+import global.goldenera.directory.registry.NodeInternTables;
+import global.goldenera.directory.utils.ReloadableFile;
+import global.goldenera.directory.utils.SoftwareVersionUtil;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether a node must shut down because a fork active at its height
+ * requires a newer software version.
+ * <p>
+ * Versions are ordered by {@link Version}. The schedule is compiled into arrays
+ * sorted by activation height, each entry holding the highest version
+ * required by any fork active from that height on, so a check is a binary
+ * search and, for plain numeric versions, a {@code long} comparison (see
+ * {@link SoftwareVersionUtil}); pre-releases and other versions it cannot pack
+ * are compared as {@code Version}s. Node versions are parsed once per software
+ * version intern id. The schedule file can add forks or override the built-in
+ * ones of {@link Constants} without a restart; a file with an invalid entry
+ * is ignored and the previous schedule stays.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ForkScheduleService {
+
+	NodeInternTables internTables;
+	ReloadableFile<Schedule> schedule;
+	// indexed by software version intern id; stale while the version differs
+	AtomicReferenceArray<PackedVersion> packedVersions;
+
+	public ForkScheduleService(PropertiesForkConfig forkProperties, PropertiesRegistryConfig registryProperties,
+			NodeInternTables internTables) {
+		this.internTables = internTables;
+		this.packedVersions = new AtomicReferenceArray<>(registryProperties.getMaxSoftwareVersions());
+		Properties defaults = new Properties();
+		for (ForkName fork : ForkName.values()) {
+			Long height = Constants.FORK_ACTIVATION_BLOCKS.get(fork);
+			String version = Constants.REQUIRED_SOFTWARE_VERSION_FOR_FORK.get(fork);
+			if (height != null && version != null) {
+				defaults.setProperty(fork.name(), height + ":" + version);
+			}
+		}
+		Schedule builtIn;
+		try {
+			builtIn = compile(defaults);
+		} catch (IllegalArgumentException e) {
+			throw new GEFailedException("Invalid built-in fork schedule: " + e.getMessage(), e);
+		}
+		this.schedule = new ReloadableFile<>(Path.of(forkProperties.getScheduleFile()),
+				forkProperties.getScheduleCheckSeconds(), text -> parseSchedule(text, defaults), builtIn);
+		log.info("Fork schedule: {}", schedule.get().getDescription());
+	}
+
+	/**
+	 * @return {@code true} when {@code nodeVersion} is malformed or older than a
+	 *         fork active at {@code nodeHeight} requires.
+	 */
+	public boolean shouldNodeShutdown(long nodeHeight, String nodeVersion) {
+		PackedVersion version = packedVersion(nodeVersion);
+		if (version.isMalformed()) {
+			return true;
+		}
+		Schedule current = schedule.get();
+		int index = current.indexOf(nodeHeight);
+		return index >= 0 && version.isOlderThan(current.getRequiredVersions()[index]);
+	}
+
+	private PackedVersion packedVersion(String version) {
+		if (version == null) {
+			return PackedVersion.MALFORMED;
+		}
+		int id = internTables.findSoftwareVersion(version);
+		if (id == InternTable.NO_ID) {
+			// not registered yet; interned once the ping is accepted
+			return PackedVersion.of(version);
+		}
+		PackedVersion cached = packedVersions.get(id);
+		if (cached != null && version.equals(cached.getVersion())) {
+			return cached;
+		}
+		PackedVersion packed = PackedVersion.of(version);
+		packedVersions.set(id, packed);
+		return packed;
+	}
+
+	/**
+	 * Reads {@code <fork>=<activationHeight>:<minimumVersion>} entries, e.g.
+	 * {@code GENESIS=0:0.0.1}; forks missing from the file keep their built-in
+	 * schedule.
+	 */
+	private static Schedule parseSchedule(String text, Properties defaults) {
+		Properties properties = new Properties(defaults);
+		try {
+			properties.load(new StringReader(text));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return compile(properties);
+	}
+
+	private static Schedule compile(Properties properties) {
+		List<Fork> forks = new ArrayList<>();
+		StringBuilder description = new StringBuilder();
+		for (String fork : properties.stringPropertyNames()) {
+			String entry = properties.getProperty(fork).trim();
+			int separator = entry.indexOf(':');
+			long height;
+			try {
+				height = separator < 0 ? -1 : Long.parseLong(entry.substring(0, separator).trim());
+			} catch (NumberFormatException e) {
+				height = -1;
+			}
+			PackedVersion version = separator < 0 ? PackedVersion.MALFORMED
+					: PackedVersion.of(entry.substring(separator + 1).trim());
+			if (height < 0 || version.isMalformed()) {
+				throw new IllegalArgumentException("invalid fork " + fork + "=" + entry
+						+ ", expected <activationHeight>:<minimumVersion>");
+			}
+			forks.add(new Fork(height, version));
+			description.append(description.isEmpty() ? "" : ", ").append(fork).append('=').append(entry);
+		}
+		forks.sort(Comparator.comparingLong(Fork::getHeight));
+		long[] heights = new long[forks.size()];
+		PackedVersion[] requiredVersions = new PackedVersion[forks.size()];
+		int entries = 0;
+		PackedVersion required = null;
+		for (Fork fork : forks) {
+			if (required == null || required.isOlderThan(fork.getVersion())) {
+				required = fork.getVersion();
+			}
+			if (entries > 0 && heights[entries - 1] == fork.getHeight()) {
+				requiredVersions[entries - 1] = required;
+				continue;
+			}
+			heights[entries] = fork.getHeight();
+			requiredVersions[entries] = required;
+			entries++;
+		}
+		return new Schedule(Arrays.copyOf(heights, entries), Arrays.copyOf(requiredVersions, entries),
+				description.toString());
+	}
+
+	@Value
+	static class Fork {
+		long height;
+		PackedVersion version;
+	}
+
+	@Value
+	static class Schedule {
+		long[] heights;
+		PackedVersion[] requiredVersions;
+		String description;
+
+		/**
+		 * @return index of the last entry active at {@code height}, {@code -1}
+		 *         before the first fork.
+		 */
+		int indexOf(long height) {
+			int index = Arrays.binarySearch(heights, height);
+			return index < 0 ? -index - 2 : index;
+		}
+	}
+
+	/**
+	 * A version with its packed form, or with its parsed {@link Version} when
+	 * it cannot be packed.
+	 */
+	@Value
+	static class PackedVersion {
+		static final PackedVersion MALFORMED = new PackedVersion(null, SoftwareVersionUtil.INVALID, null);
+
+		String version;
+		long packed;
+		// only kept when the version cannot be packed
+		Version parsed;
+
+		static PackedVersion of(String version) {
+			long packed = SoftwareVersionUtil.pack(version);
+			if (packed != SoftwareVersionUtil.INVALID) {
+				return new PackedVersion(version, packed, null);
+			}
+			try {
+				return new PackedVersion(version, packed, Version.parse(version));
+			} catch (IllegalArgumentException e) {
+				return MALFORMED;
+			}
+		}
+
+		boolean isMalformed() {
+			return version == null;
+		}
+
+		boolean isOlderThan(PackedVersion other) {
+			if (packed != SoftwareVersionUtil.INVALID && other.packed != SoftwareVersionUtil.INVALID) {
+				return packed < other.packed;
+			}
+			return parsed().compareTo(other.parsed()) < 0;
+		}
+
+		private Version parsed() {
+			// every packable version parses
+			return parsed != null ? parsed : Version.parse(version);
+		}
+	}
+}
@@ -0,0 +1,469 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.api.v1.node.dtos.NodeHeightSampleDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeHistoryDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeHostChangeDtoV1;
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.exceptions.GENotFoundException;
+import global.goldenera.directory.properties.PropertiesHistoryConfig;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeTenure;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded MVStore-backed history of every node identity seen by the directory.
+ * <p>
+ * Pings are only enqueued on the request thread; a single writer thread drains
+ * the queue in batches, merges them into the per-identity entries and commits.
+ * Entries not seen for {@code retentionHours} are purged by a periodic
+ * maintenance pass. The file size is checked after every commit; when it
+ * exceeds {@code maxDiskMegabytes} the store is compacted and, if its live
+ * data is still too large, trimmed oldest first.
+ * <p>
+ * Each entry also keeps the registry tenure as of the last ping, so a restarted
+ * directory can resume the standing of nodes that kept pinging (see
+ * {@link #getTenure(Address)}).
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NodeHistoryService {
+
+	static final String NODES_MAP_NAME = "nodes";
+	static final int MAX_BATCH_SIZE = 8192;
+	static final int MAX_HOST_CHANGES_PER_NODE = 16;
+	static final int MAX_HEIGHT_SAMPLES_PER_NODE = 64;
+	static final long HEIGHT_SAMPLE_INTERVAL_SECONDS = 300;
+	static final long MAINTENANCE_INTERVAL_SECONDS = 600;
+	static final int COMPACT_MAX_MILLIS = 2_000;
+	static final int STORE_CACHE_MEGABYTES = 4;
+	// byte offset of lastSeen in an encoded entry (after firstSeen)
+	static final int LAST_SEEN_OFFSET = Long.BYTES;
+
+	PropertiesHistoryConfig historyProperties;
+	BlockingQueue<PingRecord> pendingRecords;
+	AtomicLong droppedRecords = new AtomicLong();
+	MVStore store;
+	MVMap<String, byte[]> nodes;
+	ScheduledExecutorService writer;
+	// owned by the writer thread
+	@NonFinal
+	long lastCompactedAt;
+
+	@Autowired
+	public NodeHistoryService(PropertiesHistoryConfig historyProperties) {
+		this(historyProperties, TimeUnit.SECONDS.toMillis(MAINTENANCE_INTERVAL_SECONDS));
+	}
+
+	/**
+	 * @param maintenanceIntervalMillis
+	 *            between retention purges.
+	 */
+	NodeHistoryService(PropertiesHistoryConfig historyProperties, long maintenanceIntervalMillis) {
+		this.historyProperties = historyProperties;
+		if (!historyProperties.getEnabled()) {
+			log.info("Node history is disabled.");
+			this.pendingRecords = null;
+			this.store = null;
+			this.nodes = null;
+			this.writer = null;
+			return;
+		}
+		try {
+			Path historyPath = Paths.get(historyProperties.getFile());
+			Path parentDir = historyPath.getParent();
+			if (parentDir != null) {
+				Files.createDirectories(parentDir);
+			}
+			this.store = new MVStore.Builder()
+					.fileName(historyPath.toString())
+					.cacheSize(STORE_CACHE_MEGABYTES)
+					.compress()
+					.autoCommitDisabled()
+					.open();
+			this.nodes = store.openMap(NODES_MAP_NAME);
+			log.info("Node history opened at: {} ({} identities)", historyPath.toAbsolutePath(), nodes.size());
+		} catch (IOException e) {
+			log.error("Failed to create node history directory", e);
+			throw new GEFailedException("I/O error opening node history: " + e.getMessage());
+		}
+		this.pendingRecords = new ArrayBlockingQueue<>(historyProperties.getQueueCapacity());
+		this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "node-history-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		writer.scheduleWithFixedDelay(this::flushSafely, historyProperties.getFlushIntervalMillis(),
+				historyProperties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+		writer.scheduleWithFixedDelay(this::maintainSafely, maintenanceIntervalMillis, maintenanceIntervalMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Enqueues the registry record of an accepted ping. Never blocks; when the
+	 * queue is full the record is dropped and counted.
+	 */
+	public void recordPing(NodeInfo node, String p2pListenHost) {
+		if (pendingRecords == null) {
+			return;
+		}
+		if (!pendingRecords.offer(new PingRecord(node.getNodeIdentity(), p2pListenHost, node.getP2pListenPort(),
+				node.getHeadHeight(), node.getUpdatedAt(), node.getFirstSeen(), node.getPingCount(),
+				node.getPingIntervalMillis()))) {
+			droppedRecords.incrementAndGet();
+		}
+	}
+
+	public NodeHistoryDtoV1 getHistory(Address nodeIdentity) {
+		if (nodes == null) {
+			throw new GENotFoundException("Node history is disabled.");
+		}
+		byte[] encoded = nodes.get(nodeIdentity.toHexString());
+		if (encoded == null) {
+			throw new GENotFoundException("No history for node identity.");
+		}
+		NodeHistoryEntry entry = NodeHistoryEntry.decode(encoded);
+		return new NodeHistoryDtoV1(
+				nodeIdentity.toHexString(),
+				entry.firstSeen,
+				entry.lastSeen,
+				entry.host,
+				entry.port,
+				entry.headHeight,
+				entry.hostChanges.stream()
+						.map(change -> new NodeHostChangeDtoV1(change.changedAt, change.host, change.port))
+						.toList(),
+				entry.heightSamples.stream()
+						.map(sample -> new NodeHeightSampleDtoV1(sample.sampledAt, sample.headHeight))
+						.toList());
+	}
+
+	/**
+	 * @return registry tenure of the identity as of its last recorded ping, or
+	 *         {@code null} when unknown or history is disabled.
+	 */
+	public NodeTenure getTenure(Address nodeIdentity) {
+		if (nodes == null) {
+			return null;
+		}
+		byte[] encoded = nodes.get(nodeIdentity.toHexString());
+		if (encoded == null) {
+			return null;
+		}
+		NodeHistoryEntry entry = NodeHistoryEntry.decode(encoded);
+		// entries written before tenure was recorded
+		if (entry.pingCount == 0) {
+			return null;
+		}
+		return new NodeTenure(entry.joinedAt, entry.pingCount, entry.pingIntervalMillis, entry.lastSeen);
+	}
+
+	public long getDroppedRecords() {
+		return droppedRecords.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (store == null) {
+			return;
+		}
+		writer.shutdown();
+		try {
+			writer.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flushSafely();
+		store.close();
+	}
+
+	private void flushSafely() {
+		try {
+			int flushed;
+			do {
+				flushed = flush();
+				if (flushed > 0) {
+					// a burst must not outgrow the budget until the next maintenance pass
+					enforceDiskBudget();
+				}
+				// keep draining while the queue is backed up
+			} while (flushed == MAX_BATCH_SIZE);
+		} catch (Exception e) {
+			log.error("Failed to flush node history batch", e);
+		}
+	}
+
+	private int flush() {
+		List<PingRecord> batch = new ArrayList<>();
+		pendingRecords.drainTo(batch, MAX_BATCH_SIZE);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		long retentionCutoff = Instant.now().getEpochSecond() - retentionSeconds();
+		Map<String, NodeHistoryEntry> touched = new HashMap<>();
+		for (PingRecord ping : batch) {
+			NodeHistoryEntry entry = touched.computeIfAbsent(ping.nodeIdentity.toHexString(), key -> {
+				byte[] encoded = nodes.get(key);
+				return encoded == null ? new NodeHistoryEntry() : NodeHistoryEntry.decode(encoded);
+			});
+			entry.apply(ping, retentionCutoff);
+		}
+		touched.forEach((key, entry) -> nodes.put(key, entry.encode()));
+		store.commit();
+		return batch.size();
+	}
+
+	private void maintainSafely() {
+		try {
+			purgeExpired();
+			enforceDiskBudget();
+		} catch (Exception e) {
+			log.error("Failed to maintain node history", e);
+		}
+	}
+
+	private void purgeExpired() {
+		long retentionCutoff = Instant.now().getEpochSecond() - retentionSeconds();
+		List<String> expired = new ArrayList<>();
+		nodes.forEach((key, encoded) -> {
+			if (lastSeenOf(encoded) < retentionCutoff) {
+				expired.add(key);
+			}
+		});
+		expired.forEach(nodes::remove);
+		store.commit();
+		if (!expired.isEmpty()) {
+			log.info("Purged {} node history entries older than {} hours", expired.size(),
+					historyProperties.getRetentionHours());
+		}
+	}
+
+	private void enforceDiskBudget() {
+		long maxBytes = historyProperties.getMaxDiskMegabytes() * 1024L * 1024L;
+		long size = store.getFileStore().size();
+		if (size <= maxBytes) {
+			return;
+		}
+		// space freed within the store's retention time cannot be reclaimed yet
+		long now = System.currentTimeMillis();
+		if (now - lastCompactedAt >= store.getRetentionTime()) {
+			store.compactFile(COMPACT_MAX_MILLIS);
+			lastCompactedAt = now;
+			size = store.getFileStore().size();
+			if (size <= maxBytes) {
+				return;
+			}
+		}
+		// Still over budget: drop the least recently seen identities in proportion
+		// to the live data, not the file, which also holds pages awaiting
+		// compaction; trimming by file size would empty the store during a burst.
+		long liveBytes = size * store.getFileStore().getChunksFillRate() / 100;
+		if (liveBytes <= maxBytes) {
+			return;
+		}
+		int toRemove = (int) Math.max(1, nodes.size() * (liveBytes - maxBytes) / liveBytes);
+		List<Map.Entry<String, Long>> byLastSeen = new ArrayList<>(nodes.size());
+		nodes.forEach((key, encoded) -> byLastSeen.add(Map.entry(key, lastSeenOf(encoded))));
+		byLastSeen.sort(Map.Entry.comparingByValue());
+		byLastSeen.stream().limit(toRemove).forEach(entry -> nodes.remove(entry.getKey()));
+		store.commit();
+		log.warn("Node history exceeded disk budget of {} MB, trimmed {} oldest identities",
+				historyProperties.getMaxDiskMegabytes(), toRemove);
+	}
+
+	private long retentionSeconds() {
+		return historyProperties.getRetentionHours() * 3600L;
+	}
+
+	private static long lastSeenOf(byte[] encoded) {
+		return ByteBuffer.wrap(encoded).getLong(LAST_SEEN_OFFSET);
+	}
+
+	@Value
+	static class PingRecord {
+		Address nodeIdentity;
+		String host;
+		int port;
+		long headHeight;
+		long seenAt;
+		long joinedAt;
+		int pingCount;
+		int pingIntervalMillis;
+	}
+
+	@Value
+	static class HostChange {
+		long changedAt;
+		String host;
+		int port;
+	}
+
+	@Value
+	static class HeightSample {
+		long sampledAt;
+		long headHeight;
+	}
+
+	@FieldDefaults(level = AccessLevel.PRIVATE)
+	static class NodeHistoryEntry {
+		long firstSeen;
+		long lastSeen;
+		String host;
+		int port;
+		long headHeight;
+		final Deque<HostChange> hostChanges = new ArrayDeque<>();
+		final Deque<HeightSample> heightSamples = new ArrayDeque<>();
+		// registry tenure as of the last ping, appended to the encoding
+		long joinedAt;
+		int pingCount;
+		int pingIntervalMillis;
+
+		void apply(PingRecord ping, long retentionCutoff) {
+			if (firstSeen == 0) {
+				firstSeen = ping.seenAt;
+				heightSamples.addLast(new HeightSample(ping.seenAt, ping.headHeight));
+			} else {
+				if (!ping.host.equals(host) || ping.port != port) {
+					hostChanges.addLast(new HostChange(ping.seenAt, ping.host, ping.port));
+				}
+				HeightSample lastSample = heightSamples.peekLast();
+				if (ping.headHeight != headHeight && (lastSample == null
+						|| ping.seenAt - lastSample.sampledAt >= HEIGHT_SAMPLE_INTERVAL_SECONDS)) {
+					heightSamples.addLast(new HeightSample(ping.seenAt, ping.headHeight));
+				}
+			}
+			if (ping.seenAt >= lastSeen) {
+				joinedAt = ping.joinedAt;
+				pingCount = ping.pingCount;
+				pingIntervalMillis = ping.pingIntervalMillis;
+			}
+			lastSeen = Math.max(lastSeen, ping.seenAt);
+			host = ping.host;
+			port = ping.port;
+			headHeight = ping.headHeight;
+
+			while (hostChanges.size() > MAX_HOST_CHANGES_PER_NODE
+					|| (!hostChanges.isEmpty() && hostChanges.peekFirst().changedAt < retentionCutoff)) {
+				hostChanges.removeFirst();
+			}
+			while (heightSamples.size() > MAX_HEIGHT_SAMPLES_PER_NODE
+					|| (heightSamples.size() > 1 && heightSamples.peekFirst().sampledAt < retentionCutoff)) {
+				heightSamples.removeFirst();
+			}
+		}
+
+		byte[] encode() {
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeLong(firstSeen);
+				out.writeLong(lastSeen);
+				out.writeUTF(host);
+				out.writeInt(port);
+				out.writeLong(headHeight);
+				out.writeShort(hostChanges.size());
+				for (HostChange change : hostChanges) {
+					out.writeLong(change.changedAt);
+					out.writeUTF(change.host);
+					out.writeInt(change.port);
+				}
+				out.writeShort(heightSamples.size());
+				for (HeightSample sample : heightSamples) {
+					out.writeLong(sample.sampledAt);
+					out.writeLong(sample.headHeight);
+				}
+				out.writeLong(joinedAt);
+				out.writeInt(pingCount);
+				out.writeInt(pingIntervalMillis);
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new GEFailedException("Failed to encode node history entry", e);
+			}
+		}
+
+		static NodeHistoryEntry decode(byte[] encoded) {
+			try {
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+				NodeHistoryEntry entry = new NodeHistoryEntry();
+				entry.firstSeen = in.readLong();
+				entry.lastSeen = in.readLong();
+				entry.host = in.readUTF();
+				entry.port = in.readInt();
+				entry.headHeight = in.readLong();
+				int hostChanges = in.readShort();
+				for (int i = 0; i < hostChanges; i++) {
+					entry.hostChanges.addLast(new HostChange(in.readLong(), in.readUTF(), in.readInt()));
+				}
+				int heightSamples = in.readShort();
+				for (int i = 0; i < heightSamples; i++) {
+					entry.heightSamples.addLast(new HeightSample(in.readLong(), in.readLong()));
+				}
+				if (in.available() > 0) {
+					entry.joinedAt = in.readLong();
+					entry.pingCount = in.readInt();
+					entry.pingIntervalMillis = in.readInt();
+				}
+				return entry;
+			} catch (IOException e) {
+				throw new GEFailedException("Failed to decode node history entry", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesReachabilityConfig;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeInternTables;
+import global.goldenera.directory.registry.NodeRemovedEvent;
+import global.goldenera.directory.registry.NodeUpdatedEvent;
+import global.goldenera.directory.utils.ValidatorUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dials back advertised P2P endpoints to find the ones nobody can reach (NAT,
+ * firewall, wrong port).
+ * <p>
+ * Registry writes queue a probe when the endpoint is new, moved, or was last
+ * probed more than {@code reprobeSeconds} ago; enqueueing never blocks and
+ * drops the probe when the queue is full, the next ping retries. A dispatcher
+ * thread paces probes to {@code probesPerSecond} and runs each TCP connect on
+ * its own virtual thread, at most {@code maxConcurrentProbes} at once.
+ * <p>
+ * Each node keeps an EWMA score of its connect outcomes; pongs can list
+ * reachable nodes first or exclusively, see {@link PongReachabilityMode}.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReachabilityService {
+
+	// a node counts as reachable at or above this score
+	static final double REACHABLE_SCORE = 0.5;
+	static final double SCORE_ALPHA = 0.5;
+
+	boolean enabled;
+	PongReachabilityMode pongMode;
+	int connectTimeoutMillis;
+	long reprobeMillis;
+	long probeSpacingNanos;
+	NodeInternTables internTables;
+	Predicate<String> dialable;
+	Map<Address, Reachability> reachability = new ConcurrentHashMap<>();
+	Set<Address> queued = ConcurrentHashMap.newKeySet();
+	BlockingQueue<ProbeTarget> queue;
+	Semaphore inFlight;
+	AtomicLong probes = new AtomicLong();
+	AtomicLong droppedProbes = new AtomicLong();
+	ExecutorService probeExecutor;
+	Thread dispatcher;
+
+	@Autowired
+	public ReachabilityService(PropertiesReachabilityConfig reachabilityProperties, NodeInternTables internTables) {
+		this(reachabilityProperties, internTables, ValidatorUtil.HostValidator::isSafe);
+	}
+
+	/**
+	 * @param dialable
+	 *            decides whether a resolved address may be dialled.
+	 */
+	ReachabilityService(PropertiesReachabilityConfig reachabilityProperties, NodeInternTables internTables,
+			Predicate<String> dialable) {
+		this.enabled = reachabilityProperties.getEnabled();
+		this.pongMode = reachabilityProperties.getPongMode();
+		this.connectTimeoutMillis = reachabilityProperties.getConnectTimeoutMillis();
+		this.reprobeMillis = reachabilityProperties.getReprobeSeconds() * 1000L;
+		this.internTables = internTables;
+		this.dialable = dialable;
+		if (!enabled) {
+			this.probeSpacingNanos = 0;
+			this.queue = null;
+			this.inFlight = null;
+			this.probeExecutor = null;
+			this.dispatcher = null;
+			return;
+		}
+		if (reachabilityProperties.getProbesPerSecond() <= 0 || reachabilityProperties.getMaxConcurrentProbes() <= 0) {
+			throw new GEFailedException("Reachability probe rate and concurrency must be positive.");
+		}
+		this.probeSpacingNanos = TimeUnit.SECONDS.toNanos(1) / reachabilityProperties.getProbesPerSecond();
+		this.queue = new ArrayBlockingQueue<>(reachabilityProperties.getQueueCapacity());
+		this.inFlight = new Semaphore(reachabilityProperties.getMaxConcurrentProbes());
+		this.probeExecutor = Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name("reachability-probe-", 0).factory());
+		this.dispatcher = new Thread(this::dispatch, "reachability-prober");
+		dispatcher.setDaemon(true);
+		dispatcher.start();
+		log.info("Reachability probing enabled: {} probes/s, {} concurrent, pong mode {}",
+				reachabilityProperties.getProbesPerSecond(), reachabilityProperties.getMaxConcurrentProbes(), pongMode);
+	}
+
+	@EventListener
+	public void onNodeUpdated(NodeUpdatedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		NodeInfo node = event.getNode();
+		Address identity = node.getNodeIdentity();
+		String host = internTables.host(node.getP2pListenHostId());
+		Reachability current = reachability.get(identity);
+		if (current == null || !current.isFor(host, node.getP2pListenPort())) {
+			// a moved endpoint starts over
+			reachability.put(identity, new Reachability(host, node.getP2pListenPort(), 0, 0, 0));
+		} else if (System.currentTimeMillis() - current.getProbedAtMillis() < reprobeMillis) {
+			return;
+		}
+		if (!queued.add(identity)) {
+			return;
+		}
+		if (!queue.offer(new ProbeTarget(identity, host, node.getP2pListenPort()))) {
+			queued.remove(identity);
+			droppedProbes.incrementAndGet();
+		}
+	}
+
+	@EventListener
+	public void onNodeRemoved(NodeRemovedEvent event) {
+		reachability.remove(event.getNode().getNodeIdentity());
+	}
+
+	/**
+	 * Applies the pong mode to a registry snapshot.
+	 */
+	public List<NodeInfo> select(List<NodeInfo> nodes) {
+		if (!enabled) {
+			return nodes;
+		}
+		return switch (pongMode) {
+			case OFF -> nodes;
+			case PREFER -> nodes.stream()
+					.sorted(Comparator.comparing((NodeInfo node) -> !isReachable(node.getNodeIdentity())))
+					.toList();
+			case REQUIRE -> nodes.stream()
+					.filter(node -> isReachable(node.getNodeIdentity()))
+					.toList();
+		};
+	}
+
+	/**
+	 * @return {@code false} until the endpoint was probed at least once.
+	 */
+	public boolean isReachable(Address nodeIdentity) {
+		Reachability current = reachability.get(nodeIdentity);
+		return current != null && current.getProbes() > 0 && current.getScore() >= REACHABLE_SCORE;
+	}
+
+	public long getProbes() {
+		return probes.get();
+	}
+
+	public long getDroppedProbes() {
+		return droppedProbes.get();
+	}
+
+	public int getReachableNodes() {
+		int reachable = 0;
+		for (Reachability current : reachability.values()) {
+			if (current.getProbes() > 0 && current.getScore() >= REACHABLE_SCORE) {
+				reachable++;
+			}
+		}
+		return reachable;
+	}
+
+	@PreDestroy
+	public void close() {
+		if (dispatcher != null) {
+			dispatcher.interrupt();
+			probeExecutor.shutdownNow();
+		}
+	}
+
+	private void dispatch() {
+		long nextStart = System.nanoTime();
+		try {
+			while (true) {
+				ProbeTarget target = queue.take();
+				long wait = nextStart - System.nanoTime();
+				if (wait > 0) {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				}
+				nextStart = Math.max(nextStart, System.nanoTime()) + probeSpacingNanos;
+				inFlight.acquire();
+				try {
+					probeExecutor.execute(() -> probe(target));
+				} catch (RejectedExecutionException e) {
+					inFlight.release();
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void probe(ProbeTarget target) {
+		boolean reachable = false;
+		try {
+			// resolves on this virtual thread
+			InetSocketAddress address = new InetSocketAddress(target.getHost(), target.getPort());
+			// a public hostname may still resolve to an internal address
+			if (!address.isUnresolved() && dialable.test(address.getAddress().getHostAddress())) {
+				try (Socket socket = new Socket()) {
+					socket.connect(address, connectTimeoutMillis);
+					reachable = true;
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			log.debug("Probe of {}:{} failed: {}", target.getHost(), target.getPort(), e.getMessage());
+		} finally {
+			inFlight.release();
+			queued.remove(target.getIdentity());
+		}
+		probes.incrementAndGet();
+		double outcome = reachable ? 1 : 0;
+		reachability.computeIfPresent(target.getIdentity(), (identity, current) -> {
+			if (!current.isFor(target.getHost(), target.getPort())) {
+				// moved while probing, the new endpoint is queued separately
+				return current;
+			}
+			double score = current.getProbes() == 0 ? outcome
+					: SCORE_ALPHA * outcome + (1 - SCORE_ALPHA) * current.getScore();
+			return new Reachability(current.getHost(), current.getPort(), score, current.getProbes() + 1,
+					System.currentTimeMillis());
+		});
+	}
+
+	@Value
+	static class ProbeTarget {
+		Address identity;
+		String host;
+		int port;
+	}
+
+	@Value
+	static class Reachability {
+		String host;
+		int port;
+		double score;
+		int probes;
+		long probedAtMillis;
+
+		boolean isFor(String otherHost, int otherPort) {
+			return port == otherPort && host.equals(otherHost);
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDeltasDtoV1;
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDigestDtoV1;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesReplicationConfig;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.registry.NodeUpdatedEvent;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import jakarta.annotation.PreDestroy;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replicates the registry between directory instances.
+ * <p>
+ * Records written by local pings are pushed to every peer in batches. Pushes
+ * are best effort; gaps (lost batches, restarts, partitions) are repaired by
+ * periodic anti-entropy: each instance pulls the peer's 256-bucket digest and
+ * fetches all buckets that differ in one request. Conflicts resolve by last
+ * writer wins on the node's signed ping timestamp, see
+ * {@link NodeBusinessService#applyRecord(NodeRecordDtoV1)}.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReplicationService {
+
+	public static final int DIGEST_BUCKETS = 256;
+	static final String ACCESS_TOKEN_HEADER = "X-Access-Token";
+	// last eight bytes of a 20-byte identity
+	static final int IDENTITY_TAIL_OFFSET = 12;
+
+	PropertiesReplicationConfig replicationProperties;
+	NodeRegistry nodeRegistry;
+	NodeBusinessService nodeBusinessService;
+	BlockingQueue<NodeRecordDtoV1> outbox;
+	AtomicLong droppedDeltas = new AtomicLong();
+	AtomicLong repairedRecords = new AtomicLong();
+	RestClient restClient;
+	ScheduledExecutorService replicator;
+
+	public ReplicationService(PropertiesReplicationConfig replicationProperties,
+			PropertiesGeneralConfig generalProperties, NodeRegistry nodeRegistry,
+			NodeBusinessService nodeBusinessService) {
+		this.replicationProperties = replicationProperties;
+		this.nodeRegistry = nodeRegistry;
+		this.nodeBusinessService = nodeBusinessService;
+		if (!replicationProperties.getEnabled() || replicationProperties.getPeers().isEmpty()) {
+			this.outbox = null;
+			this.restClient = null;
+			this.replicator = null;
+			return;
+		}
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(Duration.ofMillis(replicationProperties.getRequestTimeoutMillis()));
+		requestFactory.setReadTimeout(Duration.ofMillis(replicationProperties.getRequestTimeoutMillis()));
+		this.restClient = RestClient.builder()
+				.requestFactory(requestFactory)
+				.defaultHeader(ACCESS_TOKEN_HEADER, generalProperties.getApiAccessToken())
+				.build();
+		this.outbox = new ArrayBlockingQueue<>(replicationProperties.getQueueCapacity());
+		this.replicator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "node-replicator");
+			thread.setDaemon(true);
+			return thread;
+		});
+		replicator.scheduleWithFixedDelay(this::pushSafely, replicationProperties.getPushIntervalMillis(),
+				replicationProperties.getPushIntervalMillis(), TimeUnit.MILLISECONDS);
+		replicator.scheduleWithFixedDelay(this::antiEntropySafely,
+				replicationProperties.getAntiEntropyIntervalSeconds(),
+				replicationProperties.getAntiEntropyIntervalSeconds(), TimeUnit.SECONDS);
+		log.info("Replicating node registry with peers: {}", replicationProperties.getPeers());
+	}
+
+	@EventListener
+	public void onNodeUpdated(NodeUpdatedEvent event) {
+		if (outbox == null || !event.isLocal()) {
+			return;
+		}
+		if (!outbox.offer(nodeBusinessService.toRecord(event.getNode()))) {
+			droppedDeltas.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Applies records received from a peer. Each record passes the same host,
+	 * fork and admission checks as a ping; malformed or refused records are
+	 * skipped. A follower refuses the whole batch, it only mirrors its leader.
+	 *
+	 * @return number of records that changed the local registry.
+	 */
+	public int applyRecords(List<NodeRecordDtoV1> records) {
+		nodeBusinessService.checkWritable();
+		int applied = 0;
+		for (NodeRecordDtoV1 record : records) {
+			if (record == null) {
+				continue;
+			}
+			try {
+				if (nodeBusinessService.applyRecord(record)) {
+					applied++;
+				}
+			} catch (Exception e) {
+				log.debug("Skipped replicated record for {}: {}", record.getNodeIdentity(), e.getMessage());
+			}
+		}
+		return applied;
+	}
+
+	public ReplicationDigestDtoV1 digest() {
+		long[] buckets = new long[DIGEST_BUCKETS];
+		for (NodeInfo node : nodeRegistry.snapshot(null)) {
+			byte[] identity = node.getNodeIdentity().toArrayUnsafe();
+			ByteBuffer identityBytes = ByteBuffer.wrap(identity);
+			// summing keeps the digest independent of iteration order
+			buckets[bucketOf(identity)] += mix(identityBytes.getLong(0)
+					^ identityBytes.getLong(IDENTITY_TAIL_OFFSET)
+					^ mix(node.getPingTimestamp()));
+		}
+		return new ReplicationDigestDtoV1(buckets);
+	}
+
+	/**
+	 * Records of every listed bucket, collected in one pass over one registry
+	 * snapshot so an anti-entropy round costs the same however many buckets
+	 * differ.
+	 */
+	public List<NodeRecordDtoV1> buckets(int... buckets) {
+		boolean[] wanted = new boolean[DIGEST_BUCKETS];
+		for (int bucket : buckets) {
+			wanted[bucket] = true;
+		}
+		List<NodeRecordDtoV1> records = new ArrayList<>();
+		for (NodeInfo node : nodeRegistry.snapshot(null)) {
+			if (wanted[bucketOf(node.getNodeIdentity().toArrayUnsafe())]) {
+				records.add(nodeBusinessService.toRecord(node));
+			}
+		}
+		return records;
+	}
+
+	public long getDroppedDeltas() {
+		return droppedDeltas.get();
+	}
+
+	public long getRepairedRecords() {
+		return repairedRecords.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (replicator != null) {
+			replicator.shutdownNow();
+		}
+	}
+
+	private void pushSafely() {
+		try {
+			List<NodeRecordDtoV1> batch = new ArrayList<>(replicationProperties.getBatchSize());
+			while (outbox.drainTo(batch, replicationProperties.getBatchSize()) > 0) {
+				ReplicationDeltasDtoV1 deltas = new ReplicationDeltasDtoV1(batch);
+				for (String peer : replicationProperties.getPeers()) {
+					try {
+						restClient.post()
+								.uri(peer + "/api/v1/replication/deltas")
+								.body(deltas)
+								.retrieve()
+								.toBodilessEntity();
+					} catch (Exception e) {
+						// anti-entropy repairs whatever this peer missed
+						log.warn("Failed to push {} deltas to {}: {}", batch.size(), peer, e.getMessage());
+					}
+				}
+				batch = new ArrayList<>(replicationProperties.getBatchSize());
+			}
+		} catch (Exception e) {
+			log.error("Failed to push replication deltas", e);
+		}
+	}
+
+	private void antiEntropySafely() {
+		for (String peer : replicationProperties.getPeers()) {
+			try {
+				repairFrom(peer);
+			} catch (Exception e) {
+				log.warn("Anti-entropy with {} failed: {}", peer, e.getMessage());
+			}
+		}
+	}
+
+	private void repairFrom(String peer) {
+		ReplicationDigestDtoV1 remote = restClient.get()
+				.uri(peer + "/api/v1/replication/digest")
+				.retrieve()
+				.body(ReplicationDigestDtoV1.class);
+		if (remote == null || remote.getBuckets() == null || remote.getBuckets().length != DIGEST_BUCKETS) {
+			return;
+		}
+		long[] local = digest().getBuckets();
+		List<Integer> differing = new ArrayList<>();
+		for (int bucket = 0; bucket < DIGEST_BUCKETS; bucket++) {
+			if (local[bucket] != remote.getBuckets()[bucket]) {
+				differing.add(bucket);
+			}
+		}
+		if (differing.isEmpty()) {
+			return;
+		}
+		ReplicationDeltasDtoV1 records = restClient.get()
+				.uri(peer + "/api/v1/replication/buckets?ids={ids}",
+						differing.stream().map(String::valueOf).collect(Collectors.joining(",")))
+				.retrieve()
+				.body(ReplicationDeltasDtoV1.class);
+		int repaired = 0;
+		if (records != null && records.getRecords() != null) {
+			repaired = applyRecords(records.getRecords());
+		}
+		if (repaired > 0) {
+			repairedRecords.addAndGet(repaired);
+			log.info("Anti-entropy with {}: {} differing buckets, {} records repaired", peer, differing.size(),
+					repaired);
+		}
+	}
+
+	private static int bucketOf(byte[] identity) {
+		return identity[0] & 0xff;
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -0,0 +1,381 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.Signature;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodeInfoDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.exceptions.GEFailedException;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesShardingConfig;
+import global.goldenera.directory.utils.RlpEncoderUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits the identity space across directory instances.
+ * <p>
+ * Identities map to members through a consistent-hash ring with
+ * {@code virtualNodes} points per member, so adding or removing a member only
+ * moves its neighbours' slices. A ping received by a non-owner is verified
+ * there and queued for the owner; a background thread forwards it, and if the
+ * queue is full or the owner is unreachable the ping is kept locally instead.
+ * Pongs merge the local registry with the other members' signed summaries.
+ * Summaries are fetched in the background only for networks a pong asked for
+ * within the last few refreshes, and are verified against each member's
+ * configured identity.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ShardingService {
+
+	static final String ACCESS_TOKEN_HEADER = "X-Access-Token";
+	// summaries older than this many refresh intervals are dropped
+	static final int SUMMARY_MAX_AGE_REFRESHES = 3;
+	// demand key for pongs across all networks
+	static final String ALL_NETWORKS = "*";
+
+	boolean enabled;
+	String selfId;
+	List<ShardMember> members = new ArrayList<>();
+	long[] ringPoints;
+	ShardMember[] ringOwners;
+	long summaryMaxAgeSeconds;
+	// keyed by member id and network demand key
+	Map<SummaryKey, ShardSummary> summaries = new ConcurrentHashMap<>();
+	// network demand key -> epoch second of the last pong asking for it
+	Map<String, Long> demandedNetworks = new ConcurrentHashMap<>();
+	BlockingQueue<PendingForward> forwardQueue;
+	AtomicLong forwarded = new AtomicLong();
+	AtomicLong forwardFailures = new AtomicLong();
+	AtomicLong forwardRejected = new AtomicLong();
+	AtomicLong rejectedSummaries = new AtomicLong();
+	RestClient restClient;
+	ScheduledExecutorService summaryFetcher;
+	ExecutorService forwarder;
+
+	public ShardingService(PropertiesShardingConfig shardingProperties, PropertiesGeneralConfig generalProperties) {
+		this.enabled = shardingProperties.getEnabled();
+		this.selfId = shardingProperties.getSelfId();
+		this.summaryMaxAgeSeconds = (long) shardingProperties.getSummaryRefreshSeconds() * SUMMARY_MAX_AGE_REFRESHES;
+		if (!enabled) {
+			this.ringPoints = new long[0];
+			this.ringOwners = new ShardMember[0];
+			this.forwardQueue = null;
+			this.restClient = null;
+			this.summaryFetcher = null;
+			this.forwarder = null;
+			return;
+		}
+		for (String member : shardingProperties.getMembers()) {
+			members.add(ShardMember.parse(member));
+		}
+		if (members.stream().noneMatch(member -> member.getId().equals(selfId))) {
+			throw new GEFailedException("Sharding self id '" + selfId + "' is not a configured member.");
+		}
+		int virtualNodes = shardingProperties.getVirtualNodes();
+		int points = members.size() * virtualNodes;
+		long[] unsortedPoints = new long[points];
+		Integer[] order = new Integer[points];
+		for (int m = 0; m < members.size(); m++) {
+			for (int v = 0; v < virtualNodes; v++) {
+				int point = m * virtualNodes + v;
+				unsortedPoints[point] = pointOf(members.get(m).getId() + "#" + v);
+				order[point] = point;
+			}
+		}
+		Arrays.sort(order, Comparator.comparingLong(point -> unsortedPoints[point]));
+		this.ringPoints = new long[points];
+		this.ringOwners = new ShardMember[points];
+		for (int i = 0; i < points; i++) {
+			ringPoints[i] = unsortedPoints[order[i]];
+			ringOwners[i] = members.get(order[i] / virtualNodes);
+		}
+
+		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		requestFactory.setConnectTimeout(Duration.ofMillis(shardingProperties.getRequestTimeoutMillis()));
+		requestFactory.setReadTimeout(Duration.ofMillis(shardingProperties.getRequestTimeoutMillis()));
+		this.restClient = RestClient.builder()
+				.requestFactory(requestFactory)
+				.defaultHeader(ACCESS_TOKEN_HEADER, generalProperties.getApiAccessToken())
+				.build();
+		this.summaryFetcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "shard-summary-fetcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		summaryFetcher.scheduleWithFixedDelay(this::refreshSummariesSafely, 0,
+				shardingProperties.getSummaryRefreshSeconds(), TimeUnit.SECONDS);
+		this.forwardQueue = new ArrayBlockingQueue<>(shardingProperties.getForwardQueueCapacity());
+		this.forwarder = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "shard-forwarder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		forwarder.execute(this::forwardLoop);
+		log.info("Sharding enabled as '{}' with {} members", selfId, members.size());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the member owning {@code nodeIdentity}, or {@code null} when this
+	 *         instance owns it or sharding is disabled.
+	 */
+	public ShardMember remoteOwner(Address nodeIdentity) {
+		if (!enabled) {
+			return null;
+		}
+		long point = ByteBuffer.wrap(nodeIdentity.toArrayUnsafe()).getLong(0);
+		int index = Arrays.binarySearch(ringPoints, point);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		ShardMember owner = ringOwners[index == ringPoints.length ? 0 : index];
+		return owner.getId().equals(selfId) ? null : owner;
+	}
+
+	/**
+	 * Queues {@code record} for its owner without blocking the caller.
+	 * {@code keepLocally} runs on the forwarder thread when the owner cannot
+	 * be reached; a record the owner refuses is dropped, the owner decided.
+	 *
+	 * @return {@code false} when the queue is full and the caller should keep
+	 *         the record itself.
+	 */
+	public boolean forward(ShardMember owner, NodeRecordDtoV1 record, Consumer<NodeRecordDtoV1> keepLocally) {
+		if (!forwardQueue.offer(new PendingForward(owner, record, keepLocally))) {
+			forwardFailures.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return nodes from the other members' latest verified summaries. The
+	 *         first call for a network only registers the demand, its
+	 *         summaries follow with the next refresh.
+	 */
+	public List<NodeInfoDtoV1> remoteNodes(Network network) {
+		String demandKey = demandKeyOf(network);
+		long now = Instant.now().getEpochSecond();
+		demandedNetworks.put(demandKey, now);
+		List<NodeInfoDtoV1> nodes = new ArrayList<>();
+		long oldest = now - summaryMaxAgeSeconds;
+		for (ShardMember member : members) {
+			ShardSummary summary = summaries.get(new SummaryKey(member.getId(), demandKey));
+			if (summary == null || summary.getTimestamp() < oldest) {
+				continue;
+			}
+			nodes.addAll(summary.getPeers());
+		}
+		return nodes;
+	}
+
+	public long getForwarded() {
+		return forwarded.get();
+	}
+
+	public long getForwardFailures() {
+		return forwardFailures.get();
+	}
+
+	public long getForwardRejected() {
+		return forwardRejected.get();
+	}
+
+	public long getRejectedSummaries() {
+		return rejectedSummaries.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (summaryFetcher != null) {
+			summaryFetcher.shutdownNow();
+		}
+		if (forwarder != null) {
+			forwarder.shutdownNow();
+		}
+	}
+
+	private void forwardLoop() {
+		while (!Thread.currentThread().isInterrupted()) {
+			PendingForward pending;
+			try {
+				pending = forwardQueue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			forwardSafely(pending);
+		}
+	}
+
+	private void forwardSafely(PendingForward pending) {
+		ShardMember owner = pending.getOwner();
+		try {
+			restClient.post()
+					.uri(owner.getUrl() + "/api/v1/shard/ingest")
+					.body(pending.getRecord())
+					.retrieve()
+					.toBodilessEntity();
+			forwarded.incrementAndGet();
+			return;
+		} catch (HttpClientErrorException e) {
+			// the owner decided (admission, validation); do not bypass it locally
+			forwardRejected.incrementAndGet();
+			log.debug("Shard {} rejected forwarded ping: {}", owner.getId(), e.getMessage());
+			return;
+		} catch (Exception e) {
+			forwardFailures.incrementAndGet();
+			log.warn("Failed to forward ping to shard {}: {}", owner.getId(), e.getMessage());
+		}
+		try {
+			pending.getKeepLocally().accept(pending.getRecord());
+		} catch (Exception e) {
+			log.debug("Could not keep unforwarded ping locally: {}", e.getMessage());
+		}
+	}
+
+	private void refreshSummariesSafely() {
+		long oldest = Instant.now().getEpochSecond() - summaryMaxAgeSeconds;
+		demandedNetworks.values().removeIf(requestedAt -> requestedAt < oldest);
+		summaries.keySet().removeIf(key -> !demandedNetworks.containsKey(key.getNetwork()));
+		for (String demandKey : demandedNetworks.keySet()) {
+			for (ShardMember member : members) {
+				if (!member.getId().equals(selfId)) {
+					refreshSummary(member, demandKey);
+				}
+			}
+		}
+	}
+
+	private void refreshSummary(ShardMember member, String demandKey) {
+		try {
+			String uri = member.getUrl() + "/api/v1/shard/summary"
+					+ (ALL_NETWORKS.equals(demandKey) ? "" : "?network=" + demandKey);
+			NodePongDtoV1 summary = restClient.get()
+					.uri(uri)
+					.retrieve()
+					.body(NodePongDtoV1.class);
+			if (!isSignedBy(summary, member.getIdentity())) {
+				rejectedSummaries.incrementAndGet();
+				log.warn("Rejected shard summary from {}: not signed by its identity", member.getId());
+				return;
+			}
+			summaries.put(new SummaryKey(member.getId(), demandKey),
+					new ShardSummary(summary.getPayload().getPeers(), summary.getPayload().getTimestamp()));
+		} catch (Exception e) {
+			log.warn("Failed to fetch shard summary from {}: {}", member.getId(), e.getMessage());
+		}
+	}
+
+	private static String demandKeyOf(Network network) {
+		return network == null ? ALL_NETWORKS : network.name();
+	}
+
+	private static boolean isSignedBy(NodePongDtoV1 pong, Address identity) {
+		if (pong == null || pong.getPayload() == null || pong.getPayload().getPeers() == null
+				|| pong.getSignature() == null) {
+			return false;
+		}
+		Hash hash = Hash.hash(RlpEncoderUtil.encodePongV1(pong.getPayload()));
+		return Signature.wrap(Bytes.fromHexString(pong.getSignature())).validate(hash, identity);
+	}
+
+	private static long pointOf(String value) {
+		byte[] digest = Hash.hash(Bytes.wrap(value.getBytes(StandardCharsets.UTF_8))).toArrayUnsafe();
+		return ByteBuffer.wrap(digest).getLong(0);
+	}
+
+	@Value
+	public static class ShardMember {
+		String id;
+		Address identity;
+		String url;
+
+		static ShardMember parse(String value) {
+			String[] parts = value.split("@", 3);
+			if (parts.length != 3 || parts[0].isBlank()) {
+				throw new GEFailedException("Invalid shard member '" + value + "', expected id@identity@url.");
+			}
+			return new ShardMember(parts[0], Address.fromHexString(parts[1]), parts[2]);
+		}
+	}
+
+	@Value
+	static class PendingForward {
+		ShardMember owner;
+		NodeRecordDtoV1 record;
+		Consumer<NodeRecordDtoV1> keepLocally;
+	}
+
+	@Value
+	static class SummaryKey {
+		String memberId;
+		String network;
+	}
+
+	@Value
+	static class ShardSummary {
+		List<NodeInfoDtoV1> peers;
+		long timestamp;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Immutable binary trie of IP prefixes over the 128-bit addresses of
+ * {@link IpAddressUtil}, answering "is this address inside any range" in at
+ * most 128 array reads, 32 for IPv4, and without allocating. IPv4 ranges are
+ * stored under {@code ::ffff:0:0/96}, so they also match IPv4-mapped IPv6
+ * literals.
+ */
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class CidrTrie {
+
+	static final int IPV4_MAPPED_BITS = 96;
+	static final int COVERED = -1;
+	static final int ABSENT = -2;
+
+	// children of node n at 2n (bit 0) and 2n + 1 (bit 1); 0 means none, node 0 is the root
+	int[] children;
+	boolean[] terminal;
+	// node at the end of the ::ffff:0:0/96 path, where IPv4 lookups start
+	int ipv4Root;
+
+	private CidrTrie(int[] children, boolean[] terminal) {
+		this.children = children;
+		this.terminal = terminal;
+		this.ipv4Root = walk(0, 0, 0, IpAddressUtil.IPV4_MAPPED_PREFIX, IPV4_MAPPED_BITS);
+	}
+
+	/**
+	 * @param cidrs
+	 *            ranges such as {@code 10.0.0.0/8} or {@code fc00::/7}.
+	 * @throws IllegalArgumentException
+	 *             for a malformed range.
+	 */
+	public static CidrTrie of(Collection<String> cidrs) {
+		Builder builder = new Builder();
+		for (String cidr : cidrs) {
+			builder.add(cidr);
+		}
+		return builder.build();
+	}
+
+	public boolean contains(long high, long low) {
+		if (IpAddressUtil.isIpv4Mapped(high, low)) {
+			// skips the 96 bits every IPv4 address shares
+			return ipv4Root == COVERED
+					|| ipv4Root != ABSENT && walk(ipv4Root, IPV4_MAPPED_BITS, high, low, 128) == COVERED;
+		}
+		return walk(0, 0, high, low, 128) == COVERED;
+	}
+
+	/**
+	 * Follows the address from {@code node} at depth {@code bit} down to
+	 * depth {@code to}.
+	 *
+	 * @return {@link #COVERED} if a range on the way contains the address,
+	 *         {@link #ABSENT} if the path ends first, else the node reached.
+	 */
+	private int walk(int node, int bit, long high, long low, int to) {
+		for (; bit < to; bit++) {
+			if (terminal[node]) {
+				return COVERED;
+			}
+			long word = bit < 64 ? high : low;
+			int direction = (int) (word >>> (63 - (bit & 63))) & 1;
+			node = children[2 * node + direction];
+			if (node == 0) {
+				return ABSENT;
+			}
+		}
+		return terminal[node] ? COVERED : node;
+	}
+
+	static class Builder {
+		int[] children = new int[64];
+		boolean[] terminal = new boolean[32];
+		int nodes = 1;
+
+		void add(String cidr) {
+			String trimmed = cidr.trim();
+			int slash = trimmed.indexOf('/');
+			long[] address = new long[2];
+			if (slash < 0 || !IpAddressUtil.parse(trimmed, 0, slash, address)) {
+				throw new IllegalArgumentException("Invalid range '" + cidr + "'");
+			}
+			int prefix;
+			try {
+				prefix = Integer.parseInt(trimmed.substring(slash + 1));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid range '" + cidr + "'");
+			}
+			boolean ipv4 = trimmed.indexOf(':') < 0;
+			if (prefix < 0 || prefix > (ipv4 ? 32 : 128)) {
+				throw new IllegalArgumentException("Invalid prefix length in '" + cidr + "'");
+			}
+			add(address[0], address[1], ipv4 ? IPV4_MAPPED_BITS + prefix : prefix);
+		}
+
+		void add(long high, long low, int prefix) {
+			int node = 0;
+			for (int bit = 0; bit < prefix; bit++) {
+				if (terminal[node]) {
+					// already covered by a shorter prefix
+					return;
+				}
+				long word = bit < 64 ? high : low;
+				int index = 2 * node + ((int) (word >>> (63 - (bit & 63))) & 1);
+				if (children[index] == 0) {
+					ensureCapacity();
+					children[index] = nodes++;
+				}
+				node = children[index];
+			}
+			terminal[node] = true;
+		}
+
+		CidrTrie build() {
+			return new CidrTrie(Arrays.copyOf(children, 2 * nodes), Arrays.copyOf(terminal, nodes));
+		}
+
+		private void ensureCapacity() {
+			if (nodes == terminal.length) {
+				terminal = Arrays.copyOf(terminal, nodes * 2);
+				children = Arrays.copyOf(children, nodes * 4);
+			}
+		}
+	}
+}
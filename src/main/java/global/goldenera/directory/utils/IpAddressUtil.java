@@ -0,0 +1,292 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Allocation-free IP literal parsing for hot paths (admission, rate limiting).
+ * Addresses are returned as two longs in network order; IPv4 is mapped to
+ * {@code ::ffff:a.b.c.d} so both families share one key space.
+ */
+@UtilityClass
+public class IpAddressUtil {
+
+	public static final long IPV4_MAPPED_PREFIX = 0x0000_ffff_0000_0000L;
+	// what parseIpv6() returns
+	private static final int HIGH = 0;
+	private static final int LOW = 1;
+	private static final int VALID = 2;
+
+	/**
+	 * Parses an IPv4 or IPv6 literal (no zone id, no brackets).
+	 *
+	 * @param out
+	 *            receives the high and low 64 bits.
+	 * @return {@code false} if {@code value} is not an IP literal; {@code out} is
+	 *         then undefined.
+	 */
+	public static boolean parse(CharSequence value, long[] out) {
+		return value != null && parse(value, 0, value.length(), out);
+	}
+
+	/**
+	 * Parses the literal in {@code value[from, to)}, see
+	 * {@link #parse(CharSequence, long[])}.
+	 */
+	public static boolean parse(CharSequence value, int from, int to, long[] out) {
+		if (from >= to) {
+			return false;
+		}
+		for (int i = from; i < to; i++) {
+			if (value.charAt(i) == ':') {
+				return parseIpv6(value, from, to, VALID, out) != 0;
+			}
+		}
+		long ipv4 = parseIpv4(value, from, to);
+		if (ipv4 < 0) {
+			return false;
+		}
+		out[0] = 0;
+		out[1] = IPV4_MAPPED_PREFIX | ipv4;
+		return true;
+	}
+
+	/**
+	 * @return an IPv4 literal as an unsigned 32-bit value, or {@code -1}. With
+	 *         {@link #isIpv6(CharSequence)}, {@link #ipv6High(CharSequence)} and
+	 *         {@link #ipv6Low(CharSequence)} this lets per-request callers keep
+	 *         both halves in locals instead of an array.
+	 */
+	public static long parseIpv4(CharSequence value) {
+		return value == null || value.isEmpty() ? -1 : parseIpv4(value, 0, value.length());
+	}
+
+	/**
+	 * @return {@code true} if {@code value} is an IPv6 literal.
+	 */
+	public static boolean isIpv6(CharSequence value) {
+		return value != null && !value.isEmpty() && parseIpv6(value, 0, value.length(), VALID, null) != 0;
+	}
+
+	/**
+	 * @return the high 64 bits of an IPv6 literal; undefined unless
+	 *         {@link #isIpv6(CharSequence)}.
+	 */
+	public static long ipv6High(CharSequence value) {
+		return parseIpv6(value, 0, value.length(), HIGH, null);
+	}
+
+	/**
+	 * @return the low 64 bits of an IPv6 literal; undefined unless
+	 *         {@link #isIpv6(CharSequence)}.
+	 */
+	public static long ipv6Low(CharSequence value) {
+		return parseIpv6(value, 0, value.length(), LOW, null);
+	}
+
+	public static boolean isIpv4Mapped(long high, long low) {
+		return high == 0 && (low & 0xffff_ffff_0000_0000L) == IPV4_MAPPED_PREFIX;
+	}
+
+	/**
+	 * @return the subnet an address belongs to for per-subnet accounting: the
+	 *         {@code /24} for IPv4, the {@code /64} for IPv6.
+	 */
+	public static long subnetKey(long high, long low) {
+		return isIpv4Mapped(high, low) ? low & 0xffff_ffff_ffff_ff00L : high;
+	}
+
+	/**
+	 * @return the address as an unsigned 32-bit value, or {@code -1}.
+	 */
+	private static long parseIpv4(CharSequence value, int from, int to) {
+		long result = 0;
+		int octets = 0;
+		int octet = -1;
+		int digits = 0;
+		for (int i = from; i <= to; i++) {
+			char c = i == to ? '.' : value.charAt(i);
+			if (c == '.') {
+				if (digits == 0 || octets == 4) {
+					return -1;
+				}
+				result = (result << 8) | octet;
+				octets++;
+				octet = -1;
+				digits = 0;
+			} else if (c >= '0' && c <= '9') {
+				if (digits > 0 && octet == 0) {
+					// leading zeros are ambiguous (octal in some parsers)
+					return -1;
+				}
+				octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+				if (octet > 255) {
+					return -1;
+				}
+				digits++;
+			} else {
+				return -1;
+			}
+		}
+		return octets == 4 ? result : -1;
+	}
+
+	/**
+	 * @param out
+	 *            receives both halves when not {@code null}.
+	 * @return the {@code half} of the literal, or for {@link #VALID} {@code 1}
+	 *         when it is one; {@code 0} when it is not.
+	 */
+	private static long parseIpv6(CharSequence value, int from, int to, int half, long[] out) {
+		// up to eight 16-bit groups; groups after "::" are shifted into place at the end
+		long high = 0;
+		long low = 0;
+		int groups = 0;
+		int compressAt = -1;
+		int i = from;
+		if (to - from >= 2 && value.charAt(from) == ':') {
+			if (value.charAt(from + 1) != ':') {
+				return 0;
+			}
+			compressAt = 0;
+			i = from + 2;
+			if (i == to) {
+				return select(0, 0, half, out);
+			}
+		}
+		while (i < to) {
+			int start = i;
+			int group = 0;
+			int digits = 0;
+			while (i < to && value.charAt(i) != ':') {
+				char c = value.charAt(i);
+				if (c == '.') {
+					// embedded IPv4 tail, must be the last 32 bits
+					if (groups > 6) {
+						return 0;
+					}
+					long ipv4 = parseIpv4(value, start, to);
+					if (ipv4 < 0) {
+						return 0;
+					}
+					high = (high << 32) | (low >>> 32);
+					low = (low << 32) | ipv4;
+					groups += 2;
+					return finishIpv6(high, low, groups, compressAt, half, out);
+				}
+				int nibble = Character.digit(c, 16);
+				if (nibble < 0 || ++digits > 4) {
+					return 0;
+				}
+				group = (group << 4) | nibble;
+				i++;
+			}
+			if (digits == 0 || groups == 8) {
+				return 0;
+			}
+			high = (high << 16) | (low >>> 48);
+			low = (low << 16) | group;
+			groups++;
+			if (i == to) {
+				break;
+			}
+			// at ':'
+			i++;
+			if (i == to) {
+				return 0;
+			}
+			if (value.charAt(i) == ':') {
+				if (compressAt >= 0) {
+					return 0;
+				}
+				compressAt = groups;
+				i++;
+				if (i == to) {
+					break;
+				}
+			}
+		}
+		return finishIpv6(high, low, groups, compressAt, half, out);
+	}
+
+	private static long finishIpv6(long high, long low, int groups, int compressAt, int half, long[] out) {
+		if (compressAt < 0) {
+			if (groups != 8) {
+				return 0;
+			}
+			return select(high, low, half, out);
+		}
+		if (groups > 7) {
+			return 0;
+		}
+		// groups before "::" move up past the zero gap, the tail stays in place
+		int tailBits = (groups - compressAt) * 16;
+		int headShift = tailBits + (8 - groups) * 16;
+		long tailHigh = tailBits <= 64 ? 0 : high & ((1L << (tailBits - 64)) - 1);
+		long tailLow = tailBits >= 64 ? low : low & ((1L << tailBits) - 1);
+		long headHigh = shiftRightHigh(high, tailBits);
+		long headLow = shiftRightLow(high, low, tailBits);
+		return select(shiftLeftHigh(headHigh, headLow, headShift) | tailHigh,
+				shiftLeftLow(headLow, headShift) | tailLow, half, out);
+	}
+
+	private static long select(long high, long low, int half, long[] out) {
+		if (out != null) {
+			out[0] = high;
+			out[1] = low;
+		}
+		return half == HIGH ? high : half == LOW ? low : 1;
+	}
+
+	// 128-bit shifts for 0 <= n <= 128
+
+	private static long shiftRightHigh(long high, int n) {
+		return n >= 64 ? 0 : high >>> n;
+	}
+
+	private static long shiftRightLow(long high, long low, int n) {
+		if (n == 0) {
+			return low;
+		}
+		if (n < 64) {
+			return (low >>> n) | (high << (64 - n));
+		}
+		return n >= 128 ? 0 : high >>> (n - 64);
+	}
+
+	private static long shiftLeftHigh(long high, long low, int n) {
+		if (n == 0) {
+			return high;
+		}
+		if (n < 64) {
+			return (high << n) | (low >>> (64 - n));
+		}
+		return n >= 128 ? 0 : low << (n - 64);
+	}
+
+	private static long shiftLeftLow(long low, int n) {
+		return n >= 64 ? 0 : low << n;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A file parsed into a value and parsed again when its modification time
+ * changes, for operator settings that must apply without a restart.
+ * <p>
+ * The check runs on the calling thread at most once per interval, so readers
+ * on hot paths pay a volatile read in between. While the file is missing the
+ * fallback applies; when it fails to parse the last good value stays.
+ */
+@Slf4j
+@FieldDefaults(level = PRIVATE, makeFinal = true)
+public class ReloadableFile<T> {
+
+	// modification time while the fallback is in use
+	static final long NOT_LOADED = Long.MIN_VALUE;
+
+	Path path;
+	long checkIntervalNanos;
+	Function<String, T> parser;
+	T fallback;
+	AtomicLong nextCheckAt;
+	@NonFinal
+	volatile T value;
+	@NonFinal
+	volatile long loadedModified = NOT_LOADED;
+
+	public ReloadableFile(Path path, long checkIntervalSeconds, Function<String, T> parser, T fallback) {
+		this.path = path;
+		this.checkIntervalNanos = TimeUnit.SECONDS.toNanos(checkIntervalSeconds);
+		this.parser = parser;
+		this.fallback = fallback;
+		this.value = fallback;
+		this.nextCheckAt = new AtomicLong(System.nanoTime() + checkIntervalNanos);
+		reload();
+	}
+
+	public T get() {
+		long now = System.nanoTime();
+		long next = nextCheckAt.get();
+		if (now - next >= 0 && nextCheckAt.compareAndSet(next, now + checkIntervalNanos)) {
+			reload();
+		}
+		return value;
+	}
+
+	private void reload() {
+		long modified = NOT_LOADED;
+		try {
+			if (!Files.exists(path)) {
+				if (loadedModified != NOT_LOADED) {
+					value = fallback;
+					loadedModified = NOT_LOADED;
+					log.info("{} removed, using defaults", path);
+				}
+				return;
+			}
+			modified = Files.getLastModifiedTime(path).toMillis();
+			if (modified == loadedModified) {
+				return;
+			}
+			value = parser.apply(Files.readString(path));
+			log.info("Loaded {}", path);
+		} catch (Exception e) {
+			log.warn("Ignoring invalid {}: {}", path, e.getMessage());
+		}
+		// a broken file is reported once, not on every check
+		loadedModified = modified;
+	}
+}
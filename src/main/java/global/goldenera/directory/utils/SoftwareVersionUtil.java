@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Packs software versions into longs so comparing two versions is one
+ * {@code long} comparison.
+ * <p>
+ * Only plain versions are packed: up to four numeric components of at most 15
+ * bits each, packed from the top, missing components counting as zero. Their
+ * order is the one {@link java.lang.module.ModuleDescriptor.Version} gives
+ * them. Anything else, including {@code -pre-release} and {@code +build}
+ * suffixes, is {@link #INVALID} here and has to be compared as a
+ * {@code Version}.
+ */
+@UtilityClass
+public class SoftwareVersionUtil {
+
+	public static final long INVALID = -1;
+
+	static final int MAX_COMPONENTS = 4;
+	static final int COMPONENT_BITS = 15;
+	static final int MAX_COMPONENT = (1 << COMPONENT_BITS) - 1;
+
+	/**
+	 * @return the packed version, or {@link #INVALID} when {@code version} is
+	 *         not {@code digits(.digits){0,3}} with components up to 32767.
+	 */
+	public static long pack(CharSequence version) {
+		if (version == null || version.isEmpty()) {
+			return INVALID;
+		}
+		long packed = 0;
+		int components = 0;
+		int component = -1;
+		int length = version.length();
+		for (int i = 0; i <= length; i++) {
+			char c = i == length ? '.' : version.charAt(i);
+			if (c >= '0' && c <= '9') {
+				component = (component < 0 ? 0 : component * 10) + (c - '0');
+				if (component > MAX_COMPONENT) {
+					return INVALID;
+				}
+				continue;
+			}
+			if (c != '.' || component < 0 || components == MAX_COMPONENTS) {
+				return INVALID;
+			}
+			packed |= (long) component << (COMPONENT_BITS * (MAX_COMPONENTS - 1 - components));
+			components++;
+			component = -1;
+		}
+		return packed;
+	}
+}
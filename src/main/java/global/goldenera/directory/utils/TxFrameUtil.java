@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Length-prefixed frames for streams of encoded transactions, shared by the
+ * binary {@code generate-tx} responses and the {@code tx-corpus} command.
+ * <p>
+ * A frame is a 4-byte big-endian length followed by the encoded
+ * transaction. An item that failed has a negative length {@code -n} followed
+ * by {@code n} bytes of UTF-8 error message.
+ */
+@UtilityClass
+public class TxFrameUtil {
+
+	static final String UNKNOWN_ERROR = "Failed";
+
+	public static void writeTx(DataOutput out, byte[] encodedTx) throws IOException {
+		out.writeInt(encodedTx.length);
+		out.write(encodedTx);
+	}
+
+	public static void writeError(DataOutput out, String error) throws IOException {
+		// an empty message would read as an empty transaction
+		byte[] message = (error == null || error.isEmpty() ? UNKNOWN_ERROR : error).getBytes(StandardCharsets.UTF_8);
+		out.writeInt(-message.length);
+		out.write(message);
+	}
+
+	/**
+	 * @return the next frame, or {@code null} at the end of the stream.
+	 * @throws java.io.EOFException
+	 *             when the stream ends inside a frame.
+	 */
+	public static Frame read(DataInputStream in) throws IOException {
+		int first = in.read();
+		if (first < 0) {
+			return null;
+		}
+		int length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+		if (length == Integer.MIN_VALUE) {
+			throw new IOException("Invalid frame length " + length + ".");
+		}
+		byte[] payload = new byte[Math.abs(length)];
+		in.readFully(payload);
+		return length < 0 ? new Frame(null, new String(payload, StandardCharsets.UTF_8)) : new Frame(payload, null);
+	}
+
+	/**
+	 * An encoded transaction, or the error of an item that failed.
+	 */
+	@Value
+	public static class Frame {
+		byte[] encodedTx;
+		String error;
+
+		public boolean isError() {
+			return error != null;
+		}
+	}
+}
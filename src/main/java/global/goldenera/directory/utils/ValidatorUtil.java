@@ -26,6 +26,9 @@ package global.goldenera.directory.utils;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import global.goldenera.directory.exceptions.GEValidationException;
 import lombok.experimental.UtilityClass;
@@ -86,9 +89,25 @@ public class ValidatorUtil {
         }
     }
 
+    @UtilityClass
+    public static class PortValidator {
+        public static final int MIN_PORT = 1;
+        public static final int MAX_PORT = 65535;
+
+        /**
+         * @return whether {@code port} is a TCP port a node can listen on.
+         */
+        public static boolean isValid(int port) {
+            return port >= MIN_PORT && port <= MAX_PORT;
+        }
+    }
+
     /**
      * Validates hostnames and IP addresses without DNS resolution.
-     * Blocks localhost, private IPs, and internal Docker hostnames.
+     * Blocks localhost, internal Docker hostnames, every IANA special-purpose
+     * range (IPv4, IPv6, IPv4-mapped IPv6 and the IPv4 embedded in NAT64 and
+     * 6to4 addresses) and operator-configured ranges and hostnames.
+     * Checking a host does not allocate.
      */
     @UtilityClass
     public static class HostValidator {
@@ -101,26 +120,125 @@ public class ValidatorUtil {
                 "metadata.google.internal"
         };
 
+        // IANA IPv4 and IPv6 special-purpose address registries, minus the
+        // globally reachable anycast entries
+        private static final List<String> RESERVED_RANGES = List.of(
+                "0.0.0.0/8",
+                "10.0.0.0/8",
+                "100.64.0.0/10",
+                "127.0.0.0/8",
+                "169.254.0.0/16",
+                "172.16.0.0/12",
+                "192.0.0.0/24",
+                "192.0.2.0/24",
+                "192.88.99.0/24",
+                "192.168.0.0/16",
+                "198.18.0.0/15",
+                "198.51.100.0/24",
+                "203.0.113.0/24",
+                "224.0.0.0/4",
+                "240.0.0.0/4",
+                // unspecified, loopback and deprecated IPv4-compatible
+                "::/96",
+                // IPv4-translated (SIIT)
+                "::ffff:0:0:0/96",
+                "64:ff9b:1::/48",
+                "100::/64",
+                "2001::/23",
+                "2001:db8::/32",
+                "3fff::/20",
+                "5f00::/16",
+                "fc00::/7",
+                "fe80::/10",
+                "fec0::/10",
+                "ff00::/8");
+
+        // 64:ff9b::/96 (NAT64) and 2002::/16 (6to4) carry an IPv4 address
+        private static final long NAT64_HIGH = 0x0064_ff9b_0000_0000L;
+        private static final long SIX_TO_FOUR_PREFIX = 0x2002L;
+
+        private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+        private static volatile CidrTrie blockedRanges = CidrTrie.of(RESERVED_RANGES);
+        private static volatile String[] blockedHostnames = BLOCKED_HOSTNAMES;
+
+        /**
+         * Adds operator ranges and hostnames to the built-in ones.
+         *
+         * @throws IllegalArgumentException
+         *             for a malformed range.
+         */
+        public static void configure(Collection<String> ranges, Collection<String> hostnames) {
+            List<String> allRanges = new ArrayList<>(RESERVED_RANGES);
+            for (String range : ranges) {
+                if (!range.isBlank()) {
+                    allRanges.add(range);
+                }
+            }
+            List<String> allHostnames = new ArrayList<>(List.of(BLOCKED_HOSTNAMES));
+            for (String hostname : hostnames) {
+                if (!hostname.isBlank()) {
+                    allHostnames.add(hostname.trim());
+                }
+            }
+            blockedRanges = CidrTrie.of(allRanges);
+            blockedHostnames = allHostnames.toArray(String[]::new);
+        }
+
         /**
          * Check if a host (hostname or IP) is safe for external requests.
          * Returns true if the host appears to be a public/external address.
          */
         public static boolean isSafe(String host) {
-            if (host == null || host.isBlank()) {
+            if (host == null) {
+                return false;
+            }
+            int from = 0;
+            int to = host.length();
+            while (from < to && host.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && host.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (to - from >= 2 && host.charAt(from) == '[' && host.charAt(to - 1) == ']') {
+                from++;
+                to--;
+            }
+            // "localhost." is the same host as "localhost"
+            if (to > from && host.charAt(to - 1) == '.') {
+                to--;
+            }
+            if (from == to) {
                 return false;
             }
-            host = host.toLowerCase().trim();
+
+            boolean colon = false;
+            for (int i = from; i < to; i++) {
+                char c = host.charAt(i);
+                if (c == '%') {
+                    // zone ids only make sense for link-local addresses
+                    return false;
+                }
+                colon |= c == ':';
+            }
+            long[] address = SCRATCH.get();
+            if (colon) {
+                return IpAddressUtil.parse(host, from, to, address) && isPublicIp(address[0], address[1]);
+            }
 
             // Block known internal hostnames
-            for (String blocked : BLOCKED_HOSTNAMES) {
-                if (host.equals(blocked) || host.endsWith("." + blocked)) {
+            for (String blocked : blockedHostnames) {
+                if (matchesHostname(host, from, to, blocked)) {
                     return false;
                 }
             }
 
-            // Check if it looks like an IP address
-            if (isIpAddress(host)) {
-                return isPublicIp(host);
+            // A numeric last label is an IPv4 address to resolvers and URL
+            // parsers, which also accept forms like "127.1" or "0x7f.1"; only
+            // canonical dotted quads are allowed
+            if (isNumericLabel(host, lastLabelStart(host, from, to), to)) {
+                return IpAddressUtil.parse(host, from, to, address) && isPublicIp(address[0], address[1]);
             }
 
             // For regular hostnames, allow them (we can't resolve DNS reliably in Docker)
@@ -128,72 +246,63 @@ public class ValidatorUtil {
             return true;
         }
 
-        private static boolean isIpAddress(String host) {
-            // Simple check: contains only digits and dots (IPv4) or contains colon (IPv6)
-            return host.matches("^[0-9.]+$") || host.contains(":");
-        }
-
-        private static boolean isPublicIp(String ip) {
-            // Handle IPv6 loopback
-            if (ip.equals("::1") || ip.equals("0:0:0:0:0:0:0:1")) {
+        private static boolean isPublicIp(long high, long low) {
+            CidrTrie ranges = blockedRanges;
+            if (ranges.contains(high, low)) {
                 return false;
             }
-
-            // Parse IPv4
-            String[] parts = ip.split("\\.");
-            if (parts.length != 4) {
-                // Not a valid IPv4. For IPv6, allow by default (could be enhanced)
-                return !ip.startsWith("fe80:") && !ip.startsWith("fc") && !ip.startsWith("fd");
+            if (high == NAT64_HIGH && (low >>> 32) == 0) {
+                return !ranges.contains(0, IpAddressUtil.IPV4_MAPPED_PREFIX | (low & 0xffff_ffffL));
             }
+            if ((high >>> 48) == SIX_TO_FOUR_PREFIX) {
+                return !ranges.contains(0, IpAddressUtil.IPV4_MAPPED_PREFIX | ((high >>> 16) & 0xffff_ffffL));
+            }
+            return true;
+        }
 
-            try {
-                int[] octets = new int[4];
-                for (int i = 0; i < 4; i++) {
-                    octets[i] = Integer.parseInt(parts[i]);
-                    if (octets[i] < 0 || octets[i] > 255) {
-                        return false;
-                    }
-                }
-
-                // 127.0.0.0/8 - Loopback
-                if (octets[0] == 127) {
-                    return false;
-                }
-
-                // 0.0.0.0/8 - "This" network
-                if (octets[0] == 0) {
-                    return false;
-                }
-
-                // 10.0.0.0/8 - Private
-                if (octets[0] == 10) {
-                    return false;
-                }
-
-                // 172.16.0.0/12 - Private (172.16.0.0 - 172.31.255.255)
-                if (octets[0] == 172 && octets[1] >= 16 && octets[1] <= 31) {
-                    return false;
-                }
-
-                // 192.168.0.0/16 - Private
-                if (octets[0] == 192 && octets[1] == 168) {
-                    return false;
-                }
+        /**
+         * @return whether {@code host[from, to)} is {@code blocked} or one of its
+         *         subdomains, ignoring case.
+         */
+        private static boolean matchesHostname(String host, int from, int to, String blocked) {
+            int length = blocked.length();
+            if (to - from == length) {
+                return host.regionMatches(true, from, blocked, 0, length);
+            }
+            return to - from > length
+                    && host.charAt(to - length - 1) == '.'
+                    && host.regionMatches(true, to - length, blocked, 0, length);
+        }
 
-                // 169.254.0.0/16 - Link-local (including AWS metadata 169.254.169.254)
-                if (octets[0] == 169 && octets[1] == 254) {
-                    return false;
+        private static int lastLabelStart(String host, int from, int to) {
+            for (int i = to - 1; i >= from; i--) {
+                if (host.charAt(i) == '.') {
+                    return i + 1;
                 }
+            }
+            return from;
+        }
 
-                // 100.64.0.0/10 - Carrier-grade NAT
-                if (octets[0] == 100 && octets[1] >= 64 && octets[1] <= 127) {
+        /**
+         * @return whether the label is decimal digits or a {@code 0x} hex number.
+         */
+        private static boolean isNumericLabel(String host, int from, int to) {
+            if (from == to) {
+                return false;
+            }
+            int start = from;
+            int radix = 10;
+            if (to - from >= 2 && host.charAt(from) == '0'
+                    && (host.charAt(from + 1) == 'x' || host.charAt(from + 1) == 'X')) {
+                start = from + 2;
+                radix = 16;
+            }
+            for (int i = start; i < to; i++) {
+                if (Character.digit(host.charAt(i), radix) < 0) {
                     return false;
                 }
-
-                return true;
-            } catch (NumberFormatException e) {
-                return false;
             }
+            return true;
         }
     }
 }
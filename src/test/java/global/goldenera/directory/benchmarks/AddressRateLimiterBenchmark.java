@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.benchmarks;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.RouteFamily;
+import io.github.bucket4j.Bucket;
+
+/**
+ * {@link AddressRateLimiter} against the filter it replaced: one Bucket4j
+ * bucket per address in a Caffeine map capped at 10,000 entries. Budgets are
+ * as high as both allow; a refused request does the same lookups as an
+ * admitted one. Above 10,000 clients the old filter also pays for Caffeine
+ * evictions, and forgets buckets it evicted.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AddressRateLimiterBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AddressRateLimiterBenchmark {
+
+	static final long PER_MINUTE = 1_000_000_000L;
+
+	@Param({ "ipv4", "ipv6" })
+	String addressFamily;
+
+	// a power of two
+	@Param({ "4096", "65536" })
+	int clients;
+
+	String[] addresses;
+	AddressRateLimiter addressRateLimiter;
+	Map<String, Bucket> bucket4jBuckets;
+
+	@Setup
+	public void setUp() {
+		addresses = new String[clients];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < clients; i++) {
+			addresses[i] = "ipv4".equals(addressFamily)
+					? "203." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256)
+					: String.format("2001:db8:%x:%x::%x", random.nextInt(0x10000), random.nextInt(0x10000),
+							random.nextInt(0x10000));
+		}
+
+		PropertiesRateLimitConfig rateLimitProperties = new PropertiesRateLimitConfig();
+		rateLimitProperties.setAddressSlots(1 << 20);
+		rateLimitProperties.setIpv4Subnet24PerMinute((int) Math.min(Integer.MAX_VALUE, PER_MINUTE));
+		rateLimitProperties.setIpv6Subnet64PerMinute((int) Math.min(Integer.MAX_VALUE, PER_MINUTE));
+		rateLimitProperties.setIpv6Subnet48PerMinute((int) Math.min(Integer.MAX_VALUE, PER_MINUTE));
+		rateLimitProperties.setPingCost(1);
+		rateLimitProperties.setPingBudgetPerMinute(1);
+		rateLimitProperties.setGenerateKeysCost(1);
+		rateLimitProperties.setGenerateKeysBudgetPerMinute(1);
+		rateLimitProperties.setGenerateKeysBatchItemCost(1);
+		rateLimitProperties.setGenerateTxCost(1);
+		rateLimitProperties.setGenerateTxBudgetPerMinute(1);
+		rateLimitProperties.setGenerateTxBatchItemCost(1);
+		rateLimitProperties.setVerifyTxCost(1);
+		rateLimitProperties.setVerifyTxBudgetPerMinute(1);
+		rateLimitProperties.setVerifyTxBatchItemCost(1);
+		rateLimitProperties.setLimitsFile(Path.of("target", "benchmark-no-limits-file").toString());
+		rateLimitProperties.setLimitsCheckSeconds(3600);
+		PropertiesGeneralConfig generalProperties = new PropertiesGeneralConfig();
+		generalProperties.setMaxRequestsPerIpAddressPerMinute((int) Math.min(Integer.MAX_VALUE, PER_MINUTE));
+		addressRateLimiter = new AddressRateLimiter(rateLimitProperties, generalProperties);
+
+		// the former ThrottlingFilter, verbatim apart from the limit
+		bucket4jBuckets = Caffeine.newBuilder()
+				.expireAfterAccess(1, TimeUnit.HOURS)
+				.maximumSize(10_000)
+				.<String, Bucket>build()
+				.asMap();
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next = ThreadLocalRandom.current().nextInt();
+	}
+
+	@Benchmark
+	public boolean addressRateLimiter(Cursor cursor) {
+		return addressRateLimiter.tryAcquire(addresses[cursor.next++ & (addresses.length - 1)], RouteFamily.DEFAULT);
+	}
+
+	@Benchmark
+	public boolean bucket4jFilter(Cursor cursor) {
+		String address = addresses[cursor.next++ & (addresses.length - 1)];
+		return bucket4jBuckets.computeIfAbsent(address, key -> Bucket.builder()
+				.addLimit(limit -> limit.capacity(PER_MINUTE).refillGreedy(PER_MINUTE, Duration.ofMinutes(1)))
+				.build())
+				.tryConsume(1);
+	}
+}
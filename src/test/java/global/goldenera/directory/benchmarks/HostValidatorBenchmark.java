@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import global.goldenera.directory.utils.ValidatorUtil;
+
+/**
+ * {@link ValidatorUtil.HostValidator#isSafe(String)} against the regex and
+ * split implementation it replaced, over the host shapes pings advertise.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=HostValidatorBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HostValidatorBenchmark {
+
+	@Param({ "203.0.113.7", "192.168.1.20", "2001:db8:85a3::8a2e:370:7334", "node-17.example.com" })
+	String host;
+
+	@Benchmark
+	public boolean hostValidator() {
+		return ValidatorUtil.HostValidator.isSafe(host);
+	}
+
+	@Benchmark
+	public boolean regexSplit() {
+		return LegacyHostValidator.isSafe(host);
+	}
+
+	/**
+	 * The former HostValidator, comments dropped and logic unchanged.
+	 */
+	static class LegacyHostValidator {
+		private static final String[] BLOCKED_HOSTNAMES = {
+				"localhost",
+				"host.docker.internal",
+				"gateway.docker.internal",
+				"kubernetes.default",
+				"metadata.google.internal"
+		};
+
+		static boolean isSafe(String host) {
+			if (host == null || host.isBlank()) {
+				return false;
+			}
+			host = host.toLowerCase().trim();
+			for (String blocked : BLOCKED_HOSTNAMES) {
+				if (host.equals(blocked) || host.endsWith("." + blocked)) {
+					return false;
+				}
+			}
+			if (isIpAddress(host)) {
+				return isPublicIp(host);
+			}
+			return true;
+		}
+
+		private static boolean isIpAddress(String host) {
+			return host.matches("^[0-9.]+$") || host.contains(":");
+		}
+
+		private static boolean isPublicIp(String ip) {
+			if (ip.equals("::1") || ip.equals("0:0:0:0:0:0:0:1")) {
+				return false;
+			}
+			String[] parts = ip.split("\\.");
+			if (parts.length != 4) {
+				return !ip.startsWith("fe80:") && !ip.startsWith("fc") && !ip.startsWith("fd");
+			}
+			try {
+				int[] octets = new int[4];
+				for (int i = 0; i < 4; i++) {
+					octets[i] = Integer.parseInt(parts[i]);
+					if (octets[i] < 0 || octets[i] > 255) {
+						return false;
+					}
+				}
+				if (octets[0] == 127 || octets[0] == 0 || octets[0] == 10) {
+					return false;
+				}
+				if (octets[0] == 172 && octets[1] >= 16 && octets[1] <= 31) {
+					return false;
+				}
+				if (octets[0] == 192 && octets[1] == 168) {
+					return false;
+				}
+				if (octets[0] == 169 && octets[1] == 254) {
+					return false;
+				}
+				if (octets[0] == 100 && octets[1] >= 64 && octets[1] <= 127) {
+					return false;
+				}
+				return true;
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.ethereum.Wei;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.web3j.crypto.Bip32ECKeyPair;
+import org.web3j.crypto.MnemonicUtils;
+import org.web3j.utils.Numeric;
+
+import global.goldenera.cryptoj.common.Tx;
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.datatypes.Signature;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.cryptoj.exceptions.CryptoJException;
+import global.goldenera.cryptoj.serialization.tx.TxDecoder;
+import global.goldenera.cryptoj.serialization.tx.TxEncoder;
+import global.goldenera.directory.services.business.CryptoJTxService;
+
+/**
+ * The work behind each {@code RouteFamily}, to price the token costs in
+ * {@code application.properties}: one ping's signature verification is the
+ * unit.
+ * <p>
+ * A single-core reference run of the equivalent web3j calls (JDK 21) gave
+ * 327 µs to verify a signature, 772 µs to sign a transfer, 6.6 ms to generate
+ * a key from a fresh mnemonic and 54 ms for 256 child keys, so ping and
+ * verify-tx cost 1, generate-tx 2 per transaction, and generate-keys 20 per
+ * key or per {@code CryptoJKeyDerivationService.CHUNK_SIZE} child keys.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=OperationCostBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(2)
+@State(Scope.Benchmark)
+public class OperationCostBenchmark {
+
+	static final int[] BIP44_EXTERNAL_CHAIN = { 44 | Bip32ECKeyPair.HARDENED_BIT, 60 | Bip32ECKeyPair.HARDENED_BIT,
+			Bip32ECKeyPair.HARDENED_BIT, 0 };
+	static final int CHILD_KEYS = 256;
+
+	PrivateKey privateKey;
+	Address recipient;
+	Hash pingHash;
+	Signature pingSignature;
+	Bytes rawTx;
+	Bip32ECKeyPair parent;
+
+	@Setup
+	public void setUp() throws CryptoJException {
+		privateKey = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		recipient = PrivateKey.load(PrivateKey.generateMnemonic(), null).getAddress();
+		pingHash = Hash.hash(Bytes.random(160));
+		pingSignature = privateKey.sign(pingHash);
+		rawTx = TxEncoder.INSTANCE.encode(signTransfer(), true);
+		parent = Bip32ECKeyPair.deriveKeyPair(
+				Bip32ECKeyPair.generateKeyPair(MnemonicUtils.generateSeed(PrivateKey.generateMnemonic(), null)),
+				BIP44_EXTERNAL_CHAIN);
+	}
+
+	@Benchmark
+	public boolean ping() {
+		return pingSignature.validate(pingHash, privateKey.getAddress());
+	}
+
+	@Benchmark
+	public Bytes generateTx() throws CryptoJException {
+		return TxEncoder.INSTANCE.encode(signTransfer(), true);
+	}
+
+	@Benchmark
+	public Address verifyTx() throws CryptoJException {
+		return TxDecoder.INSTANCE.decode(rawTx).getSender();
+	}
+
+	@Benchmark
+	public Address generateKeys() {
+		return PrivateKey.load(PrivateKey.generateMnemonic(), null).getAddress();
+	}
+
+	@Benchmark
+	public void deriveChildKeys(Blackhole blackhole) {
+		for (int index = 0; index < CHILD_KEYS; index++) {
+			Bip32ECKeyPair child = Bip32ECKeyPair.deriveKeyPair(parent, new int[] { index });
+			blackhole.consume(PrivateKey.wrap(Bytes.wrap(Numeric.toBytesPadded(child.getPrivateKey(), 32)))
+					.getAddress());
+		}
+	}
+
+	private Tx signTransfer() throws CryptoJException {
+		return CryptoJTxService.signTransfer(Network.MAINNET, privateKey, Address.NATIVE_TOKEN, recipient,
+				Wei.valueOf(BigInteger.TEN.pow(18)), Wei.valueOf(BigInteger.TEN.pow(15)), 0L, null);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import global.goldenera.cryptoj.common.Tx;
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.cryptoj.enums.TxType;
+import global.goldenera.cryptoj.serialization.tx.TxDecoder;
+import global.goldenera.cryptoj.serialization.tx.TxEncoder;
+import global.goldenera.directory.utils.TxFrameUtil;
+import global.goldenera.directory.utils.TxFrameUtil.Frame;
+
+class TxCorpusCommandTest {
+
+	static final int KEYS = 2;
+	static final int TXS_PER_KEY = 3;
+	static final long START_NONCE = 5;
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void writesSignedTransfersInSenderThenNonceOrder() throws Exception {
+		Path out = dataDir.resolve("corpus.bin");
+
+		int exitCode = TxCorpusCommand.run(new String[] { "--out=" + out, "--keys=" + KEYS,
+				"--txs-per-key=" + TXS_PER_KEY, "--start-nonce=" + START_NONCE, "--network=testnet",
+				"--threads=2" });
+
+		assertThat(exitCode).isZero();
+		List<String> keyLines = Files.readAllLines(Path.of(out + ".keys"));
+		assertThat(keyLines).hasSize(KEYS);
+		List<Address> senders = new ArrayList<>();
+		for (String line : keyLines) {
+			String[] parts = line.split(" ");
+			assertThat(parts).hasSize(2);
+			Address sender = PrivateKey.wrap(Bytes.fromHexString(parts[0])).getAddress();
+			assertThat(sender.toChecksumAddress()).isEqualTo(parts[1]);
+			senders.add(sender);
+		}
+
+		List<Tx> txs = new ArrayList<>();
+		try (InputStream stream = Files.newInputStream(out)) {
+			DataInputStream in = new DataInputStream(stream);
+			for (Frame frame = TxFrameUtil.read(in); frame != null; frame = TxFrameUtil.read(in)) {
+				assertThat(frame.isError()).as("error: %s", frame.getError()).isFalse();
+				Bytes encoded = Bytes.wrap(frame.getEncodedTx());
+				Tx tx = TxDecoder.INSTANCE.decode(encoded);
+				assertThat(TxEncoder.INSTANCE.encode(tx, true)).isEqualTo(encoded);
+				txs.add(tx);
+			}
+		}
+		assertThat(txs).hasSize(KEYS * TXS_PER_KEY);
+		for (int i = 0; i < txs.size(); i++) {
+			Tx tx = txs.get(i);
+			int k = i / TXS_PER_KEY;
+			assertThat(tx.getType()).isEqualTo(TxType.TRANSFER);
+			assertThat(tx.getNetwork()).isEqualTo(Network.TESTNET);
+			assertThat(tx.getSender()).isEqualTo(senders.get(k));
+			assertThat(tx.getRecipient()).isEqualTo(senders.get((k + 1) % KEYS));
+			assertThat(tx.getNonce()).isEqualTo(START_NONCE + i % TXS_PER_KEY);
+		}
+	}
+
+	@Test
+	void badArgumentsPrintUsage() {
+		Path out = dataDir.resolve("corpus.bin");
+
+		assertThat(TxCorpusCommand.run(new String[] { "--out=" + out, "--unknown=1" })).isEqualTo(2);
+		assertThat(TxCorpusCommand.run(new String[] { "--keys=2" })).isEqualTo(2);
+		assertThat(TxCorpusCommand.run(new String[] { "--out=" + out, "--keys=0" })).isEqualTo(2);
+		assertThat(out).doesNotExist();
+	}
+}
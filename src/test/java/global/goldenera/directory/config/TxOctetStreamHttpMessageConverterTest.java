@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import global.goldenera.directory.api.v1.cryptoj.CryptoJApiV1;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchItemResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxDto;
+import global.goldenera.directory.services.business.CryptoJKeyDerivationService;
+import global.goldenera.directory.services.business.CryptoJKeyPoolService;
+import global.goldenera.directory.services.business.CryptoJTxService;
+import global.goldenera.directory.services.business.CryptoJTxTemplateService;
+import global.goldenera.directory.utils.TxFrameUtil;
+import global.goldenera.directory.utils.TxFrameUtil.Frame;
+
+class TxOctetStreamHttpMessageConverterTest {
+
+	static final String TRANSFER = "{\"network\":\"TESTNET\",\"privateKeyHex\":\"0x01\",\"nonce\":0,"
+			+ "\"recipientAddress\":\"0x02\",\"amount\":\"1\",\"fee\":\"1\"}";
+	static final CryptoJTxBatchResultDto BATCH = CryptoJTxBatchResultDto.builder()
+			.results(List.of(
+					CryptoJTxBatchItemResultDto.builder().rawTxDataInHex("0x0102").build(),
+					CryptoJTxBatchItemResultDto.builder().error("Insufficient balance").build(),
+					CryptoJTxBatchItemResultDto.builder().rawTxDataInHex("0x03").build()))
+			.build();
+
+	CryptoJTxService txService = mock(CryptoJTxService.class);
+	CryptoJTxTemplateService templateService = mock(CryptoJTxTemplateService.class);
+	MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		// the converters Spring Boot registers ahead of ours for these types
+		List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new ByteArrayHttpMessageConverter(),
+				new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+		new WebConfig().extendMessageConverters(converters);
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new CryptoJApiV1(txService, mock(CryptoJKeyPoolService.class),
+						mock(CryptoJKeyDerivationService.class), templateService))
+				.setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+				.build();
+
+		when(txService.generateTxTransfer(any()))
+				.thenReturn(CryptoJTxDto.builder().rawTxDataInHex("0xf86b0102").build());
+		when(txService.generateTxBatch(any(), anyString())).thenReturn(BATCH);
+		when(templateService.generateTxTransfer(eq("t1"), any(), anyString())).thenReturn(BATCH);
+	}
+
+	@Test
+	void singleTransactionIsItsRawEncoding() throws Exception {
+		mockMvc.perform(transfer().accept(MediaType.APPLICATION_OCTET_STREAM))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+				.andExpect(content().bytes(new byte[] { (byte) 0xf8, 0x6b, 0x01, 0x02 }));
+	}
+
+	@Test
+	void batchIsFramedInItemOrder() throws Exception {
+		byte[] body = mockMvc.perform(post("/api/v1/cryptoj/generate-tx/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\":[]}")
+				.accept(MediaType.APPLICATION_OCTET_STREAM))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertBatchFrames(body);
+		// the failed item is announced by a negative length
+		assertThat(body[6]).isEqualTo((byte) 0xff);
+	}
+
+	@Test
+	void templateResultIsFramedLikeABatch() throws Exception {
+		byte[] body = mockMvc.perform(post("/api/v1/cryptoj/generate-tx/template/t1")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"patches\":[]}")
+				.accept(MediaType.APPLICATION_OCTET_STREAM))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertBatchFrames(body);
+	}
+
+	@Test
+	void jsonStaysTheDefault() throws Exception {
+		for (MediaType accept : List.of(MediaType.ALL, MediaType.APPLICATION_JSON)) {
+			mockMvc.perform(transfer().accept(accept))
+					.andExpect(status().isOk())
+					.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.rawTxDataInHex").value("0xf86b0102"));
+		}
+		mockMvc.perform(transfer())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.rawTxDataInHex").value("0xf86b0102"));
+		mockMvc.perform(post("/api/v1/cryptoj/generate-tx/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"items\":[]}")
+				.accept(MediaType.ALL))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.results[1].error").value("Insufficient balance"));
+	}
+
+	private static MockHttpServletRequestBuilder transfer() {
+		return post("/api/v1/cryptoj/generate-tx/transfer")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(TRANSFER);
+	}
+
+	private static void assertBatchFrames(byte[] body) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+		Frame first = TxFrameUtil.read(in);
+		Frame failed = TxFrameUtil.read(in);
+		Frame last = TxFrameUtil.read(in);
+
+		assertThat(first.getEncodedTx()).containsExactly(1, 2);
+		assertThat(failed.isError()).isTrue();
+		assertThat(failed.getError()).isEqualTo("Insufficient balance");
+		assertThat(last.getEncodedTx()).containsExactly(3);
+		assertThat(TxFrameUtil.read(in)).isNull();
+	}
+}
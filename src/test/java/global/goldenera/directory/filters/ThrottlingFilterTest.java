@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.PenaltyBox;
+import jakarta.servlet.ServletInputStream;
+
+class ThrottlingFilterTest {
+
+	static final String BANNED = "198.51.100.7";
+
+	PenaltyBox penaltyBox = mock(PenaltyBox.class);
+	AddressRateLimiter addressRateLimiter = mock(AddressRateLimiter.class);
+	ThrottlingFilter throttlingFilter = new ThrottlingFilter(generalProperties(), addressRateLimiter, penaltyBox);
+
+	@Test
+	void bannedAddressIsRefusedBeforeTheBodyIsRead() throws Exception {
+		when(penaltyBox.addressBanMillis(BANNED)).thenReturn(59_001L);
+		MockHttpServletRequest request = new UnreadableRequest("POST", "/api/v1/node/ping");
+		request.setRemoteAddr(BANNED);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain filterChain = new MockFilterChain();
+
+		throttlingFilter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+		assertThat(response.getContentAsString()).contains("Temporarily banned");
+		assertThat(filterChain.getRequest()).isNull();
+		// a banned client does not draw on the rate limits either
+		verify(addressRateLimiter, never()).tryAcquire(anyString(), any());
+	}
+
+	@Test
+	void unbannedAddressPassesThrough() throws Exception {
+		when(addressRateLimiter.tryAcquire(anyString(), any())).thenReturn(true);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/node/ping");
+		request.setRemoteAddr("198.51.100.8");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain filterChain = new MockFilterChain();
+
+		throttlingFilter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+		assertThat(filterChain.getRequest()).isSameAs(request);
+	}
+
+	private static PropertiesGeneralConfig generalProperties() {
+		PropertiesGeneralConfig generalProperties = new PropertiesGeneralConfig();
+		generalProperties.setApiAccessToken("token");
+		return generalProperties;
+	}
+
+	/**
+	 * Fails the test if anything reads the body.
+	 */
+	static class UnreadableRequest extends MockHttpServletRequest {
+
+		UnreadableRequest(String method, String requestURI) {
+			super(method, requestURI);
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			throw new AssertionError("request body was read");
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			throw new AssertionError("request body was read");
+		}
+	}
+}
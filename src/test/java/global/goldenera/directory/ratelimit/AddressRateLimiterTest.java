@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+
+class AddressRateLimiterTest {
+
+	static final String CLIENT = "198.51.100.7";
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void batchItemsAreChargedTheDiscountedCost() {
+		AddressRateLimiter addressRateLimiter = limiter(4, 40, 1);
+
+		// the request pays the full cost, its 36 further items one token each
+		assertThat(addressRateLimiter.tryAcquire(CLIENT, RouteFamily.GENERATE_TX)).isTrue();
+		assertThat(addressRateLimiter.tryAcquireBatchItems(CLIENT, RouteFamily.GENERATE_TX, 36)).isTrue();
+		assertThat(addressRateLimiter.tryAcquireBatchItems(CLIENT, RouteFamily.GENERATE_TX, 1)).isFalse();
+	}
+
+	@Test
+	void largestBatchFollowsTheBudget() {
+		assertThat(limiter(4, 40, 1).maxBatchItems(RouteFamily.GENERATE_TX)).isEqualTo(37);
+		assertThat(limiter(4, 40, 4).maxBatchItems(RouteFamily.GENERATE_TX)).isEqualTo(10);
+		assertThat(limiter(4, 4_000, 1).maxBatchItems(RouteFamily.GENERATE_TX)).isEqualTo(3_997);
+		assertThat(limiter(4, 0, 1).maxBatchItems(RouteFamily.GENERATE_TX)).isEqualTo(Integer.MAX_VALUE);
+		// chunks of derived keys
+		assertThat(limiter(4, 40, 1).maxBatchItems(RouteFamily.GENERATE_KEYS)).isEqualTo(3);
+	}
+
+	@Test
+	void largestBatchFitsAnEmptyBucket() {
+		AddressRateLimiter addressRateLimiter = limiter(4, 40, 3);
+		int items = addressRateLimiter.maxBatchItems(RouteFamily.GENERATE_TX);
+
+		assertThat(addressRateLimiter.tryAcquire(CLIENT, RouteFamily.GENERATE_TX)).isTrue();
+		assertThat(addressRateLimiter.tryAcquireBatchItems(CLIENT, RouteFamily.GENERATE_TX, items - 1)).isTrue();
+		assertThat(addressRateLimiter.tryAcquireBatchItems("198.51.100.8", RouteFamily.GENERATE_TX, items))
+				.isTrue();
+	}
+
+	@Test
+	void subnetRejectionLeavesTheAddressBudget() {
+		AddressRateLimiter addressRateLimiter = limiter(4, 40, 1, 10, 0, 0);
+		for (int i = 0; i < 10; i++) {
+			assertThat(addressRateLimiter.tryAcquire("198.51.100.8", RouteFamily.DEFAULT)).isTrue();
+		}
+
+		// the /24 is spent; were address tokens taken first, the address would run dry after 10
+		for (int i = 0; i < 30; i++) {
+			assertThat(addressRateLimiter.tryAcquire(CLIENT, RouteFamily.DEFAULT)).isFalse();
+		}
+
+		assertThat(addressRateLimiter.getRejectedByLevel()).containsEntry("address", 0L)
+				.containsEntry("ipv4-24", 30L);
+	}
+
+	@Test
+	void ipv6NetworkRejectionLeavesNarrowerBudgets() {
+		AddressRateLimiter addressRateLimiter = limiter(4, 40, 1, 0, 20, 10);
+		for (int i = 0; i < 10; i++) {
+			assertThat(addressRateLimiter.tryAcquire("2001:db8:0:1::1", RouteFamily.DEFAULT)).isTrue();
+		}
+
+		for (int i = 0; i < 30; i++) {
+			assertThat(addressRateLimiter.tryAcquire("2001:db8:0:2::1", RouteFamily.DEFAULT)).isFalse();
+		}
+
+		assertThat(addressRateLimiter.getRejectedByLevel()).containsEntry("address", 0L)
+				.containsEntry("ipv6-64", 0L)
+				.containsEntry("ipv6-48", 30L);
+	}
+
+	private AddressRateLimiter limiter(int generateTxCost, int generateTxBudget, int generateTxBatchItemCost) {
+		return limiter(generateTxCost, generateTxBudget, generateTxBatchItemCost, 0, 0, 0);
+	}
+
+	private AddressRateLimiter limiter(int generateTxCost, int generateTxBudget, int generateTxBatchItemCost,
+			int ipv4Subnet24PerMinute, int ipv6Subnet64PerMinute, int ipv6Subnet48PerMinute) {
+		PropertiesRateLimitConfig rateLimitProperties = new PropertiesRateLimitConfig();
+		rateLimitProperties.setAddressSlots(1024);
+		rateLimitProperties.setIpv4Subnet24PerMinute(ipv4Subnet24PerMinute);
+		rateLimitProperties.setIpv6Subnet64PerMinute(ipv6Subnet64PerMinute);
+		rateLimitProperties.setIpv6Subnet48PerMinute(ipv6Subnet48PerMinute);
+		rateLimitProperties.setPingCost(1);
+		rateLimitProperties.setPingBudgetPerMinute(10);
+		rateLimitProperties.setGenerateKeysCost(20);
+		rateLimitProperties.setGenerateKeysBudgetPerMinute(60);
+		rateLimitProperties.setGenerateKeysBatchItemCost(20);
+		rateLimitProperties.setGenerateTxCost(generateTxCost);
+		rateLimitProperties.setGenerateTxBudgetPerMinute(generateTxBudget);
+		rateLimitProperties.setGenerateTxBatchItemCost(generateTxBatchItemCost);
+		rateLimitProperties.setVerifyTxCost(1);
+		rateLimitProperties.setVerifyTxBudgetPerMinute(600);
+		rateLimitProperties.setVerifyTxBatchItemCost(1);
+		rateLimitProperties.setLimitsFile(dataDir.resolve("rate_limits.properties").toString());
+		rateLimitProperties.setLimitsCheckSeconds(3600);
+		PropertiesGeneralConfig generalProperties = new PropertiesGeneralConfig();
+		generalProperties.setMaxRequestsPerIpAddressPerMinute(10);
+		return new AddressRateLimiter(rateLimitProperties, generalProperties);
+	}
+}
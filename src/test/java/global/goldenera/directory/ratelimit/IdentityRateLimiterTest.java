@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+
+class IdentityRateLimiterTest {
+
+	static final Address VICTIM = Address.fromHexString("0x00000000000000000000000000000000000000aa");
+	static final String VICTIM_IP = "198.51.100.7";
+
+	IdentityRateLimiter identityRateLimiter = new IdentityRateLimiter(properties(6, 5));
+
+	@Test
+	void forgerElsewhereCannotDrainTheRealNode() {
+		for (int i = 0; i < 6; i++) {
+			identityRateLimiter.checkPing(VICTIM, "203.0.113.9");
+		}
+		assertThatThrownBy(() -> identityRateLimiter.checkPing(VICTIM, "203.0.113.9"))
+				.isInstanceOf(GETooManyRequestsException.class);
+
+		assertThatCode(() -> identityRateLimiter.checkPing(VICTIM, VICTIM_IP)).doesNotThrowAnyException();
+	}
+
+	@Test
+	void failedPingsReturnTheirTokens() {
+		// a forger next to the real node, stopped by its own failure budget
+		for (int i = 0; i < 5; i++) {
+			identityRateLimiter.checkPing(VICTIM, "198.51.100.8");
+			identityRateLimiter.onVerificationFailed(VICTIM, "198.51.100.8");
+		}
+		assertThatThrownBy(() -> identityRateLimiter.checkPing(VICTIM, "198.51.100.8"))
+				.isInstanceOf(GETooManyRequestsException.class);
+
+		for (int i = 0; i < 6; i++) {
+			identityRateLimiter.checkPing(VICTIM, VICTIM_IP);
+		}
+	}
+
+	@Test
+	void rotatingWithinTheNetworkSharesOneBudget() {
+		for (int i = 1; i <= 6; i++) {
+			identityRateLimiter.checkPing(VICTIM, "198.51.100." + i);
+		}
+		assertThatThrownBy(() -> identityRateLimiter.checkPing(VICTIM, "198.51.100.200"))
+				.isInstanceOf(GETooManyRequestsException.class);
+		assertThatCode(() -> identityRateLimiter.checkPing(VICTIM, "2001:db8::1")).doesNotThrowAnyException();
+	}
+
+	private static PropertiesRateLimitConfig properties(int pingsPerMinute, int failuresPerHour) {
+		PropertiesRateLimitConfig properties = new PropertiesRateLimitConfig();
+		properties.setIdentitySlots(1024);
+		properties.setIdentityPingsPerMinute(pingsPerMinute);
+		properties.setIdentityFailuresPerHour(failuresPerHour);
+		return properties;
+	}
+}
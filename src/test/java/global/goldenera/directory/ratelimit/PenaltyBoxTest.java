@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.properties.PropertiesRateLimitConfig;
+
+class PenaltyBoxTest {
+
+	static final Address NODE = Address.fromHexString("0x00000000000000000000000000000000000000aa");
+	static final Address OTHER_NODE = Address.fromHexString("0x00000000000000000000000000000000000000bb");
+	static final String CLIENT = "198.51.100.7";
+	static final String OTHER_CLIENT = "198.51.100.8";
+	static final int ADDRESS_STRIKES = 5;
+	static final int IDENTITY_STRIKES = 3;
+	static final long BASE_BAN_MILLIS = 60_000;
+	static final long MAX_BAN_MILLIS = 300_000;
+	static final long FORGET_MILLIS = 3_600_000;
+
+	AtomicLong clock = new AtomicLong(1_000);
+	PenaltyBox penaltyBox = new PenaltyBox(properties(), clock::get);
+
+	@Test
+	void addressIsBannedAtItsStrikeThreshold() {
+		for (int strike = 1; strike < ADDRESS_STRIKES; strike++) {
+			penaltyBox.recordFailure(null, CLIENT);
+			assertThat(penaltyBox.addressBanMillis(CLIENT)).isZero();
+		}
+
+		penaltyBox.recordFailure(null, CLIENT);
+
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isEqualTo(BASE_BAN_MILLIS);
+		assertThat(penaltyBox.addressBanMillis(OTHER_CLIENT)).isZero();
+		assertThat(penaltyBox.getBans()).isEqualTo(1);
+		assertThat(penaltyBox.getRejected()).isEqualTo(1);
+	}
+
+	@Test
+	void banRunsOut() {
+		strike(null, CLIENT, ADDRESS_STRIKES);
+
+		clock.addAndGet(BASE_BAN_MILLIS - 1);
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isEqualTo(1);
+		clock.addAndGet(1);
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isZero();
+	}
+
+	@Test
+	void everyFurtherStrikeDoublesTheBanUpToTheMaximum() {
+		strike(null, CLIENT, ADDRESS_STRIKES);
+
+		long expected = BASE_BAN_MILLIS;
+		for (int strike = 0; strike < 5; strike++) {
+			assertThat(penaltyBox.addressBanMillis(CLIENT)).isEqualTo(expected);
+			penaltyBox.recordFailure(null, CLIENT);
+			expected = Math.min(MAX_BAN_MILLIS, expected * 2);
+		}
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isEqualTo(MAX_BAN_MILLIS);
+	}
+
+	@Test
+	void strikesAreForgottenAfterAQuietPeriod() {
+		strike(null, CLIENT, ADDRESS_STRIKES - 1);
+		clock.addAndGet(FORGET_MILLIS + 1);
+
+		// the count started over, so this is the first strike again
+		penaltyBox.recordFailure(null, CLIENT);
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isZero();
+	}
+
+	@Test
+	void banIsForgottenAfterItEndsAndAQuietPeriod() {
+		strike(null, CLIENT, ADDRESS_STRIKES);
+
+		// still within the quiet period after the ban: the ban doubles
+		clock.addAndGet(BASE_BAN_MILLIS + FORGET_MILLIS);
+		penaltyBox.recordFailure(null, CLIENT);
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isEqualTo(2 * BASE_BAN_MILLIS);
+
+		clock.addAndGet(2 * BASE_BAN_MILLIS + FORGET_MILLIS + 1);
+		penaltyBox.recordFailure(null, CLIENT);
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isZero();
+	}
+
+	@Test
+	void identityIsBannedOnlyAtTheAddressThatFailedForIt() {
+		strike(NODE, CLIENT, IDENTITY_STRIKES);
+
+		assertThatThrownBy(() -> penaltyBox.checkIdentity(NODE, CLIENT))
+				.isInstanceOf(GETooManyRequestsException.class);
+		// the real node elsewhere and other nodes behind the same address still get in
+		assertThatCode(() -> penaltyBox.checkIdentity(NODE, OTHER_CLIENT)).doesNotThrowAnyException();
+		assertThatCode(() -> penaltyBox.checkIdentity(OTHER_NODE, CLIENT)).doesNotThrowAnyException();
+		assertThat(penaltyBox.addressBanMillis(CLIENT)).isZero();
+	}
+
+	@Test
+	void identityBanRunsOut() {
+		strike(NODE, CLIENT, IDENTITY_STRIKES);
+
+		clock.addAndGet(BASE_BAN_MILLIS);
+
+		assertThatCode(() -> penaltyBox.checkIdentity(NODE, CLIENT)).doesNotThrowAnyException();
+	}
+
+	private void strike(Address nodeIdentity, String remoteAddress, int strikes) {
+		for (int strike = 0; strike < strikes; strike++) {
+			penaltyBox.recordFailure(nodeIdentity, remoteAddress);
+		}
+	}
+
+	private static PropertiesRateLimitConfig properties() {
+		PropertiesRateLimitConfig properties = new PropertiesRateLimitConfig();
+		properties.setPenaltySlots(1024);
+		properties.setPenaltyAddressStrikes(ADDRESS_STRIKES);
+		properties.setPenaltyIdentityStrikes(IDENTITY_STRIKES);
+		properties.setPenaltyBaseBanSeconds((int) (BASE_BAN_MILLIS / 1000));
+		properties.setPenaltyMaxBanSeconds((int) (MAX_BAN_MILLIS / 1000));
+		properties.setPenaltyForgetSeconds((int) (FORGET_MILLIS / 1000));
+		return properties;
+	}
+}
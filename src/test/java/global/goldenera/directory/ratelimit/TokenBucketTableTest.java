@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTableTest {
+
+	static final RateLimit ONE_PER_MINUTE = RateLimit.perMinute(1);
+	static final RateLimit PLENTY = RateLimit.perMinute(100_000);
+
+	@Test
+	void newKeyStartsFullAndDrainedKeyIsRefused() {
+		TokenBucketTable table = new TokenBucketTable(64);
+		long key = StampedSlotTable.keyOf(1, 2);
+
+		assertThat(table.hasTokens(key, ONE_PER_MINUTE, 1)).isTrue();
+		assertThat(table.tryAcquire(key, ONE_PER_MINUTE, 1)).isTrue();
+		assertThat(table.tryAcquire(key, ONE_PER_MINUTE, 1)).isFalse();
+		assertThat(table.hasTokens(key, ONE_PER_MINUTE, 1)).isFalse();
+	}
+
+	@Test
+	void replacedSlotStartsFullForItsNewKey() {
+		// one set of eight ways
+		TokenBucketTable table = new TokenBucketTable(StampedSlotTable.WAYS);
+		for (int i = 0; i < StampedSlotTable.WAYS; i++) {
+			assertThat(table.tryAcquire(StampedSlotTable.keyOf(i, 0), ONE_PER_MINUTE, 1)).isTrue();
+		}
+
+		long newcomer = StampedSlotTable.keyOf(StampedSlotTable.WAYS, 0);
+
+		assertThat(table.tryAcquire(newcomer, ONE_PER_MINUTE, 1)).isTrue();
+		assertThat(table.getEvictions()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentClaimsOfOneKeyTakeOneSlot() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int round = 0; round < 200; round++) {
+				TokenBucketTable table = new TokenBucketTable(StampedSlotTable.WAYS);
+				long key = StampedSlotTable.keyOf(round, 7);
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> futures = new ArrayList<>();
+				for (int t = 0; t < threads; t++) {
+					futures.add(executor.submit(() -> {
+						start.await();
+						return table.tryAcquire(key, PLENTY, 1);
+					}));
+				}
+				start.countDown();
+				for (Future<?> future : futures) {
+					future.get(10, TimeUnit.SECONDS);
+				}
+
+				int owners = 0;
+				for (int slot = 0; slot < table.getSlots(); slot++) {
+					if (table.keys.get(slot) == key) {
+						owners++;
+					}
+				}
+				assertThat(owners).isEqualTo(1);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
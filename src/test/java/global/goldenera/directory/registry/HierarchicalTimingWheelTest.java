@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+	@Test
+	void firesExactlyAtLevelBoundaries() {
+		long[] deadlines = { 1, 63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 262_145, 16_777_215 };
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(0);
+		for (long deadline : deadlines) {
+			wheel.schedule(new TestTimeout(deadline), deadline);
+		}
+
+		List<long[]> fired = advance(wheel, 16_777_216);
+
+		assertThat(fired).hasSize(deadlines.length);
+		for (long[] firing : fired) {
+			assertThat(firing[1]).as("fired tick").isEqualTo(firing[0]);
+		}
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cascadesFromAnUnalignedStartTick() {
+		long start = 4_095;
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(start);
+		Random random = new Random(42);
+		List<TestTimeout> timeouts = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			long deadline = start + 1 + random.nextInt(1 << 20);
+			TestTimeout timeout = new TestTimeout(deadline);
+			timeouts.add(timeout);
+			wheel.schedule(timeout, deadline);
+		}
+
+		List<long[]> fired = advance(wheel, start + (1 << 20) + 1);
+
+		assertThat(fired).hasSize(timeouts.size());
+		assertThat(fired).allSatisfy(firing -> assertThat(firing[1]).isEqualTo(firing[0]));
+	}
+
+	@Test
+	void parksTimersBeyondTheHorizon() {
+		long horizon = 1L << 24;
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(0);
+		long deadline = 3 * horizon + 17;
+		wheel.schedule(new TestTimeout(deadline), deadline);
+
+		List<long[]> fired = advance(wheel, deadline + 1);
+
+		assertThat(fired).singleElement().satisfies(firing -> assertThat(firing[1]).isEqualTo(deadline));
+	}
+
+	@Test
+	void pastDeadlineFiresOnTheNextTick() {
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(100);
+		wheel.schedule(new TestTimeout(50), 50);
+
+		List<long[]> fired = advance(wheel, 101);
+
+		assertThat(fired).singleElement().satisfies(firing -> assertThat(firing[1]).isEqualTo(101));
+	}
+
+	@Test
+	void rescheduleMovesAndCancelRemoves() {
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(0);
+		TestTimeout moved = new TestTimeout(5_000);
+		TestTimeout cancelled = new TestTimeout(70);
+		wheel.schedule(moved, 70);
+		wheel.schedule(cancelled, 70);
+		wheel.schedule(moved, 5_000);
+		wheel.cancel(cancelled);
+		wheel.cancel(cancelled);
+
+		assertThat(wheel.size()).isEqualTo(1);
+		List<long[]> fired = advance(wheel, 10_000);
+
+		assertThat(fired).singleElement().satisfies(firing -> assertThat(firing[1]).isEqualTo(5_000));
+	}
+
+	@Test
+	void callbackMayRescheduleTheExpiredTimeout() {
+		HierarchicalTimingWheel<TestTimeout> wheel = new HierarchicalTimingWheel<>(0);
+		TestTimeout timeout = new TestTimeout(10);
+		wheel.schedule(timeout, 10);
+		List<Long> fired = new ArrayList<>();
+
+		wheel.advanceTo(1_000, expired -> {
+			fired.add(wheel.getCurrentTick());
+			if (fired.size() < 3) {
+				wheel.schedule(expired, wheel.getCurrentTick() + 100);
+			}
+		});
+
+		assertThat(fired).containsExactly(10L, 110L, 210L);
+		assertThat(wheel.size()).isZero();
+	}
+
+	/**
+	 * @return {deadline, tick it fired at} per expired timeout, in firing order.
+	 */
+	private static List<long[]> advance(HierarchicalTimingWheel<TestTimeout> wheel, long toTick) {
+		List<long[]> fired = new ArrayList<>();
+		wheel.advanceTo(toTick, timeout -> fired.add(new long[] { timeout.expectedTick, wheel.getCurrentTick() }));
+		return fired;
+	}
+
+	static final class TestTimeout extends HierarchicalTimingWheel.Timeout {
+		final long expectedTick;
+
+		TestTimeout(long expectedTick) {
+			this.expectedTick = expectedTick;
+		}
+	}
+}
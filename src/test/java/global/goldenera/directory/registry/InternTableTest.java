@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InternTableTest {
+
+	@Test
+	void deduplicatesAndCountsReferences() {
+		InternTable table = new InternTable(4);
+		int first = table.acquire("1.0.0");
+		int second = table.acquire("1.0.0");
+
+		assertThat(second).isEqualTo(first);
+		assertThat(table.count(first)).isEqualTo(2);
+		assertThat(table.find("1.0.0")).isEqualTo(first);
+		table.release(first);
+		table.release(first);
+		assertThat(table.find("1.0.0")).isEqualTo(InternTable.NO_ID);
+		// released ids keep resolving until reused
+		assertThat(table.get(first)).isEqualTo("1.0.0");
+	}
+
+	@Test
+	void reusesReleasedIdsBeforeSpilling() {
+		InternTable table = new InternTable(2);
+		int a = table.acquire("a");
+		table.acquire("b");
+		table.release(a);
+
+		int c = table.acquire("c");
+
+		assertThat(c).isEqualTo(a);
+		assertThat(table.isSpilled(c)).isFalse();
+		assertThat(table.get(c)).isEqualTo("c");
+		assertThat(table.find("a")).isEqualTo(InternTable.NO_ID);
+	}
+
+	@Test
+	void fullTableSpillsInsteadOfRejecting() {
+		InternTable table = new InternTable(2);
+		table.acquire("a");
+		table.acquire("b");
+
+		int c = table.acquire("c");
+		int again = table.acquire("c");
+
+		assertThat(c).isNotEqualTo(InternTable.NO_ID);
+		assertThat(table.isSpilled(c)).isTrue();
+		assertThat(again).isNotEqualTo(c);
+		assertThat(table.get(c)).isEqualTo("c");
+		assertThat(table.get(again)).isEqualTo("c");
+		assertThat(table.find("c")).isEqualTo(InternTable.NO_ID);
+		assertThat(table.counts()).containsEntry("c", 2).containsEntry("a", 1);
+		assertThat(table.size()).isEqualTo(4);
+		assertThat(table.getSpilledCount()).isEqualTo(2);
+	}
+
+	@Test
+	void releasedSpilledIdsResolveUntilReused() {
+		InternTable table = new InternTable(1);
+		table.acquire("a");
+		int b = table.acquire("b");
+		int c = table.acquire("c");
+		table.release(b);
+		table.release(b);
+
+		assertThat(table.getSpilledCount()).isEqualTo(1);
+		assertThat(table.get(b)).isEqualTo("b");
+		assertThat(table.count(b)).isZero();
+		// FIFO reuse: the freed id is handed out again only after a new spill
+		int d = table.acquire("d");
+		assertThat(d).isEqualTo(b);
+		assertThat(table.get(d)).isEqualTo("d");
+		assertThat(table.get(c)).isEqualTo("c");
+	}
+}
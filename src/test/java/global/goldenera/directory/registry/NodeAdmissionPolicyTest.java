@@ -0,0 +1,226 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesAdmissionConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.registry.NodeAdmissionPolicy.Reservation;
+
+class NodeAdmissionPolicyTest {
+
+	NodeInternTables internTables;
+	NodeAdmissionPolicy policy;
+
+	@BeforeEach
+	void setUp() {
+		PropertiesRegistryConfig registryProperties = new PropertiesRegistryConfig();
+		registryProperties.setCapacity(1_000);
+		registryProperties.setMaxSoftwareVersions(4);
+		PropertiesAdmissionConfig admissionProperties = new PropertiesAdmissionConfig();
+		admissionProperties.setMaxIdentitiesPerIp(4);
+		admissionProperties.setMaxIdentitiesPerSubnet(6);
+		admissionProperties.setProbationShare(0.5);
+		admissionProperties.setGraduationSeconds(3_600);
+		admissionProperties.setGraduationPings(30);
+		admissionProperties.setGraduationMaxPingIntervalSeconds(120);
+		internTables = new NodeInternTables(registryProperties);
+		policy = new NodeAdmissionPolicy(admissionProperties, registryProperties, internTables);
+	}
+
+	@Test
+	void concurrentReservationsNeverOvershootTheAddressCap() throws Exception {
+		int threads = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger admitted = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < threads * 8; i++) {
+			NodeInfo node = newcomer(i, "198.51.100.7");
+			futures.add(executor.submit(() -> {
+				start.await();
+				try {
+					policy.reserve(null, node, true);
+					admitted.incrementAndGet();
+				} catch (GEValidationException e) {
+					// over the cap
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		assertThat(admitted.get()).isEqualTo(4);
+		assertThat(policy.getOnProbation()).isEqualTo(4);
+		assertThat(policy.getRejected()).isEqualTo(threads * 8 - 4);
+	}
+
+	@Test
+	void rejectedReservationRollsBackEveryCounter() {
+		// four addresses of one /24: the subnet cap (6) trips before the address cap
+		for (int i = 0; i < 6; i++) {
+			policy.reserve(null, newcomer(i, "203.0.113." + (i % 3 + 1)), true);
+		}
+		assertThatThrownBy(() -> policy.reserve(null, newcomer(6, "203.0.113.4"), true))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining("subnet");
+
+		assertThat(policy.getOnProbation()).isEqualTo(6);
+		// the rejected address took nothing: it still fits its own cap elsewhere
+		policy.cancel(newcomer(0, "203.0.113.1"), Reservation.IDENTITY);
+		policy.reserve(null, newcomer(7, "203.0.113.4"), true);
+		assertThat(policy.getOnProbation()).isEqualTo(6);
+	}
+
+	@Test
+	void cancelAndRemovalReturnTheReservation() {
+		NodeInfo first = newcomer(1, "192.0.2.1");
+		policy.reserve(null, first, true);
+		policy.onPut(null, first, Reservation.IDENTITY);
+		policy.onNodeRemoved(new NodeRemovedEvent(first, NodeRemovalCause.EXPIRED));
+		NodeInfo second = newcomer(2, "192.0.2.1");
+		policy.reserve(null, second, true);
+		policy.cancel(second, Reservation.IDENTITY);
+
+		assertThat(policy.getOnProbation()).isZero();
+	}
+
+	@Test
+	void refreshMovesTheRecordOutOfProbationOnlyWithASteadyCadence() {
+		NodeInfo node = newcomer(1, "192.0.2.1");
+		policy.reserve(null, node, true);
+		policy.onPut(null, node, Reservation.IDENTITY);
+
+		NodeInfo bursty = tenured(node, 600_000);
+		policy.onPut(node, bursty, Reservation.NONE);
+		assertThat(policy.getOnProbation()).isEqualTo(1);
+
+		NodeInfo steady = tenured(node, 30_000);
+		policy.onPut(bursty, steady, Reservation.NONE);
+		assertThat(policy.getOnProbation()).isZero();
+	}
+
+	@Test
+	void replicatedNewcomersAreCountedButNotCappedOnProbation() {
+		// probation holds 500 of 1,000; one /24 each keeps the other caps out of the way
+		for (int i = 0; i < 500; i++) {
+			policy.reserve(null, newcomer(i, "198." + (i >> 8) + "." + (i & 0xff) + ".1"), true);
+		}
+		assertThatThrownBy(() -> policy.reserve(null, newcomer(500, "203.0.113.1"), true))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining("No room");
+
+		policy.reserve(null, newcomer(500, "203.0.113.1"), false);
+		assertThat(policy.getOnProbation()).isEqualTo(501);
+	}
+
+	@Test
+	void refreshFromAnotherAddressMustFitThatAddressesCaps() {
+		// registered from four addresses, then all re-pinging from the first
+		List<NodeInfo> registered = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			NodeInfo node = newcomer(i, "192.0.2." + (i + 1));
+			policy.reserve(null, node, true);
+			policy.onPut(null, node, Reservation.IDENTITY);
+			registered.add(node);
+		}
+		for (int i = 1; i < 4; i++) {
+			NodeInfo moved = newcomer(i, "192.0.2.1");
+			assertThat(policy.reserve(registered.get(i), moved, true)).isEqualTo(Reservation.ADDRESS);
+			policy.onPut(registered.get(i), moved, Reservation.ADDRESS);
+		}
+		// the address cap is 4, all four now count there
+		NodeInfo fifth = newcomer(8, "192.0.2.9");
+		policy.reserve(null, fifth, true);
+		policy.onPut(null, fifth, Reservation.IDENTITY);
+		assertThatThrownBy(() -> policy.reserve(fifth, newcomer(8, "192.0.2.1"), true))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining("address");
+
+		// a refresh from the registered address takes nothing
+		assertThat(policy.reserve(fifth, newcomer(8, "192.0.2.9"), true)).isEqualTo(Reservation.NONE);
+	}
+
+	@Test
+	void refreshIntoAFullSubnetIsRejectedAndReturnsTheAddress() {
+		// six identities fill 203.0.113.0/24, a seventh moves in from elsewhere
+		for (int i = 0; i < 6; i++) {
+			NodeInfo node = newcomer(i, "203.0.113." + (i % 3 + 1));
+			policy.reserve(null, node, true);
+			policy.onPut(null, node, Reservation.IDENTITY);
+		}
+		NodeInfo outsider = newcomer(6, "198.51.100.1");
+		policy.reserve(null, outsider, true);
+		policy.onPut(null, outsider, Reservation.IDENTITY);
+		assertThatThrownBy(() -> policy.reserve(outsider, newcomer(7, "203.0.113.4"), true))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining("subnet");
+
+		// the rejected move returned its address count: all four slots of 203.0.113.4 are free
+		for (int i = 0; i < 6; i++) {
+			policy.onNodeRemoved(new NodeRemovedEvent(newcomer(i, "203.0.113." + (i % 3 + 1)),
+					NodeRemovalCause.EXPIRED));
+		}
+		for (int i = 0; i < 4; i++) {
+			policy.reserve(null, newcomer(10 + i, "203.0.113.4"), true);
+		}
+	}
+
+	private NodeInfo newcomer(int id, String sourceIp) {
+		long now = 1_700_000_000L;
+		return new NodeInfo(Address.wrap(Bytes.concatenate(Bytes.ofUnsignedInt(id), Bytes.wrap(new byte[16]))),
+				0, 30303, Network.MAINNET, 0, BigInteger.ONE, Hash.wrap(Bytes.wrap(new byte[32])), 1, now, 0, now, 1,
+				internTables.acquireSourceIp(sourceIp), now);
+	}
+
+	private static NodeInfo tenured(NodeInfo node, int pingIntervalMillis) {
+		return new NodeInfo(node.getNodeIdentity(), node.getP2pListenHostId(), node.getP2pListenPort(),
+				node.getNetwork(), node.getSoftwareVersionId(), node.getTotalDifficulty(), node.getHeadHash(),
+				node.getHeadHeight(), node.getFirstSeen() + 7_200, pingIntervalMillis, node.getFirstSeen(), 100,
+				node.getSourceIpId(), node.getFirstSeen() + 7_200);
+	}
+}
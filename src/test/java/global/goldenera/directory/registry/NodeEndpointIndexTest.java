@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+
+class NodeEndpointIndexTest {
+
+	NodeRegistry registry;
+	NodeEndpointIndex index;
+
+	@Test
+	void newcomerCannotDisplaceTheTenuredHolder() {
+		setUp(1);
+		NodeInfo tenured = node(1, 7, 1_000);
+		index.put(tenured);
+
+		assertThatThrownBy(() -> index.put(node(2, 7, 5_000)))
+				.isInstanceOf(GEValidationException.class);
+
+		assertThat(registry.get(tenured.getNodeIdentity())).isNotNull();
+		assertThat(registry.size()).isEqualTo(1);
+		assertThat(index.getRejected()).isEqualTo(1);
+	}
+
+	@Test
+	void holderRefreshesAndOthersGetInOnceItLeaves() {
+		setUp(1);
+		NodeInfo holder = node(1, 7, 1_000);
+		index.put(holder);
+		assertThat(index.put(node(1, 7, 1_000))).isEqualTo(holder);
+
+		registry.remove(holder.getNodeIdentity(), Long.MAX_VALUE, NodeRemovalCause.EXPIRED);
+		index.put(node(2, 7, 5_000));
+
+		assertThat(registry.size()).isEqualTo(1);
+		assertThat(index.getEndpointCount()).isEqualTo(1);
+	}
+
+	@Test
+	void movingToAnotherEndpointFreesTheOldOne() {
+		setUp(1);
+		index.put(node(1, 7, 1_000));
+		index.put(node(1, 8, 1_000));
+
+		index.put(node(2, 7, 5_000));
+
+		assertThat(registry.size()).isEqualTo(2);
+		assertThat(index.getEndpointCount()).isEqualTo(2);
+	}
+
+	@Test
+	void keepsUpToTheConfiguredNumberOfHolders() {
+		setUp(2);
+		index.put(node(1, 7, 3_000));
+		index.put(node(2, 7, 1_000));
+
+		assertThatThrownBy(() -> index.put(node(3, 7, 500))).isInstanceOf(GEValidationException.class);
+		assertThat(registry.size()).isEqualTo(2);
+	}
+
+	@Test
+	void portsOutsideSixteenBitsCannotAliasAnotherHost() {
+		setUp(1);
+		index.put(node(1, 8, 30303, 1_000));
+
+		// (7, 65536 + 30303) and (7, -1) would land on host 8's keys
+		assertThatThrownBy(() -> index.put(node(2, 7, 65536 + 30303, 5_000)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.put(node(3, 7, -1, 5_000)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> index.put(node(4, 7, 0, 5_000)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(registry.size()).isEqualTo(1);
+		assertThat(index.getEndpointCount()).isEqualTo(1);
+		index.put(node(5, 7, 65535, 5_000));
+		assertThat(registry.size()).isEqualTo(2);
+	}
+
+	@Test
+	void olderPingKeepsNewerRecordAndItsEndpoint() {
+		for (boolean offHeap : new boolean[] { false, true }) {
+			setUp(1, offHeap);
+			NodeInfo newer = node(1, 7, 30303, 1_000, 2_000);
+
+			index.put(newer);
+			NodeInfo kept = index.put(node(1, 8, 30303, 1_000, 1_500), 1_500);
+
+			assertThat(NodeRegistry.refused(kept, 1_500)).isTrue();
+			assertThat(kept.getPingTimestamp()).isEqualTo(2_000);
+			assertThat(registry.get(newer.getNodeIdentity()).getP2pListenHostId()).isEqualTo(7);
+			assertThat(index.getEndpointCount()).isEqualTo(1);
+			// the refused endpoint was not taken
+			index.put(node(2, 8, 5_000));
+			assertThat(registry.size()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void equalPingIsReplacedOnlyWhenAllowed() {
+		for (boolean offHeap : new boolean[] { false, true }) {
+			setUp(1, offHeap);
+			index.put(node(1, 7, 30303, 1_000, 2_000));
+
+			assertThat(NodeRegistry.refused(index.put(node(1, 7, 30303, 1_000, 2_000), 1_999), 1_999)).isTrue();
+			assertThat(NodeRegistry.refused(index.put(node(1, 8, 30303, 1_000, 2_000), 2_000), 2_000)).isFalse();
+			assertThat(registry.get(node(1, 7, 0).getNodeIdentity()).getP2pListenHostId()).isEqualTo(8);
+		}
+	}
+
+	@Test
+	void newestOfRacingPingsWins() throws Exception {
+		int writers = 8;
+		int pingsPerWriter = 500;
+		for (boolean offHeap : new boolean[] { false, true }) {
+			setUp(writers, offHeap);
+			ExecutorService executor = Executors.newFixedThreadPool(writers);
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			try {
+				for (int w = 0; w < writers; w++) {
+					int writer = w;
+					futures.add(executor.submit(() -> {
+						start.await();
+						for (int i = 0; i < pingsPerWriter; i++) {
+							// timestamps interleave across writers, the host names the writer
+							long pingTimestamp = (long) i * writers + writer;
+							index.put(node(1, writer, 30303, 0, pingTimestamp), pingTimestamp);
+						}
+						return null;
+					}));
+				}
+				start.countDown();
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+
+			NodeInfo stored = registry.get(node(1, 0, 0).getNodeIdentity());
+			assertThat(stored.getPingTimestamp()).isEqualTo((long) writers * pingsPerWriter - 1);
+			assertThat(stored.getP2pListenHostId()).isEqualTo(writers - 1);
+			assertThat(index.getEndpointCount()).isEqualTo(1);
+		}
+	}
+
+	private void setUp(int maxIdentitiesPerEndpoint) {
+		setUp(maxIdentitiesPerEndpoint, false);
+	}
+
+	private void setUp(int maxIdentitiesPerEndpoint, boolean offHeap) {
+		PropertiesRegistryConfig properties = new PropertiesRegistryConfig();
+		properties.setCapacity(16);
+		properties.setMaxSoftwareVersions(4);
+		properties.setMaxIdentitiesPerEndpoint(maxIdentitiesPerEndpoint);
+		index = null;
+		NodeInternTables internTables = new NodeInternTables(properties);
+		ApplicationEventPublisher eventPublisher = event -> {
+			if (event instanceof NodeRemovedEvent removed) {
+				index.onNodeRemoved(removed);
+			}
+		};
+		registry = offHeap ? new OffHeapNodeRegistry(16, internTables, eventPublisher)
+				: new HeapNodeRegistry(16, internTables, eventPublisher);
+		index = new NodeEndpointIndex(registry, properties);
+	}
+
+	private static NodeInfo node(int id, int hostId, long firstSeen) {
+		return node(id, hostId, 30303, firstSeen);
+	}
+
+	private static NodeInfo node(int id, int hostId, int port, long firstSeen) {
+		return node(id, hostId, port, firstSeen, firstSeen + 10);
+	}
+
+	private static NodeInfo node(int id, int hostId, int port, long firstSeen, long pingTimestamp) {
+		return new NodeInfo(Address.wrap(Bytes.concatenate(Bytes.ofUnsignedInt(id), Bytes.wrap(new byte[16]))),
+				hostId, port, Network.MAINNET, 0, BigInteger.ONE, Hash.wrap(Bytes.wrap(new byte[32])), 1,
+				pingTimestamp, 0, firstSeen, 1, 0, pingTimestamp);
+	}
+}
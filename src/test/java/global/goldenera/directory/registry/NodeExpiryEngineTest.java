@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+
+class NodeExpiryEngineTest {
+
+	private static final long TICK_MILLIS = 100;
+
+	AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+	List<NodeRemovedEvent> removals = new ArrayList<>();
+	HeapNodeRegistry registry;
+	NodeExpiryEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		PropertiesRegistryConfig properties = new PropertiesRegistryConfig();
+		properties.setCapacity(16);
+		properties.setMaxSoftwareVersions(4);
+		registry = new HeapNodeRegistry(16, new NodeInternTables(properties), event -> {
+			if (event instanceof NodeRemovedEvent removed) {
+				removals.add(removed);
+			}
+		});
+		engine = new NodeExpiryEngine(registry, TICK_MILLIS, clock::get, null);
+	}
+
+	@Test
+	void expiresAtTheDeadline() {
+		Address identity = register(1, 1_000);
+
+		advance(900);
+		assertThat(registry.get(identity)).isNotNull();
+		advance(100);
+
+		assertThat(registry.get(identity)).isNull();
+		assertThat(removals).singleElement().satisfies(event -> {
+			assertThat(event.getNode().getNodeIdentity()).isEqualTo(identity);
+			assertThat(event.getCause()).isEqualTo(NodeRemovalCause.EXPIRED);
+		});
+		assertThat(engine.getPendingTimers()).isZero();
+		assertThat(engine.getExpiredNodes()).isEqualTo(1);
+	}
+
+	@Test
+	void pingPushesTheDeadlineBack() {
+		Address identity = register(1, 1_000);
+		advance(800);
+		register(1, 1_000);
+
+		advance(300);
+		assertThat(registry.get(identity)).isNotNull();
+		advance(700);
+
+		assertThat(registry.get(identity)).isNull();
+		assertThat(removals).hasSize(1);
+	}
+
+	@Test
+	void shorterTtlPullsTheDeadlineIn() {
+		Address identity = register(1, 10_000);
+		advance(100);
+		register(1, 500);
+
+		advance(500);
+
+		assertThat(registry.get(identity)).isNull();
+	}
+
+	@Test
+	void removalEventsFollowDeadlineOrder() {
+		// scheduled out of order, spread over several wheel levels
+		Address late = register(1, 500_000);
+		Address early = register(2, 300);
+		Address middle = register(3, 7_000);
+		Address sameTickAsMiddle = register(4, 6_950);
+
+		for (int i = 0; i < 5_000; i++) {
+			advance(TICK_MILLIS);
+		}
+
+		assertThat(removals).extracting(event -> event.getNode().getNodeIdentity())
+				.startsWith(early)
+				.containsExactlyInAnyOrder(early, middle, sameTickAsMiddle, late)
+				.endsWith(late);
+	}
+
+	@Test
+	void refreshedEntryIsNotRemovedByAStaleTimer() {
+		Address identity = register(1, 1_000);
+		advance(1_000 - TICK_MILLIS);
+		// written without touching the timer, like a record that raced the expiry
+		NodeInfo refreshed = registry.get(identity);
+		refreshed.setUpdatedAt(refreshed.getUpdatedAt() + 1);
+
+		advance(TICK_MILLIS);
+
+		assertThat(registry.get(identity)).isNotNull();
+		assertThat(removals).isEmpty();
+	}
+
+	private Address register(int id, long ttlMillis) {
+		Address identity = Address.wrap(Bytes.concatenate(Bytes.ofUnsignedInt(id), Bytes.wrap(new byte[16])));
+		long now = clock.get() / 1000;
+		NodeInfo node = new NodeInfo(identity, 0, 30303, Network.MAINNET, 0, BigInteger.ONE,
+				Hash.wrap(Bytes.wrap(new byte[32])), 1, now, 0, now, 1, 0, now);
+		registry.put(node);
+		engine.touch(identity, now, ttlMillis);
+		return identity;
+	}
+
+	private void advance(long millis) {
+		clock.addAndGet(millis);
+		engine.tick();
+	}
+}
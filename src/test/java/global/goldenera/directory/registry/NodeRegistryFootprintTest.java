@@ -0,0 +1,367 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.management.ThreadMXBean;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.properties.PropertiesAdmissionConfig;
+import global.goldenera.directory.properties.PropertiesReachabilityConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.services.system.PongReachabilityMode;
+import global.goldenera.directory.services.system.ReachabilityService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures the retained size of registry entries with JOL, so the figures
+ * reported by {@link NodeRegistry#stats()} stay backed by a measurement.
+ */
+@Slf4j
+class NodeRegistryFootprintTest {
+
+	private static final int NODES = 20_000;
+	private static final ThreadMXBean ALLOCATIONS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@Test
+	void heapEstimateMatchesMeasuredFootprint() {
+		NodeInternTables internTables = internTables();
+		HeapNodeRegistry registry = new HeapNodeRegistry(NODES, internTables, event -> {
+		});
+		// pre-size the map so the measurement is not skewed by a half-empty table
+		fill(registry, internTables, NODES / 2);
+		long[] before = footprint(registry, internTables);
+		fill(registry, internTables, NODES / 2);
+		long[] after = footprint(registry, internTables);
+
+		double bytesPerNode = (double) (after[0] - before[0]) / (NODES / 2);
+		double objectsPerNode = (double) (after[1] - before[1]) / (NODES / 2);
+		log.info("Heap registry: {} bytes, {} objects per node", bytesPerNode, objectsPerNode);
+		assertThat(bytesPerNode).isCloseTo(HeapNodeRegistry.ESTIMATED_BYTES_PER_NODE,
+				within(HeapNodeRegistry.ESTIMATED_BYTES_PER_NODE * 0.15));
+		assertThat(objectsPerNode).isCloseTo(HeapNodeRegistry.HEAP_OBJECTS_PER_NODE, within(0.5));
+	}
+
+	@Test
+	void offHeapSlabHoldsNoObjectsPerNode() {
+		NodeInternTables internTables = internTables();
+		OffHeapNodeRegistry registry = new OffHeapNodeRegistry(NODES, internTables, event -> {
+		});
+		long[] before = footprint(registry, internTables);
+		fill(registry, internTables, NODES);
+		long[] after = footprint(registry, internTables);
+
+		// only lock bookkeeping may differ between the two walks
+		assertThat(after[1]).isCloseTo(before[1], within(16L));
+		assertThat(after[0]).isCloseTo(before[0], within(1024L));
+	}
+
+	/**
+	 * The registry is not the only per-node state: expiry timers, the endpoint
+	 * index, admission counters and intern entries grow with it on either
+	 * backend, so the stats must cover them too.
+	 */
+	@Test
+	void statsMatchMeasuredPerNodeStack() {
+		for (NodeRegistryBackend backend : NodeRegistryBackend.values()) {
+			try (NodeStack stack = new NodeStack(backend)) {
+				// pre-size the maps so the measurement is not skewed by half-empty tables
+				stack.refresh(stack.register(NODES / 2, 0));
+				long[] before = stack.footprint(false);
+				long[] probedBefore = stack.footprint(true);
+				stack.refresh(stack.register(NODES / 2, NODES / 2));
+				long[] after = stack.footprint(false);
+				long[] probedAfter = stack.footprint(true);
+
+				double bytesPerNode = (double) (after[0] - before[0]) / (NODES / 2);
+				double objectsPerNode = (double) (after[1] - before[1]) / (NODES / 2);
+				double probedBytesPerNode = (double) (probedAfter[0] - probedBefore[0]) / (NODES / 2) - bytesPerNode;
+				double probedObjectsPerNode = (double) (probedAfter[1] - probedBefore[1]) / (NODES / 2) - objectsPerNode;
+				NodeRegistryStats stats = stack.registry.stats();
+				log.info("{} stack: {} heap bytes, {} objects per node; reachability adds {} bytes, {} objects",
+						backend, bytesPerNode, objectsPerNode, probedBytesPerNode, probedObjectsPerNode);
+				long heapBytesPerNode = backend == NodeRegistryBackend.HEAP ? stats.getBytesPerNode()
+						: OffHeapNodeRegistry.SHARED_HEAP_BYTES_PER_NODE;
+				assertThat(bytesPerNode).isCloseTo(heapBytesPerNode, within(heapBytesPerNode * 0.15));
+				assertThat(objectsPerNode).isCloseTo(stats.getHeapObjectsPerNode(), within(0.5));
+				assertThat(probedBytesPerNode).isCloseTo(NodeRegistryStats.REACHABILITY_BYTES_PER_NODE,
+						within(NodeRegistryStats.REACHABILITY_BYTES_PER_NODE * 0.25));
+				assertThat(probedObjectsPerNode).isCloseTo(NodeRegistryStats.REACHABILITY_HEAP_OBJECTS_PER_NODE,
+						within(1.0));
+			}
+		}
+	}
+
+	/**
+	 * Off-heap trades retained objects for garbage: every read decodes a slot
+	 * into a fresh record, so a ping allocates more than on the heap backend.
+	 */
+	@Test
+	void offHeapAllocatesMorePerPing() {
+		double[] allocatedPerPing = new double[NodeRegistryBackend.values().length];
+		for (NodeRegistryBackend backend : NodeRegistryBackend.values()) {
+			try (NodeStack stack = new NodeStack(backend)) {
+				List<NodeInfo> nodes = stack.register(NODES / 4, 0);
+				for (int round = 0; round < 3; round++) {
+					// warm up the write path
+					nodes = stack.reparse(nodes);
+					stack.refresh(nodes);
+				}
+				nodes = stack.reparse(nodes);
+				long before = ALLOCATIONS.getCurrentThreadAllocatedBytes();
+				stack.refresh(nodes);
+				allocatedPerPing[backend.ordinal()] = (double) (ALLOCATIONS.getCurrentThreadAllocatedBytes() - before)
+						/ nodes.size();
+				log.info("{} stack: {} bytes allocated per ping", backend, allocatedPerPing[backend.ordinal()]);
+			}
+		}
+		assertThat(allocatedPerPing[NodeRegistryBackend.OFF_HEAP.ordinal()])
+				.isGreaterThan(allocatedPerPing[NodeRegistryBackend.HEAP.ordinal()]);
+	}
+
+	@Test
+	void offHeapReadsBackWhatWasPut() {
+		NodeInternTables internTables = internTables();
+		OffHeapNodeRegistry registry = new OffHeapNodeRegistry(16, internTables, event -> {
+		});
+		for (NodeInfo node : fill(registry, internTables, 16)) {
+			NodeInfo read = registry.get(Address.fromHexString(node.getNodeIdentity().toHexString()));
+			assertThat(read).isEqualTo(node);
+			assertThat(read.getHeadHash().toHexString()).isEqualTo(node.getHeadHash().toHexString());
+		}
+		assertThat(registry.snapshot(null)).hasSize(16);
+	}
+
+	@Test
+	void offHeapRefusesPortsItCannotStore() {
+		NodeInternTables internTables = internTables();
+		OffHeapNodeRegistry registry = new OffHeapNodeRegistry(16, internTables, event -> {
+		});
+		NodeInfo node = fill(registry, internTables, 1).get(0);
+
+		for (int port : new int[] { 0, -1, 65536 + 30303 }) {
+			node.setP2pListenPort(port);
+			assertThatThrownBy(() -> registry.put(node)).isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThat(registry.get(node.getNodeIdentity()).getP2pListenPort()).isEqualTo(30303);
+
+		node.setP2pListenPort(65535);
+		registry.put(node);
+		assertThat(registry.get(node.getNodeIdentity()).getP2pListenPort()).isEqualTo(65535);
+	}
+
+	private static List<NodeInfo> fill(NodeRegistry registry, NodeInternTables internTables, int count) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<NodeInfo> nodes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			// parse from hex like the ping path does
+			NodeInfo node = new NodeInfo(
+					Address.fromHexString(Bytes.random(20).toHexString()),
+					internTables.acquireHost("10.0." + (i >> 8 & 0xff) + "." + (i & 0xff)),
+					30303,
+					Network.MAINNET,
+					internTables.acquireSoftwareVersion("1.0.0"),
+					new BigInteger(Long.toString(random.nextLong(Long.MAX_VALUE)) + "000000"),
+					Hash.fromHexString(Bytes.random(32).toHexString()),
+					random.nextLong(10_000_000),
+					System.currentTimeMillis() / 1000,
+					0,
+					System.currentTimeMillis() / 1000,
+					1,
+					internTables.acquireSourceIp("10.0." + (i >> 8 & 0xff) + "." + (i & 0xff)),
+					System.currentTimeMillis() / 1000);
+			registry.put(node);
+			nodes.add(node);
+		}
+		return nodes;
+	}
+
+	/**
+	 * Interned strings are shared by both backends and accounted separately.
+	 *
+	 * @return retained {bytes, objects} of the registry alone.
+	 */
+	private static long[] footprint(NodeRegistry registry, NodeInternTables internTables) {
+		GraphLayout total = GraphLayout.parseInstance(registry);
+		GraphLayout shared = GraphLayout.parseInstance(internTables);
+		return new long[] { total.totalSize() - shared.totalSize(), total.totalCount() - shared.totalCount() };
+	}
+
+	/**
+	 * Everything that keeps per-node state, wired like the ping path.
+	 */
+	static class NodeStack implements AutoCloseable {
+
+		final NodeInternTables internTables = internTables();
+		final NodeRegistry registry;
+		final NodeEndpointIndex endpointIndex;
+		final NodeExpiryEngine expiryEngine;
+		final NodeAdmissionPolicy admissionPolicy;
+		final ReachabilityService reachabilityService;
+		final long now = System.currentTimeMillis() / 1000;
+
+		NodeStack(NodeRegistryBackend backend) {
+			PropertiesRegistryConfig registryProperties = new PropertiesRegistryConfig();
+			registryProperties.setCapacity(NODES);
+			registryProperties.setMaxIdentitiesPerEndpoint(1);
+			registry = backend == NodeRegistryBackend.HEAP
+					? new HeapNodeRegistry(NODES, internTables, event -> {
+					})
+					: new OffHeapNodeRegistry(NODES, internTables, event -> {
+					});
+			endpointIndex = new NodeEndpointIndex(registry, registryProperties);
+			expiryEngine = new NodeExpiryEngine(registry, 100, System::currentTimeMillis, null);
+
+			PropertiesAdmissionConfig admissionProperties = new PropertiesAdmissionConfig();
+			admissionProperties.setMaxIdentitiesPerIp(8);
+			admissionProperties.setMaxIdentitiesPerSubnet(NODES);
+			admissionProperties.setProbationShare(1.0);
+			admissionProperties.setGraduationSeconds(3_600);
+			admissionProperties.setGraduationPings(30);
+			admissionProperties.setGraduationMaxPingIntervalSeconds(120);
+			admissionPolicy = new NodeAdmissionPolicy(admissionProperties, registryProperties, internTables);
+
+			// the hosts are private, so no probe ever dials out
+			PropertiesReachabilityConfig reachabilityProperties = new PropertiesReachabilityConfig();
+			reachabilityProperties.setEnabled(true);
+			reachabilityProperties.setPongMode(PongReachabilityMode.OFF);
+			reachabilityProperties.setProbesPerSecond(1);
+			reachabilityProperties.setConnectTimeoutMillis(1_000);
+			reachabilityProperties.setReprobeSeconds(3_600);
+			reachabilityProperties.setMaxConcurrentProbes(1);
+			reachabilityProperties.setQueueCapacity(1);
+			reachabilityService = new ReachabilityService(reachabilityProperties, internTables);
+		}
+
+		List<NodeInfo> register(int count, int offset) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			List<NodeInfo> nodes = new ArrayList<>(count);
+			for (int i = offset; i < offset + count; i++) {
+				String host = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+				NodeInfo node = new NodeInfo(
+						Address.fromHexString(Bytes.random(20).toHexString()),
+						internTables.acquireHost(host),
+						30303,
+						Network.MAINNET,
+						internTables.acquireSoftwareVersion("1.0.0"),
+						new BigInteger(Long.toString(random.nextLong(Long.MAX_VALUE)) + "000000"),
+						Hash.fromHexString(Bytes.random(32).toHexString()),
+						random.nextLong(10_000_000),
+						now,
+						0,
+						now,
+						1,
+						internTables.acquireSourceIp(host),
+						now);
+				write(null, node);
+				nodes.add(node);
+			}
+			return nodes;
+		}
+
+		/**
+		 * @return the next ping of every node, parsed anew like a request.
+		 */
+		List<NodeInfo> reparse(List<NodeInfo> nodes) {
+			List<NodeInfo> pings = new ArrayList<>(nodes.size());
+			for (NodeInfo node : nodes) {
+				pings.add(new NodeInfo(
+						Address.fromHexString(node.getNodeIdentity().toHexString()),
+						internTables.acquireHost(internTables.host(node.getP2pListenHostId())),
+						node.getP2pListenPort(),
+						node.getNetwork(),
+						internTables.acquireSoftwareVersion("1.0.0"),
+						new BigInteger(node.getTotalDifficulty().toString()),
+						Hash.fromHexString(Bytes.random(32).toHexString()),
+						node.getHeadHeight() + 1,
+						node.getUpdatedAt() + 30,
+						30_000,
+						node.getFirstSeen(),
+						node.getPingCount() + 1,
+						internTables.acquireSourceIp(internTables.sourceIp(node.getSourceIpId())),
+						node.getPingTimestamp() + 30));
+			}
+			return pings;
+		}
+
+		void refresh(List<NodeInfo> pings) {
+			for (NodeInfo ping : pings) {
+				write(registry.get(ping.getNodeIdentity()), ping);
+			}
+			expiryEngine.tick();
+		}
+
+		private void write(NodeInfo current, NodeInfo node) {
+			NodeAdmissionPolicy.Reservation reservation = admissionPolicy.reserve(current, node, true);
+			NodeInfo previous = endpointIndex.put(node);
+			admissionPolicy.onPut(previous, node, reservation);
+			if (previous != null) {
+				internTables.release(previous);
+			}
+			expiryEngine.touch(node.getNodeIdentity(), node.getUpdatedAt(), 600_000);
+			reachabilityService.onNodeUpdated(new NodeUpdatedEvent(node, true));
+		}
+
+		/**
+		 * @return retained {bytes, objects} of the stack, with or without the
+		 *         reachability entries.
+		 */
+		long[] footprint(boolean probed) {
+			GraphLayout layout = probed
+					? GraphLayout.parseInstance(internTables, registry, endpointIndex, expiryEngine, admissionPolicy,
+							ReflectionTestUtils.getField(reachabilityService, "reachability"))
+					: GraphLayout.parseInstance(internTables, registry, endpointIndex, expiryEngine, admissionPolicy);
+			return new long[] { layout.totalSize(), layout.totalCount() };
+		}
+
+		@Override
+		public void close() {
+			expiryEngine.close();
+			reachabilityService.close();
+		}
+	}
+
+	private static NodeInternTables internTables() {
+		PropertiesRegistryConfig properties = new PropertiesRegistryConfig();
+		properties.setCapacity(NODES);
+		properties.setMaxSoftwareVersions(16);
+		return new NodeInternTables(properties);
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+
+class NodeTtlPolicyTest {
+
+	static final long NOW = 1_700_000_000L;
+
+	@Test
+	void nodePingingSlowerThanTheDefaultTtlSurvivesUntilItsSecondPing() {
+		NodeTtlPolicy policy = policy(true);
+		int cadenceSeconds = 120;
+
+		int firstInterval = policy.nextPingInterval(null, NOW);
+		assertThat(firstInterval).isZero();
+		assertThat(policy.ttlMillis(firstInterval)).isGreaterThan(cadenceSeconds * 1000L);
+
+		int secondInterval = policy.nextPingInterval(node(NOW, firstInterval), NOW + cadenceSeconds);
+		assertThat(secondInterval).isEqualTo(cadenceSeconds * 1000);
+		assertThat(policy.ttlMillis(secondInterval)).isEqualTo(3 * cadenceSeconds * 1000L);
+	}
+
+	@Test
+	void intervalIsSmoothedAndTtlClamped() {
+		NodeTtlPolicy policy = policy(true);
+
+		assertThat(policy.nextPingInterval(node(NOW, 10_000), NOW + 30)).isEqualTo(15_000);
+		assertThat(policy.nextPingInterval(node(NOW, 10_000), NOW)).isEqualTo(10_000);
+		assertThat(policy.nextPingInterval(node(NOW, 0), NOW + 3_600)).isEqualTo(600_000);
+		assertThat(policy.ttlMillis(1_000)).isEqualTo(30_000);
+		assertThat(policy.ttlMillis(300_000)).isEqualTo(600_000);
+	}
+
+	@Test
+	void disabledPolicyAppliesTheGlobalTtl() {
+		NodeTtlPolicy policy = policy(false);
+
+		assertThat(policy.ttlMillis(0)).isEqualTo(60_000);
+		assertThat(policy.ttlMillis(120_000)).isEqualTo(60_000);
+	}
+
+	private static NodeTtlPolicy policy(boolean enabled) {
+		PropertiesRegistryConfig registryProperties = new PropertiesRegistryConfig();
+		registryProperties.setAdaptiveTtlEnabled(enabled);
+		registryProperties.setAdaptiveTtlMultiplier(3.0);
+		registryProperties.setAdaptiveTtlAlpha(0.25);
+		registryProperties.setAdaptiveTtlMinSeconds(30);
+		registryProperties.setAdaptiveTtlMaxSeconds(600);
+		PropertiesGeneralConfig generalProperties = new PropertiesGeneralConfig();
+		generalProperties.setDeleteInactiveNodeAfterSeconds(60);
+		return new NodeTtlPolicy(registryProperties, generalProperties);
+	}
+
+	private static NodeInfo node(long updatedAt, int pingIntervalMillis) {
+		return new NodeInfo(null, 0, 30303, null, 0, null, null, 0, updatedAt, pingIntervalMillis, updatedAt, 1, 0, 0);
+	}
+}
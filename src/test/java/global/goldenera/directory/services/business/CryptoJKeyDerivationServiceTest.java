@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJDeriveKeysInDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJDerivedKeyDtoV1;
+import global.goldenera.directory.exceptions.GETooManyRequestsException;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+import global.goldenera.directory.ratelimit.RouteFamily;
+
+class CryptoJKeyDerivationServiceTest {
+
+	static final String SOURCE_IP = "198.51.100.1";
+	static final String BIP44_EXTERNAL_CHAIN = "m/44'/60'/0'/0";
+
+	ObjectMapper objectMapper = new ObjectMapper();
+	AddressRateLimiter addressRateLimiter;
+	CryptoJKeyDerivationService cryptoJKeyDerivationService;
+
+	@BeforeEach
+	void setUp() {
+		addressRateLimiter = mock(AddressRateLimiter.class);
+		when(addressRateLimiter.maxBatchItems(RouteFamily.GENERATE_KEYS)).thenReturn(10);
+		when(addressRateLimiter.tryAcquireBatchItems(anyString(), any(), anyInt())).thenReturn(true);
+		PropertiesCryptoJConfig properties = new PropertiesCryptoJConfig();
+		properties.setDeriveThreads(2);
+		properties.setDeriveMaxKeys(1000);
+		cryptoJKeyDerivationService = new CryptoJKeyDerivationService(properties, objectMapper, addressRateLimiter);
+	}
+
+	@AfterEach
+	void tearDown() {
+		cryptoJKeyDerivationService.close();
+	}
+
+	@Test
+	void firstExternalChainKeyIsTheMnemonicsKey() throws Exception {
+		String mnemonic = PrivateKey.generateMnemonic();
+
+		List<CryptoJDerivedKeyDtoV1> keys = derive(mnemonic, BIP44_EXTERNAL_CHAIN, 0, 1);
+
+		assertThat(keys.get(0).getAddress())
+				.isEqualTo(PrivateKey.load(mnemonic, null).getAddress().toChecksumAddress());
+	}
+
+	@Test
+	void keysStreamInIndexOrderAcrossChunks() throws Exception {
+		List<CryptoJDerivedKeyDtoV1> keys = derive(PrivateKey.generateMnemonic(), BIP44_EXTERNAL_CHAIN, 5, 300);
+
+		assertThat(keys).hasSize(300);
+		for (int i = 0; i < keys.size(); i++) {
+			assertThat(keys.get(i).getIndex()).isEqualTo(5 + i);
+			assertThat(keys.get(i).getPath()).isEqualTo(BIP44_EXTERNAL_CHAIN + "/" + (5 + i));
+		}
+		assertThat(keys).extracting(CryptoJDerivedKeyDtoV1::getAddress).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void chunksAfterTheFirstAreCharged() throws Exception {
+		derive(PrivateKey.generateMnemonic(), BIP44_EXTERNAL_CHAIN, 0, CryptoJKeyDerivationService.CHUNK_SIZE);
+		verify(addressRateLimiter, never()).tryAcquireBatchItems(anyString(), any(), anyInt());
+
+		derive(PrivateKey.generateMnemonic(), BIP44_EXTERNAL_CHAIN, 0, 2 * CryptoJKeyDerivationService.CHUNK_SIZE + 1);
+		verify(addressRateLimiter).tryAcquireBatchItems(SOURCE_IP, RouteFamily.GENERATE_KEYS, 2);
+	}
+
+	@Test
+	void countBeyondTheBudgetIsRefused() {
+		int budgetMaxKeys = 10 * CryptoJKeyDerivationService.CHUNK_SIZE;
+		assertThatThrownBy(() -> derive(PrivateKey.generateMnemonic(), BIP44_EXTERNAL_CHAIN, 0, budgetMaxKeys + 1))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining(Integer.toString(budgetMaxKeys));
+	}
+
+	@Test
+	void unpaidChunksAreRefusedBeforeDeriving() {
+		when(addressRateLimiter.tryAcquireBatchItems(anyString(), any(), anyInt())).thenReturn(false);
+
+		assertThatThrownBy(() -> derive(PrivateKey.generateMnemonic(), BIP44_EXTERNAL_CHAIN, 0,
+				CryptoJKeyDerivationService.CHUNK_SIZE + 1))
+				.isInstanceOf(GETooManyRequestsException.class);
+	}
+
+	private List<CryptoJDerivedKeyDtoV1> derive(String mnemonic, String basePath, int fromIndex, int count)
+			throws Exception {
+		CryptoJDeriveKeysInDto input = CryptoJDeriveKeysInDto.builder()
+				.mnemonic(mnemonic)
+				.basePath(basePath)
+				.fromIndex(fromIndex)
+				.count(count)
+				.build();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		cryptoJKeyDerivationService.deriveKeys(input, SOURCE_IP).writeTo(out);
+		List<CryptoJDerivedKeyDtoV1> keys = new ArrayList<>();
+		for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+			keys.add(objectMapper.readValue(line, CryptoJDerivedKeyDtoV1.class));
+		}
+		return keys;
+	}
+}
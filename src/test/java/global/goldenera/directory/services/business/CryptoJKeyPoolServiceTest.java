@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJKeysDtoV1;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+
+class CryptoJKeyPoolServiceTest {
+
+	static final int POOL_SIZE = 16;
+	static final Duration FILL_TIMEOUT = Duration.ofSeconds(30);
+
+	CryptoJKeyPoolService pool;
+
+	@AfterEach
+	void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	void concurrentTakersGetDistinctKeys() throws Exception {
+		pool = new CryptoJKeyPoolService(properties(POOL_SIZE, 1000));
+		await().atMost(FILL_TIMEOUT).until(() -> pool.getAvailable() == POOL_SIZE);
+
+		int takers = POOL_SIZE * 2;
+		ExecutorService executor = Executors.newFixedThreadPool(takers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CryptoJKeysDtoV1>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < takers; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return pool.take();
+				}));
+			}
+			start.countDown();
+			List<CryptoJKeysDtoV1> keys = new ArrayList<>();
+			for (Future<CryptoJKeysDtoV1> future : futures) {
+				keys.add(future.get());
+			}
+
+			assertThat(keys).extracting(CryptoJKeysDtoV1::getPrivateKeyHex).doesNotHaveDuplicates();
+			assertThat(keys).extracting(CryptoJKeysDtoV1::getMnemonic).doesNotHaveDuplicates();
+			// more takers than pooled keys, so some fell back
+			assertThat(pool.getMisses()).isPositive();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void emptyPoolFallsBackAndCountsMiss() {
+		// one key, then nothing for a second
+		pool = new CryptoJKeyPoolService(properties(1, 1));
+		await().atMost(FILL_TIMEOUT).until(() -> pool.getAvailable() == 1);
+
+		CryptoJKeysDtoV1 pooled = pool.take();
+		CryptoJKeysDtoV1 generated = pool.take();
+
+		assertThat(pool.getMisses()).isEqualTo(1);
+		assertThat(generated.getPrivateKeyHex()).isNotEqualTo(pooled.getPrivateKeyHex());
+		assertThat(generated.getAddress()).isNotBlank();
+	}
+
+	@Test
+	void zeroSizeDisablesPool() throws Exception {
+		pool = new CryptoJKeyPoolService(properties(0, 1000));
+
+		CryptoJKeysDtoV1 first = pool.take();
+		CryptoJKeysDtoV1 second = pool.take();
+		Thread.sleep(100);
+
+		assertThat(first.getPrivateKeyHex()).isNotEqualTo(second.getPrivateKeyHex());
+		assertThat(pool.getAvailable()).isZero();
+		// nothing to miss without a pool
+		assertThat(pool.getMisses()).isZero();
+	}
+
+	@Test
+	void closeClearsPoolAndStopsRefill() throws Exception {
+		pool = new CryptoJKeyPoolService(properties(POOL_SIZE, 1000));
+		await().atMost(FILL_TIMEOUT).until(() -> pool.getAvailable() == POOL_SIZE);
+
+		pool.close();
+		Thread.sleep(100);
+
+		assertThat(pool.getAvailable()).isZero();
+		assertThat(pool.take().getPrivateKeyHex()).isNotBlank();
+		assertThat(pool.getAvailable()).isZero();
+	}
+
+	private static PropertiesCryptoJConfig properties(int size, int refillPerSecond) {
+		PropertiesCryptoJConfig properties = new PropertiesCryptoJConfig();
+		properties.setKeyPoolSize(size);
+		properties.setKeyPoolRefillPerSecond(refillPerSecond);
+		return properties;
+	}
+}
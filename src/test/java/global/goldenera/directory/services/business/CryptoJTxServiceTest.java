@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInTransfer;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxVerifyResultDto;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+
+/**
+ * Round-trips transactions signed by {@code TxBuilder} through the verifier,
+ * so the sender recovery is checked against cryptoj's own signing.
+ */
+class CryptoJTxServiceTest {
+
+	static final String SOURCE_IP = "198.51.100.1";
+
+	PrivateKey signer;
+	CryptoJTxService cryptoJTxService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		signer = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		AddressRateLimiter addressRateLimiter = mock(AddressRateLimiter.class);
+		when(addressRateLimiter.maxBatchItems(any())).thenReturn(Integer.MAX_VALUE);
+		when(addressRateLimiter.tryAcquireBatchItems(anyString(), any(), anyInt())).thenReturn(true);
+		PropertiesCryptoJConfig properties = new PropertiesCryptoJConfig();
+		properties.setBatchThreads(2);
+		properties.setBatchMaxItems(1000);
+		cryptoJTxService = new CryptoJTxService(properties, new ObjectMapper(), addressRateLimiter);
+	}
+
+	@AfterEach
+	void tearDown() {
+		cryptoJTxService.close();
+	}
+
+	@Test
+	void generatedTransferVerifies() {
+		String rawTx = signedTransfer();
+
+		CryptoJTxVerifyResultDto anySender = verify(rawTx, null);
+		CryptoJTxVerifyResultDto expectedSender = verify(rawTx, signer.getAddress().toHexString());
+
+		assertThat(anySender.isValid()).as("error: %s", anySender.getError()).isTrue();
+		assertThat(anySender.getSender()).isEqualTo(signer.getAddress().toChecksumAddress());
+		assertThat(anySender.getTx()).isNotNull();
+		assertThat(expectedSender.isValid()).as("error: %s", expectedSender.getError()).isTrue();
+	}
+
+	@Test
+	void everyFlippedByteIsRejected() {
+		Bytes rawTx = Bytes.fromHexString(signedTransfer());
+		List<String> flipped = new ArrayList<>();
+		for (int i = 0; i < rawTx.size(); i++) {
+			MutableBytes copy = rawTx.mutableCopy();
+			copy.set(i, (byte) (copy.get(i) ^ 0x01));
+			flipped.add(copy.toHexString());
+		}
+
+		List<CryptoJTxVerifyResultDto> results = cryptoJTxService
+				.verifyTxBatch(flipped, Network.MAINNET, signer.getAddress().toHexString(), SOURCE_IP)
+				.getResults();
+
+		assertThat(results).hasSize(rawTx.size()).noneMatch(CryptoJTxVerifyResultDto::isValid);
+	}
+
+	@Test
+	void otherNetworkIsRejected() {
+		CryptoJTxVerifyResultDto result = cryptoJTxService
+				.verifyTxBatch(List.of(signedTransfer()), Network.TESTNET, null, SOURCE_IP)
+				.getResults()
+				.get(0);
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getError()).contains("network");
+	}
+
+	private CryptoJTxVerifyResultDto verify(String rawTx, String sender) {
+		return cryptoJTxService.verifyTxBatch(List.of(rawTx), Network.MAINNET, sender, SOURCE_IP)
+				.getResults()
+				.get(0);
+	}
+
+	private String signedTransfer() {
+		return cryptoJTxService.generateTxTransfer(CryptoJTxInTransfer.builder()
+				.network(Network.MAINNET)
+				.privateKeyHex(signer.toHexString())
+				.nonce(1L)
+				.recipientAddress("0x2222222222222222222222222222222222222222")
+				.amount("1.5")
+				.fee("0.001")
+				.message("round trip")
+				.build())
+				.getRawTxDataInHex();
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.cryptoj.CryptoJApiV1;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxBatchItemResultDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxInTransfer;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxTemplatePatchDto;
+import global.goldenera.directory.api.v1.cryptoj.dtos.CryptoJTxTemplateTransferInDto;
+import global.goldenera.directory.config.ExceptionHandlerConfig;
+import global.goldenera.directory.properties.PropertiesCryptoJConfig;
+import global.goldenera.directory.ratelimit.AddressRateLimiter;
+
+/**
+ * Checks template signing against {@code generate-tx/transfer} and the
+ * template lifecycle through the API, with idle expiry on a manual ticker.
+ */
+class CryptoJTxTemplateServiceTest {
+
+	static final String SOURCE_IP = "198.51.100.1";
+	static final String RECIPIENT = "0x2222222222222222222222222222222222222222";
+	static final String OTHER_RECIPIENT = "0x3333333333333333333333333333333333333333";
+	static final int IDLE_SECONDS = 60;
+
+	PrivateKey signer;
+	AtomicLong nanos = new AtomicLong();
+	CryptoJTxService cryptoJTxService;
+	CryptoJTxTemplateService templateService;
+	MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		signer = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		AddressRateLimiter addressRateLimiter = mock(AddressRateLimiter.class);
+		when(addressRateLimiter.maxBatchItems(any())).thenReturn(Integer.MAX_VALUE);
+		when(addressRateLimiter.tryAcquireBatchItems(anyString(), any(), anyInt())).thenReturn(true);
+		PropertiesCryptoJConfig properties = new PropertiesCryptoJConfig();
+		properties.setBatchThreads(2);
+		properties.setBatchMaxItems(1000);
+		properties.setTemplateMaxCount(100);
+		properties.setTemplateIdleSeconds(IDLE_SECONDS);
+		cryptoJTxService = new CryptoJTxService(properties, new ObjectMapper(), addressRateLimiter);
+		templateService = new CryptoJTxTemplateService(properties, cryptoJTxService, nanos::get);
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new CryptoJApiV1(cryptoJTxService, mock(CryptoJKeyPoolService.class),
+						mock(CryptoJKeyDerivationService.class), templateService))
+				.setControllerAdvice(new ExceptionHandlerConfig())
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		templateService.close();
+		cryptoJTxService.close();
+	}
+
+	@Test
+	void templateTransferIsByteIdenticalToGenerateTx() {
+		String templateId = register(RECIPIENT, "1.5");
+
+		List<CryptoJTxBatchItemResultDto> results = templateService.generateTxTransfer(templateId, List.of(
+				CryptoJTxTemplatePatchDto.builder().nonce(1L).build(),
+				CryptoJTxTemplatePatchDto.builder().nonce(2L).recipientAddress(OTHER_RECIPIENT).amount("0.25").build()),
+				SOURCE_IP).getResults();
+
+		assertThat(results).extracting(CryptoJTxBatchItemResultDto::getError).containsOnlyNulls();
+		assertThat(results.get(0).getRawTxDataInHex()).isEqualTo(generateTx(1L, RECIPIENT, "1.5"));
+		assertThat(results.get(1).getRawTxDataInHex()).isEqualTo(generateTx(2L, OTHER_RECIPIENT, "0.25"));
+	}
+
+	@Test
+	void patchWithoutDefaultsFailsOnItsOwn() {
+		String templateId = register(null, null);
+
+		List<CryptoJTxBatchItemResultDto> results = templateService.generateTxTransfer(templateId, List.of(
+				CryptoJTxTemplatePatchDto.builder().nonce(1L).build(),
+				CryptoJTxTemplatePatchDto.builder().nonce(2L).recipientAddress(RECIPIENT).amount("1.5").build()),
+				SOURCE_IP).getResults();
+
+		assertThat(results.get(0).getError()).isNotNull();
+		assertThat(results.get(1).getRawTxDataInHex()).isEqualTo(generateTx(2L, RECIPIENT, "1.5"));
+	}
+
+	@Test
+	void unknownTemplateIsNotFound() throws Exception {
+		sign("00000000000000000000000000000000").andExpect(status().isNotFound());
+	}
+
+	@Test
+	void idleTemplateExpires() throws Exception {
+		String templateId = register(RECIPIENT, "1.5");
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(IDLE_SECONDS - 1));
+		sign(templateId).andExpect(status().isOk());
+		// use restarts the idle period
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(IDLE_SECONDS - 1));
+		sign(templateId).andExpect(status().isOk());
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(IDLE_SECONDS));
+		sign(templateId).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void deleteEvictsTemplate() throws Exception {
+		String templateId = register(RECIPIENT, "1.5");
+		String otherId = register(RECIPIENT, "1.5");
+
+		mockMvc.perform(delete("/api/v1/cryptoj/generate-tx/template/" + templateId))
+				.andExpect(status().isOk());
+
+		sign(templateId).andExpect(status().isNotFound());
+		sign(otherId).andExpect(status().isOk());
+	}
+
+	private ResultActions sign(String templateId) throws Exception {
+		return mockMvc.perform(post("/api/v1/cryptoj/generate-tx/template/" + templateId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"patches\":[{\"nonce\":1}]}"));
+	}
+
+	private String register(String recipient, String amount) {
+		return templateService.registerTransfer(CryptoJTxTemplateTransferInDto.builder()
+				.network(Network.MAINNET)
+				.privateKeyHex(signer.toHexString())
+				.recipientAddress(recipient)
+				.amount(amount)
+				.fee("0.001")
+				.message("template")
+				.build())
+				.getTemplateId();
+	}
+
+	private String generateTx(long nonce, String recipient, String amount) {
+		return cryptoJTxService.generateTxTransfer(CryptoJTxInTransfer.builder()
+				.network(Network.MAINNET)
+				.privateKeyHex(signer.toHexString())
+				.nonce(nonce)
+				.recipientAddress(recipient)
+				.amount(amount)
+				.fee("0.001")
+				.message("template")
+				.build())
+				.getRawTxDataInHex();
+	}
+}
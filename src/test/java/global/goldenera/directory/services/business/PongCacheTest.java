@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.business;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodePongPayloadDtoV1;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+
+class PongCacheTest {
+
+	AtomicInteger created = new AtomicInteger();
+	List<Network> createdFor = new ArrayList<>();
+
+	@Test
+	void peersWithoutNetworkAreCached() {
+		PongCache pongCache = new PongCache(properties(60_000));
+
+		NodePongDtoV1 first = pongCache.get(null, this::createPong);
+		NodePongDtoV1 second = pongCache.get(null, this::createPong);
+
+		assertThat(second).isSameAs(first);
+		assertThat(created).hasValue(1);
+		assertThat(createdFor).containsExactly((Network) null);
+	}
+
+	@Test
+	void networksAreCachedSeparately() {
+		PongCache pongCache = new PongCache(properties(60_000));
+
+		NodePongDtoV1 all = pongCache.get(null, this::createPong);
+		NodePongDtoV1 mainnet = pongCache.get(Network.MAINNET, this::createPong);
+		NodePongDtoV1 testnet = pongCache.get(Network.TESTNET, this::createPong);
+
+		assertThat(List.of(all, mainnet, testnet)).doesNotHaveDuplicates();
+		assertThat(pongCache.get(Network.MAINNET, this::createPong)).isSameAs(mainnet);
+		assertThat(createdFor).containsExactly(null, Network.MAINNET, Network.TESTNET);
+	}
+
+	@Test
+	void zeroWindowDisablesTheCache() {
+		PongCache pongCache = new PongCache(properties(0));
+
+		pongCache.get(null, this::createPong);
+		pongCache.get(null, this::createPong);
+
+		assertThat(created).hasValue(2);
+	}
+
+	private NodePongDtoV1 createPong(Network network) {
+		created.incrementAndGet();
+		createdFor.add(network);
+		return new NodePongDtoV1(new NodePongPayloadDtoV1(List.of(), created.get()), null, null);
+	}
+
+	private static PropertiesRegistryConfig properties(int pongCacheMillis) {
+		PropertiesRegistryConfig properties = new PropertiesRegistryConfig();
+		properties.setPongCacheMillis(pongCacheMillis);
+		return properties;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.Application;
+import global.goldenera.directory.api.v1.node.dtos.NodePingDtoV1;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import global.goldenera.directory.utils.RlpEncoderUtil;
+
+/**
+ * One instance with room for a single identity on probation, restarted on the
+ * same data directory.
+ */
+class AdmissionRestartIntegrationTest {
+
+	private static final String PUBLIC_HOST = "93.184.216.34";
+
+	@TempDir
+	Path dataDir;
+
+	ConfigurableApplicationContext instance;
+	AtomicInteger nextPort = new AtomicInteger(30303);
+
+	@AfterEach
+	void stopInstance() {
+		if (instance != null) {
+			instance.close();
+		}
+	}
+
+	@Test
+	void graduatedNodeKeepsItsStandingAcrossARestart() throws Exception {
+		PrivateKey established = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		int establishedPort = nextPort.getAndIncrement();
+		instance = start();
+		ping(established, establishedPort, "198.51.100.10");
+		Thread.sleep(1_100);
+		ping(established, establishedPort, "198.51.100.10");
+		NodeRegistry registry = instance.getBean(NodeRegistry.class);
+		assertThat(registry.get(established.getAddress()).getPingCount()).isEqualTo(2);
+
+		instance.close();
+		instance = start();
+		// a newcomer takes the only probation slot first
+		PrivateKey newcomer = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		ping(newcomer, nextPort.getAndIncrement(), "198.51.100.11");
+		assertThatThrownBy(() -> ping(PrivateKey.load(PrivateKey.generateMnemonic(), null),
+				nextPort.getAndIncrement(), "198.51.100.12"))
+				.isInstanceOf(GEValidationException.class)
+				.hasMessageContaining("No room");
+
+		ping(established, establishedPort, "198.51.100.10");
+		registry = instance.getBean(NodeRegistry.class);
+		assertThat(registry.get(established.getAddress()).getPingCount()).isEqualTo(3);
+	}
+
+	private void ping(PrivateKey nodeKey, int port, String sourceIp) throws Exception {
+		NodePingDtoV1 ping = new NodePingDtoV1(PUBLIC_HOST, port, 1, "99.0.0", Instant.now().getEpochSecond(),
+				Network.MAINNET, nodeKey.getAddress().toHexString(), "1000", Bytes.random(32).toHexString(), 10,
+				null, null);
+		Hash hash = Hash.hash(RlpEncoderUtil.encodePingV1(ping));
+		ping.setHash(hash.toHexString());
+		ping.setSignature(nodeKey.sign(hash).toHexString());
+		instance.getBean(NodeBusinessService.class).handlePing(ping, sourceIp);
+	}
+
+	private ConfigurableApplicationContext start() {
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--ge-directory.general.identity-file=" + dataDir.resolve("identity"),
+				"--ge-directory.history.file=" + dataDir.resolve("node_history.mv.db"),
+				"--ge-directory.rate-limit.limits-file=" + dataDir.resolve("rate_limits.properties"),
+				"--ge-directory.fork.schedule-file=" + dataDir.resolve("fork_schedule.properties"),
+				"--ge-directory.cryptoj.key-pool-size=0",
+				// two pings a second apart graduate an identity
+				"--ge-directory.admission.graduation-seconds=1",
+				"--ge-directory.admission.graduation-pings=2",
+				"--ge-directory.admission.probation-share=0.00001"));
+		return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.Application;
+import global.goldenera.directory.api.v1.node.dtos.NodePingDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDeltasDtoV1;
+import global.goldenera.directory.exceptions.GEValidationException;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import global.goldenera.directory.utils.RlpEncoderUtil;
+
+/**
+ * A leader and a follower on local ports; the leader is restarted on the same
+ * port with an empty registry.
+ */
+class FollowerIntegrationTest {
+
+	private static final String ACCESS_TOKEN = "follower-test-token";
+	private static final String PUBLIC_HOST = "93.184.216.34";
+
+	@TempDir
+	Path dataDir;
+
+	int leaderPort;
+	ConfigurableApplicationContext leader;
+	ConfigurableApplicationContext follower;
+	String followerUrl;
+	AtomicInteger nextPort = new AtomicInteger(30303);
+
+	@BeforeEach
+	void startInstances() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			leaderPort = socket.getLocalPort();
+		}
+		leader = start("leader", leaderPort, "--ge-directory.follower.enabled=false");
+		follower = start("follower", 0,
+				"--ge-directory.follower.enabled=true",
+				"--ge-directory.follower.leader-url=http://localhost:" + leaderPort,
+				"--ge-directory.follower.poll-interval-millis=50");
+		followerUrl = "http://localhost:" + follower.getEnvironment().getProperty("local.server.port");
+	}
+
+	@AfterEach
+	void stopInstances() {
+		if (follower != null) {
+			follower.close();
+		}
+		if (leader != null) {
+			leader.close();
+		}
+	}
+
+	@Test
+	void followerRejectsPingsAndReplicatedRecords() throws Exception {
+		NodeBusinessService followerNodes = follower.getBean(NodeBusinessService.class);
+		assertThatThrownBy(() -> followerNodes.handlePing(signedPing(), "198.51.100.10"))
+				.isInstanceOf(GEValidationException.class);
+
+		NodeRecordDtoV1 record = new NodeRecordDtoV1(Bytes.random(20).toHexString(), PUBLIC_HOST,
+				nextPort.getAndIncrement(), Network.MAINNET, "99.0.0", "1000", Bytes.random(32).toHexString(), 10,
+				Instant.now().getEpochSecond(), "198.51.100.20", 0, 0, 0);
+		assertThatThrownBy(() -> RestClient.create(followerUrl).post()
+				.uri("/api/v1/replication/deltas")
+				.header("X-Access-Token", ACCESS_TOKEN)
+				.body(new ReplicationDeltasDtoV1(List.of(record)))
+				.retrieve()
+				.toBodilessEntity())
+				.isInstanceOf(HttpClientErrorException.BadRequest.class);
+		assertThat(follower.getBean(NodeRegistry.class).get(Address.fromHexString(record.getNodeIdentity())))
+				.isNull();
+	}
+
+	@Test
+	void followerReloadsAfterLeaderRestart() throws Exception {
+		NodeRegistry followerRegistry = follower.getBean(NodeRegistry.class);
+		NodePingDtoV1 before = signedPing();
+		leader.getBean(NodeBusinessService.class).handlePing(before, "198.51.100.10");
+		Address beforeIdentity = Address.fromHexString(before.getNodeIdentity());
+		await().atMost(Duration.ofSeconds(10)).until(() -> followerRegistry.get(beforeIdentity) != null);
+
+		// the restarted leader reaches the same sequence, only the epoch tells them apart
+		leader.close();
+		leader = start("restarted-leader", leaderPort, "--ge-directory.follower.enabled=false");
+		NodePingDtoV1 after = signedPing();
+		leader.getBean(NodeBusinessService.class).handlePing(after, "198.51.100.11");
+		Address afterIdentity = Address.fromHexString(after.getNodeIdentity());
+
+		await().atMost(Duration.ofSeconds(10)).until(() -> followerRegistry.get(afterIdentity) != null);
+		assertThat(followerRegistry.get(beforeIdentity)).isNull();
+	}
+
+	@Test
+	void snapshotLoadMirrorsNewcomersBeyondTheFollowersProbationPool() throws Exception {
+		follower.close();
+		List<Address> identities = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			NodePingDtoV1 ping = signedPing();
+			leader.getBean(NodeBusinessService.class).handlePing(ping, "198.51.100." + (20 + i));
+			identities.add(Address.fromHexString(ping.getNodeIdentity()));
+		}
+
+		// room for a single newcomer: the leader admitted all three already
+		follower = start("small-follower", 0,
+				"--ge-directory.follower.enabled=true",
+				"--ge-directory.follower.leader-url=http://localhost:" + leaderPort,
+				"--ge-directory.follower.poll-interval-millis=50",
+				"--ge-directory.admission.probation-share=0.00001");
+		NodeRegistry followerRegistry = follower.getBean(NodeRegistry.class);
+		await().atMost(Duration.ofSeconds(10))
+				.until(() -> identities.stream().allMatch(identity -> followerRegistry.get(identity) != null));
+	}
+
+	private NodePingDtoV1 signedPing() throws Exception {
+		PrivateKey nodeKey = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		NodePingDtoV1 ping = new NodePingDtoV1(PUBLIC_HOST, nextPort.getAndIncrement(), 1, "99.0.0",
+				Instant.now().getEpochSecond(), Network.MAINNET, nodeKey.getAddress().toHexString(), "1000",
+				Bytes.random(32).toHexString(), 10, null, null);
+		Hash hash = Hash.hash(RlpEncoderUtil.encodePingV1(ping));
+		ping.setHash(hash.toHexString());
+		ping.setSignature(nodeKey.sign(hash).toHexString());
+		return ping;
+	}
+
+	private ConfigurableApplicationContext start(String name, int port, String... extra) {
+		Path data = dataDir.resolve(name);
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=" + port,
+				"--ge-directory.general.max-requests-per-ip-address-per-minute=10000",
+				"--ge-directory.general.delete-inactive-node-after-seconds=60",
+				"--ge-directory.general.identity-file=" + data.resolve("identity"),
+				"--ge-directory.general.api-access-token=" + ACCESS_TOKEN,
+				"--ge-directory.history.enabled=false",
+				"--ge-directory.rate-limit.limits-file=" + data.resolve("rate_limits.properties"),
+				"--ge-directory.fork.schedule-file=" + data.resolve("fork_schedule.properties"),
+				"--ge-directory.cryptoj.key-pool-size=0"));
+		args.addAll(List.of(extra));
+		return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+	}
+}
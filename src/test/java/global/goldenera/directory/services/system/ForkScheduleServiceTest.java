@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import global.goldenera.directory.properties.PropertiesForkConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.registry.NodeInternTables;
+
+class ForkScheduleServiceTest {
+
+	@TempDir
+	Path dataDir;
+
+	Path scheduleFile;
+	NodeInternTables internTables;
+	ForkScheduleService forkScheduleService;
+
+	@BeforeEach
+	void setUp() {
+		scheduleFile = dataDir.resolve("fork_schedule.properties");
+		PropertiesRegistryConfig registryProperties = new PropertiesRegistryConfig();
+		registryProperties.setCapacity(16);
+		registryProperties.setMaxSoftwareVersions(16);
+		internTables = new NodeInternTables(registryProperties);
+		PropertiesForkConfig forkProperties = new PropertiesForkConfig();
+		forkProperties.setScheduleFile(scheduleFile.toString());
+		// every check re-reads a changed file
+		forkProperties.setScheduleCheckSeconds(0);
+		forkScheduleService = new ForkScheduleService(forkProperties, registryProperties, internTables);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "0.0.1", "0.0.1.0", "1.2.3.4.5", "40000.0", "0.1.0-rc1", "0.0.2+build", "1.0a" })
+	void versionsTheModuleGrammarAcceptsKeepRunning(String version) {
+		assertThat(forkScheduleService.shouldNodeShutdown(10, version)).isFalse();
+	}
+
+	// Version orders a +build suffix below the plain release too
+	@ParameterizedTest
+	@ValueSource(strings = { "0.0.0", "0.0.1-rc1", "0.0.1+build", "0.0.0.40000", "", "v1.0", "1.0-" })
+	void olderOrMalformedVersionsShutDown(String version) {
+		assertThat(forkScheduleService.shouldNodeShutdown(10, version)).isTrue();
+	}
+
+	@Test
+	void nullVersionShutsDown() {
+		assertThat(forkScheduleService.shouldNodeShutdown(10, null)).isTrue();
+	}
+
+	@Test
+	void internedVersionsAreComparedLikeFreshOnes() {
+		internTables.acquireSoftwareVersion("0.0.1-rc1");
+		internTables.acquireSoftwareVersion("0.0.2");
+
+		for (int check = 0; check < 2; check++) {
+			assertThat(forkScheduleService.shouldNodeShutdown(10, "0.0.1-rc1")).isTrue();
+			assertThat(forkScheduleService.shouldNodeShutdown(10, "0.0.2")).isFalse();
+		}
+	}
+
+	@Test
+	void forksAtTheSameHeightRequireTheHighestVersion() throws IOException {
+		write("A=100:1.2.0\nB=100:1.10.0\nC=200:1.10.0-rc1\nD=200:1.9\n", 1);
+
+		assertThat(forkScheduleService.shouldNodeShutdown(99, "0.0.1")).isFalse();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.9.9")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.10.0-rc1")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.10")).isFalse();
+		// an earlier fork's higher requirement still holds
+		assertThat(forkScheduleService.shouldNodeShutdown(200, "1.10.0-rc2")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(250, "1.10.0")).isFalse();
+	}
+
+	@Test
+	void preReleaseRequirementsOrderLikeVersions() throws IOException {
+		write("A=100:2.0.0-rc2\n", 1);
+
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "2.0.0-rc1")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.99")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "2.0.0-rc10")).isFalse();
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "2.0.0")).isFalse();
+	}
+
+	@Test
+	void invalidFileKeepsThePreviousSchedule() throws IOException {
+		write("A=100:2.0\n", 1);
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.0")).isTrue();
+
+		write("A=100:2.0\nB=50:not-a-version\n", 2);
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.0")).isTrue();
+		assertThat(forkScheduleService.shouldNodeShutdown(50, "1.0")).isFalse();
+
+		write("A=abc:2.0\n", 3);
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.0")).isTrue();
+
+		write("A=100:1.0\n", 4);
+		assertThat(forkScheduleService.shouldNodeShutdown(100, "1.0")).isFalse();
+	}
+
+	private void write(String schedule, int revision) throws IOException {
+		Files.writeString(scheduleFile, schedule);
+		// distinct modification times, however coarse the file system clock
+		Files.setLastModifiedTime(scheduleFile, FileTime.from(Instant.ofEpochSecond(1_000_000L * revision)));
+	}
+}
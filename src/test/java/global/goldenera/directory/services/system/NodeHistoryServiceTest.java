@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodeHistoryDtoV1;
+import global.goldenera.directory.exceptions.GENotFoundException;
+import global.goldenera.directory.properties.PropertiesHistoryConfig;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeTenure;
+
+class NodeHistoryServiceTest {
+
+	static final int RETENTION_HOURS = 1;
+	static final int MAX_DISK_MEGABYTES = 1;
+
+	@TempDir
+	Path dataDir;
+
+	NodeHistoryService nodeHistoryService;
+
+	@AfterEach
+	void tearDown() {
+		if (nodeHistoryService != null) {
+			nodeHistoryService.close();
+		}
+	}
+
+	@Test
+	void recordedPingsAreMergedIntoTheHistory() {
+		nodeHistoryService = service(3_600_000);
+		Address node = identity(1);
+		long now = Instant.now().getEpochSecond();
+
+		nodeHistoryService.recordPing(ping(node, 100, now - 600), "203.0.113.7");
+		nodeHistoryService.recordPing(ping(node, 200, now), "203.0.113.8");
+
+		await().atMost(Duration.ofSeconds(5)).ignoreException(GENotFoundException.class).untilAsserted(() -> {
+			NodeHistoryDtoV1 history = nodeHistoryService.getHistory(node);
+			assertThat(history.getFirstSeen()).isEqualTo(now - 600);
+			assertThat(history.getLastSeen()).isEqualTo(now);
+			assertThat(history.getP2pListenHost()).isEqualTo("203.0.113.8");
+			assertThat(history.getHeadHeight()).isEqualTo(200);
+			assertThat(history.getHostChanges()).singleElement()
+					.satisfies(change -> assertThat(change.getChangedAt()).isEqualTo(now));
+			assertThat(history.getHeightSamples()).hasSize(2);
+		});
+		assertThatThrownBy(() -> nodeHistoryService.getHistory(identity(2)))
+				.isInstanceOf(GENotFoundException.class);
+	}
+
+	@Test
+	void entriesPastRetentionArePurged() {
+		nodeHistoryService = service(100);
+		Address stale = identity(1);
+		Address recent = identity(2);
+		long now = Instant.now().getEpochSecond();
+
+		nodeHistoryService.recordPing(ping(stale, 100, now - RETENTION_HOURS * 3600L - 60), "203.0.113.7");
+		nodeHistoryService.recordPing(ping(recent, 100, now), "203.0.113.8");
+
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThatThrownBy(
+				() -> nodeHistoryService.getHistory(stale)).isInstanceOf(GENotFoundException.class));
+		assertThat(nodeHistoryService.getHistory(recent).getLastSeen()).isEqualTo(now);
+	}
+
+	@Test
+	void burstOverTheDiskBudgetIsTrimmedOldestFirstWithoutWaitingForMaintenance() {
+		nodeHistoryService = service(3_600_000);
+		int identities = 40_000;
+		long firstSeenAt = Instant.now().getEpochSecond() - identities;
+
+		for (int i = 0; i < identities; i++) {
+			// random hosts keep entries from compressing away
+			String host = Bytes.random(16, ThreadLocalRandom.current()).toUnprefixedHexString() + ".example.com";
+			nodeHistoryService.recordPing(ping(identity(i), i, firstSeenAt + i), host);
+		}
+
+		await().atMost(Duration.ofSeconds(30)).ignoreException(GENotFoundException.class).untilAsserted(() -> {
+			assertThat(nodeHistoryService.getHistory(identity(identities - 1)).getHeadHeight())
+					.isEqualTo(identities - 1);
+			assertThatThrownBy(() -> nodeHistoryService.getHistory(identity(0)))
+					.isInstanceOf(GENotFoundException.class);
+		});
+		// the newest 5,000 entries are well within the budget, they must survive the trim
+		assertThat(nodeHistoryService.getHistory(identity(identities - 5_000)).getHeadHeight())
+				.isEqualTo(identities - 5_000);
+		assertThat(nodeHistoryService.getDroppedRecords()).isZero();
+	}
+
+	@Test
+	void tenureOfTheLastPingSurvivesAReopen() {
+		nodeHistoryService = service(3_600_000);
+		Address node = identity(1);
+		long now = Instant.now().getEpochSecond();
+		nodeHistoryService.recordPing(ping(node, 100, now - 60, now - 7_200, 41, 60_000), "203.0.113.7");
+		nodeHistoryService.recordPing(ping(node, 100, now, now - 7_200, 42, 30_000), "203.0.113.7");
+		await().atMost(Duration.ofSeconds(5))
+				.until(() -> nodeHistoryService.getTenure(node) != null
+						&& nodeHistoryService.getTenure(node).getPingCount() == 42);
+		nodeHistoryService.close();
+
+		nodeHistoryService = service(3_600_000);
+		assertThat(nodeHistoryService.getTenure(node)).isEqualTo(new NodeTenure(now - 7_200, 42, 30_000, now));
+		assertThat(nodeHistoryService.getTenure(identity(2))).isNull();
+	}
+
+	private NodeHistoryService service(long maintenanceIntervalMillis) {
+		PropertiesHistoryConfig historyProperties = new PropertiesHistoryConfig();
+		historyProperties.setEnabled(true);
+		historyProperties.setFile(dataDir.resolve("node_history.mv.db").toString());
+		historyProperties.setRetentionHours(RETENTION_HOURS);
+		historyProperties.setMaxDiskMegabytes(MAX_DISK_MEGABYTES);
+		historyProperties.setFlushIntervalMillis(50);
+		historyProperties.setQueueCapacity(65_536);
+		return new NodeHistoryService(historyProperties, maintenanceIntervalMillis);
+	}
+
+	private static NodeInfo ping(Address nodeIdentity, long headHeight, long seenAt) {
+		return ping(nodeIdentity, headHeight, seenAt, seenAt, 1, 0);
+	}
+
+	private static NodeInfo ping(Address nodeIdentity, long headHeight, long seenAt, long firstSeen, int pingCount,
+			int pingIntervalMillis) {
+		return new NodeInfo(nodeIdentity, 0, 30303, Network.MAINNET, 0, BigInteger.ONE,
+				Hash.wrap(Bytes32.ZERO), headHeight, seenAt, pingIntervalMillis, firstSeen, pingCount, 0, seenAt);
+	}
+
+	private static Address identity(int id) {
+		return Address.wrap(Bytes.concatenate(Bytes.ofUnsignedInt(id), Bytes.wrap(new byte[16])));
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.directory.properties.PropertiesReachabilityConfig;
+import global.goldenera.directory.properties.PropertiesRegistryConfig;
+import global.goldenera.directory.registry.NodeInfo;
+import global.goldenera.directory.registry.NodeInternTables;
+import global.goldenera.directory.registry.NodeUpdatedEvent;
+
+class ReachabilityServiceTest {
+
+	static final String LOOPBACK = "127.0.0.1";
+	static final Predicate<String> ALLOW_LOOPBACK = host -> true;
+
+	NodeInternTables internTables;
+	ServerSocket listener;
+	ReachabilityService service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		PropertiesRegistryConfig registryProperties = new PropertiesRegistryConfig();
+		registryProperties.setCapacity(1_000);
+		registryProperties.setMaxSoftwareVersions(4);
+		internTables = new NodeInternTables(registryProperties);
+		listener = new ServerSocket(0, 50, InetAddress.getByName(LOOPBACK));
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (service != null) {
+			service.close();
+		}
+		listener.close();
+	}
+
+	@Test
+	void listeningEndpointBecomesReachable() {
+		service = service(PongReachabilityMode.OFF, 4, 16, ALLOW_LOOPBACK);
+		NodeInfo node = node(1, listener.getLocalPort());
+
+		service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.isReachable(node.getNodeIdentity()));
+		assertThat(service.getReachableNodes()).isEqualTo(1);
+	}
+
+	@Test
+	void closedEndpointLosesItsScore() throws IOException {
+		service = service(PongReachabilityMode.OFF, 4, 16, ALLOW_LOOPBACK);
+		NodeInfo node = node(1, listener.getLocalPort());
+		service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.isReachable(node.getNodeIdentity()));
+
+		listener.close();
+		// 1.0 -> 0.5 -> 0.25, below the reachable threshold after two refusals
+		for (int probes = 2; probes <= 3; probes++) {
+			long expected = probes;
+			service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+			await().atMost(Duration.ofSeconds(5)).until(() -> service.getProbes() == expected);
+		}
+
+		assertThat(service.isReachable(node.getNodeIdentity())).isFalse();
+		assertThat(service.getReachableNodes()).isZero();
+	}
+
+	@Test
+	void refusedHostIsNeverDialled() {
+		service = service(PongReachabilityMode.OFF, 4, 16, host -> false);
+		NodeInfo node = node(1, listener.getLocalPort());
+
+		service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.getProbes() == 1);
+		assertThat(service.isReachable(node.getNodeIdentity())).isFalse();
+	}
+
+	@Test
+	void nodeWithAProbeInFlightIsNotQueuedAgain() throws InterruptedException {
+		CountDownLatch dialling = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger dials = new AtomicInteger();
+		service = service(PongReachabilityMode.OFF, 1, 1, host -> {
+			dials.incrementAndGet();
+			dialling.countDown();
+			awaitQuietly(release);
+			return true;
+		});
+		NodeInfo node = node(1, listener.getLocalPort());
+
+		service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+		assertThat(dialling.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 3; i++) {
+			service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+		}
+		release.countDown();
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.getProbes() == 1);
+		await().during(Duration.ofMillis(200)).atMost(Duration.ofSeconds(1)).until(() -> dials.get() == 1);
+		assertThat(service.getDroppedProbes()).isZero();
+	}
+
+	@Test
+	void probesBeyondTheQueueAreDroppedAndRetriedOnTheNextPing() throws InterruptedException {
+		CountDownLatch dialling = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		service = service(PongReachabilityMode.OFF, 1, 1, host -> {
+			dialling.countDown();
+			awaitQuietly(release);
+			return true;
+		});
+		service.onNodeUpdated(new NodeUpdatedEvent(node(0, listener.getLocalPort()), true));
+		assertThat(dialling.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// one probe in flight, at most one taken by the dispatcher and one queued
+		List<NodeInfo> nodes = List.of(node(1, listener.getLocalPort()), node(2, listener.getLocalPort()),
+				node(3, listener.getLocalPort()), node(4, listener.getLocalPort()));
+		for (NodeInfo node : nodes) {
+			service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+		}
+		long dropped = service.getDroppedProbes();
+		assertThat(dropped).isGreaterThanOrEqualTo(2);
+		release.countDown();
+		await().atMost(Duration.ofSeconds(5)).until(() -> service.getProbes() == 1 + nodes.size() - dropped);
+
+		for (NodeInfo node : nodes) {
+			service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+			await().atMost(Duration.ofSeconds(5)).until(() -> service.isReachable(node.getNodeIdentity()));
+		}
+		assertThat(service.getReachableNodes()).isEqualTo(1 + nodes.size());
+	}
+
+	@Test
+	void pongModesSelectByReachability() {
+		NodeInfo reachable = node(1, listener.getLocalPort());
+		NodeInfo unprobed = node(2, listener.getLocalPort());
+		List<NodeInfo> nodes = List.of(unprobed, reachable);
+
+		for (PongReachabilityMode mode : PongReachabilityMode.values()) {
+			service = service(mode, 4, 16, ALLOW_LOOPBACK);
+			service.onNodeUpdated(new NodeUpdatedEvent(reachable, true));
+			await().atMost(Duration.ofSeconds(5)).until(() -> service.isReachable(reachable.getNodeIdentity()));
+
+			List<NodeInfo> selected = service.select(nodes);
+
+			switch (mode) {
+				case OFF -> assertThat(selected).containsExactly(unprobed, reachable);
+				case PREFER -> assertThat(selected).containsExactly(reachable, unprobed);
+				case REQUIRE -> assertThat(selected).containsExactly(reachable);
+			}
+			service.close();
+		}
+	}
+
+	@Test
+	void disabledServiceSelectsEveryNode() {
+		PropertiesReachabilityConfig reachabilityProperties = properties(PongReachabilityMode.REQUIRE, 4, 16);
+		reachabilityProperties.setEnabled(false);
+		service = new ReachabilityService(reachabilityProperties, internTables, ALLOW_LOOPBACK);
+		NodeInfo node = node(1, listener.getLocalPort());
+
+		service.onNodeUpdated(new NodeUpdatedEvent(node, true));
+
+		assertThat(service.select(List.of(node))).containsExactly(node);
+		assertThat(service.getProbes()).isZero();
+	}
+
+	private ReachabilityService service(PongReachabilityMode mode, int maxConcurrentProbes, int queueCapacity,
+			Predicate<String> dialable) {
+		return new ReachabilityService(properties(mode, maxConcurrentProbes, queueCapacity), internTables, dialable);
+	}
+
+	private static PropertiesReachabilityConfig properties(PongReachabilityMode mode, int maxConcurrentProbes,
+			int queueCapacity) {
+		PropertiesReachabilityConfig reachabilityProperties = new PropertiesReachabilityConfig();
+		reachabilityProperties.setEnabled(true);
+		reachabilityProperties.setPongMode(mode);
+		reachabilityProperties.setMaxConcurrentProbes(maxConcurrentProbes);
+		reachabilityProperties.setProbesPerSecond(1_000);
+		reachabilityProperties.setConnectTimeoutMillis(1_000);
+		// every ping re-probes
+		reachabilityProperties.setReprobeSeconds(0);
+		reachabilityProperties.setQueueCapacity(queueCapacity);
+		return reachabilityProperties;
+	}
+
+	private NodeInfo node(int id, int port) {
+		Address identity = Address.wrap(Bytes.concatenate(Bytes.ofUnsignedInt(id), Bytes.wrap(new byte[16])));
+		return new NodeInfo(identity, internTables.acquireHost(LOOPBACK), port, null, 0, null, null, 0, 0, 0, 0, 1,
+				0, 0);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+import global.goldenera.cryptoj.datatypes.Address;
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.Application;
+import global.goldenera.directory.api.v1.node.dtos.NodePingDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.api.v1.replication.dtos.ReplicationDeltasDtoV1;
+import global.goldenera.directory.registry.NodeRegistry;
+import global.goldenera.directory.services.business.NodeBusinessService;
+import global.goldenera.directory.utils.RlpEncoderUtil;
+
+/**
+ * Two directory instances on random ports: {@code origin} pushes to
+ * {@code replica}.
+ */
+class ReplicationIntegrationTest {
+
+	private static final String ACCESS_TOKEN = "replication-test-token";
+	private static final String PUBLIC_HOST = "93.184.216.34";
+
+	@TempDir
+	static Path dataDir;
+
+	static ConfigurableApplicationContext replica;
+	static ConfigurableApplicationContext origin;
+	static String replicaUrl;
+	// every record advertises its own endpoint, holders are never displaced
+	static AtomicInteger nextPort = new AtomicInteger(30303);
+
+	@BeforeAll
+	static void startInstances() {
+		replica = start("replica", "");
+		replicaUrl = "http://localhost:" + replica.getEnvironment().getProperty("local.server.port");
+		origin = start("origin", replicaUrl);
+	}
+
+	@AfterAll
+	static void stopInstances() {
+		if (origin != null) {
+			origin.close();
+		}
+		if (replica != null) {
+			replica.close();
+		}
+	}
+
+	@Test
+	void verifiedPingReachesThePeer() throws Exception {
+		PrivateKey nodeKey = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		NodePingDtoV1 ping = new NodePingDtoV1(PUBLIC_HOST, nextPort.getAndIncrement(), 1, "99.0.0", Instant.now().getEpochSecond(),
+				Network.MAINNET, nodeKey.getAddress().toHexString(), "1000",
+				Bytes.random(32).toHexString(), 10, null, null);
+		Hash hash = Hash.hash(RlpEncoderUtil.encodePingV1(ping));
+		ping.setHash(hash.toHexString());
+		ping.setSignature(nodeKey.sign(hash).toHexString());
+
+		origin.getBean(NodeBusinessService.class).handlePing(ping, "198.51.100.10");
+
+		NodeRegistry replicaRegistry = replica.getBean(NodeRegistry.class);
+		await().atMost(Duration.ofSeconds(10))
+				.until(() -> replicaRegistry.get(nodeKey.getAddress()) != null);
+		assertThat(replicaRegistry.get(nodeKey.getAddress()).getHeadHeight()).isEqualTo(10);
+	}
+
+	@Test
+	void peerRecordsPassThePingValidators() {
+		long now = Instant.now().getEpochSecond();
+		NodeRecordDtoV1 valid = record(PUBLIC_HOST, "1000", "99.0.0", now);
+		NodeRecordDtoV1 loopback = record("127.0.0.1", "1000", "99.0.0", now);
+		NodeRecordDtoV1 noDifficulty = record(PUBLIC_HOST, null, "99.0.0", now);
+		NodeRecordDtoV1 noIdentity = record(PUBLIC_HOST, "1000", "99.0.0", now);
+		noIdentity.setNodeIdentity(null);
+		NodeRecordDtoV1 belowFork = record(PUBLIC_HOST, "1000", "0.0.0", now);
+
+		Integer applied = RestClient.create(replicaUrl).post()
+				.uri("/api/v1/replication/deltas")
+				.header("X-Access-Token", ACCESS_TOKEN)
+				.body(new ReplicationDeltasDtoV1(List.of(valid, loopback, noDifficulty, noIdentity, belowFork)))
+				.retrieve()
+				.body(Integer.class);
+
+		assertThat(applied).isEqualTo(1);
+		NodeRegistry replicaRegistry = replica.getBean(NodeRegistry.class);
+		assertThat(replicaRegistry.get(Address.fromHexString(valid.getNodeIdentity()))).isNotNull();
+		assertThat(replicaRegistry.get(Address.fromHexString(loopback.getNodeIdentity()))).isNull();
+		assertThat(replicaRegistry.get(Address.fromHexString(belowFork.getNodeIdentity()))).isNull();
+	}
+
+	private static NodeRecordDtoV1 record(String host, String totalDifficulty, String softwareVersion, long now) {
+		return new NodeRecordDtoV1(Bytes.random(20).toHexString(), host, nextPort.getAndIncrement(),
+				Network.MAINNET, softwareVersion,
+				totalDifficulty, Bytes.random(32).toHexString(), 10, now, "198.51.100.20", 0, 0, 0);
+	}
+
+	private static ConfigurableApplicationContext start(String name, String peers) {
+		Path data = dataDir.resolve(name);
+		// command line arguments win over the ${...} placeholders of application.properties
+		return new SpringApplicationBuilder(Application.class).run(
+				"--server.port=0",
+				"--ge-directory.general.max-requests-per-ip-address-per-minute=10000",
+				"--ge-directory.general.delete-inactive-node-after-seconds=60",
+				"--ge-directory.general.identity-file=" + data.resolve("identity"),
+				"--ge-directory.general.api-access-token=" + ACCESS_TOKEN,
+				"--ge-directory.history.enabled=false",
+				"--ge-directory.rate-limit.limits-file=" + data.resolve("rate_limits.properties"),
+				"--ge-directory.fork.schedule-file=" + data.resolve("fork_schedule.properties"),
+				"--ge-directory.cryptoj.key-pool-size=0",
+				"--ge-directory.replication.enabled=true",
+				"--ge-directory.replication.peers=" + peers,
+				"--ge-directory.replication.push-interval-millis=50");
+	}
+}
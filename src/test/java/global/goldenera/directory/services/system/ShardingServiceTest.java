@@ -0,0 +1,231 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.services.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import global.goldenera.cryptoj.datatypes.Hash;
+import global.goldenera.cryptoj.datatypes.PrivateKey;
+import global.goldenera.cryptoj.enums.Network;
+import global.goldenera.directory.api.v1.node.dtos.NodeInfoDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodePongDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodePongPayloadDtoV1;
+import global.goldenera.directory.api.v1.node.dtos.NodeRecordDtoV1;
+import global.goldenera.directory.properties.PropertiesGeneralConfig;
+import global.goldenera.directory.properties.PropertiesShardingConfig;
+import global.goldenera.directory.services.system.ShardingService.ShardMember;
+import global.goldenera.directory.utils.RlpEncoderUtil;
+
+class ShardingServiceTest {
+
+	static final String SELF_IDENTITY = "0x1111111111111111111111111111111111111111";
+	static final String HEAD_HASH = "0x" + "ab".repeat(32);
+
+	PrivateKey ownerKey;
+	HttpServer owner;
+	Queue<String> summaryQueries = new ConcurrentLinkedQueue<>();
+	AtomicInteger ingested = new AtomicInteger();
+	volatile int ingestStatus = 200;
+	volatile CountDownLatch ingestGate = new CountDownLatch(0);
+	ShardingService shardingService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ownerKey = PrivateKey.load(PrivateKey.generateMnemonic(), null);
+		owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		owner.createContext("/api/v1/shard/ingest", this::ingest);
+		owner.createContext("/api/v1/shard/summary", this::summary);
+		owner.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (shardingService != null) {
+			shardingService.close();
+		}
+		ingestGate.countDown();
+		owner.stop(0);
+	}
+
+	@Test
+	void forwardDoesNotWaitForTheOwner() {
+		ingestGate = new CountDownLatch(1);
+		shardingService = start(ownerUrl());
+		ShardMember member = member(ownerUrl());
+
+		long startedAt = System.nanoTime();
+		assertThat(shardingService.forward(member, record(), record -> {
+		})).isTrue();
+		assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+		assertThat(shardingService.getForwarded()).isZero();
+
+		ingestGate.countDown();
+		await().atMost(Duration.ofSeconds(5)).until(() -> shardingService.getForwarded() == 1);
+		assertThat(ingested).hasValue(1);
+	}
+
+	@Test
+	void unreachableOwnerKeepsThePingLocally() throws IOException {
+		int closedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			closedPort = socket.getLocalPort();
+		}
+		String closedUrl = "http://127.0.0.1:" + closedPort;
+		shardingService = start(closedUrl);
+		Queue<NodeRecordDtoV1> kept = new ConcurrentLinkedQueue<>();
+		NodeRecordDtoV1 record = record();
+
+		assertThat(shardingService.forward(member(closedUrl), record, kept::add)).isTrue();
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> !kept.isEmpty());
+		assertThat(kept).containsExactly(record);
+		assertThat(shardingService.getForwardFailures()).isEqualTo(1);
+	}
+
+	@Test
+	void refusedPingIsNotKeptLocally() {
+		ingestStatus = 400;
+		shardingService = start(ownerUrl());
+		Queue<NodeRecordDtoV1> kept = new ConcurrentLinkedQueue<>();
+
+		shardingService.forward(member(ownerUrl()), record(), kept::add);
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> shardingService.getForwardRejected() == 1);
+		assertThat(kept).isEmpty();
+		assertThat(shardingService.getForwardFailures()).isZero();
+	}
+
+	@Test
+	void fullQueueHandsThePingBack() {
+		ingestGate = new CountDownLatch(1);
+		shardingService = start(ownerUrl());
+		ShardMember member = member(ownerUrl());
+
+		// one in flight on the forwarder, one waiting in the queue of capacity 1
+		shardingService.forward(member, record(), record -> {
+		});
+		await().atMost(Duration.ofSeconds(5)).until(() -> ingested.get() == 1);
+		assertThat(shardingService.forward(member, record(), record -> {
+		})).isTrue();
+
+		assertThat(shardingService.forward(member, record(), record -> {
+		})).isFalse();
+		assertThat(shardingService.getForwardFailures()).isEqualTo(1);
+	}
+
+	@Test
+	void summariesAreFetchedOnlyForRequestedNetworks() {
+		shardingService = start(ownerUrl());
+
+		assertThat(shardingService.remoteNodes(Network.MAINNET)).isEmpty();
+
+		await().atMost(Duration.ofSeconds(5)).until(() -> !shardingService.remoteNodes(Network.MAINNET).isEmpty());
+		assertThat(shardingService.remoteNodes(Network.MAINNET))
+				.extracting(NodeInfoDtoV1::getNetwork)
+				.containsOnly(Network.MAINNET);
+		assertThat(summaryQueries).isNotEmpty().allMatch(query -> query.equals("network=MAINNET"));
+	}
+
+	private ShardingService start(String ownerUrl) {
+		PropertiesShardingConfig shardingProperties = new PropertiesShardingConfig();
+		shardingProperties.setEnabled(true);
+		shardingProperties.setSelfId("a");
+		shardingProperties.setMembers(List.of(
+				"a@" + SELF_IDENTITY + "@http://127.0.0.1:1",
+				"b@" + ownerKey.getAddress().toHexString() + "@" + ownerUrl));
+		shardingProperties.setVirtualNodes(8);
+		shardingProperties.setSummaryRefreshSeconds(1);
+		shardingProperties.setRequestTimeoutMillis(1000);
+		shardingProperties.setForwardQueueCapacity(1);
+		PropertiesGeneralConfig generalProperties = new PropertiesGeneralConfig();
+		generalProperties.setApiAccessToken("token");
+		return new ShardingService(shardingProperties, generalProperties);
+	}
+
+	private ShardMember member(String url) {
+		return new ShardMember("b", ownerKey.getAddress(), url);
+	}
+
+	private String ownerUrl() {
+		return "http://127.0.0.1:" + owner.getAddress().getPort();
+	}
+
+	private static NodeRecordDtoV1 record() {
+		return new NodeRecordDtoV1("0x2222222222222222222222222222222222222222", "93.184.216.34", 30303,
+				Network.MAINNET, "1.0.0", "100", HEAD_HASH, 10, Instant.now().getEpochSecond(),
+				"198.51.100.20", 0, 0, 0);
+	}
+
+	private void ingest(HttpExchange exchange) throws IOException {
+		ingested.incrementAndGet();
+		try {
+			ingestGate.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		exchange.getRequestBody().readAllBytes();
+		exchange.sendResponseHeaders(ingestStatus, -1);
+		exchange.close();
+	}
+
+	private void summary(HttpExchange exchange) throws IOException {
+		String query = exchange.getRequestURI().getQuery();
+		summaryQueries.add(String.valueOf(query));
+		Network network = query == null ? Network.TESTNET : Network.valueOf(query.substring("network=".length()));
+		NodeInfoDtoV1 peer = new NodeInfoDtoV1("0x3333333333333333333333333333333333333333", "93.184.216.35",
+				30303, network, "1.0.0", "100", HEAD_HASH, 10, Instant.now().getEpochSecond());
+		NodePongPayloadDtoV1 payload = new NodePongPayloadDtoV1(List.of(peer), Instant.now().getEpochSecond());
+		Hash hash = Hash.hash(RlpEncoderUtil.encodePongV1(payload));
+		NodePongDtoV1 pong = new NodePongDtoV1(payload, hash.toHexString(), ownerKey.sign(hash).toHexString());
+		byte[] body = new ObjectMapper().writeValueAsString(pong).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+}
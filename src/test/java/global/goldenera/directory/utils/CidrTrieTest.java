@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CidrTrieTest {
+
+	static final CidrTrie TRIE = CidrTrie.of(List.of("10.0.0.0/8", "192.168.1.128/25", "198.51.100.7/32",
+			"fc00::/7", "2001:db8:1::/48", "10.1.0.0/16"));
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.0", "10.255.255.255", "10.1.2.3", "192.168.1.128", "192.168.1.255",
+			"198.51.100.7", "::ffff:10.0.0.1", "fc00::", "fdff:ffff:ffff:ffff:ffff:ffff:ffff:ffff",
+			"2001:db8:1::", "2001:db8:1:ffff:ffff:ffff:ffff:ffff" })
+	void addressesInsideARangeMatch(String literal) {
+		assertThat(contains(TRIE, literal)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "9.255.255.255", "11.0.0.0", "192.168.1.127", "198.51.100.6", "198.51.100.8",
+			"fbff:ffff:ffff:ffff:ffff:ffff:ffff:ffff", "fe00::", "2001:db8:2::", "2001:db8::", "::a00:1" })
+	void addressesOutsideEveryRangeDoNotMatch(String literal) {
+		assertThat(contains(TRIE, literal)).isFalse();
+	}
+
+	@Test
+	void zeroLengthPrefixesMatchTheirWholeFamily() {
+		CidrTrie ipv4 = CidrTrie.of(List.of("0.0.0.0/0"));
+		CidrTrie everything = CidrTrie.of(List.of("::/0"));
+
+		assertThat(contains(ipv4, "203.0.113.7")).isTrue();
+		assertThat(contains(ipv4, "2001:db8::1")).isFalse();
+		assertThat(contains(everything, "203.0.113.7")).isTrue();
+		assertThat(contains(everything, "2001:db8::1")).isTrue();
+	}
+
+	@Test
+	void emptyTrieMatchesNothing() {
+		assertThat(contains(CidrTrie.of(List.of()), "10.0.0.1")).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "10.0.0.0", "10.0.0.0/", "10.0.0.0/x", "10.0.0.0/33", "10.0.0/8", "fc00::/129",
+			"fc00::/-1", "localhost/8" })
+	void malformedRangesAreRejected(String cidr) {
+		assertThatThrownBy(() -> CidrTrie.of(List.of(cidr))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static boolean contains(CidrTrie trie, String literal) {
+		long[] address = new long[2];
+		assertThat(IpAddressUtil.parse(literal, address)).isTrue();
+		return trie.contains(address[0], address[1]);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HostValidatorTest {
+
+	@BeforeEach
+	void setUp() {
+		ValidatorUtil.HostValidator.configure(List.of("8.8.4.0/24", "2001:4860:4802::/48"),
+				List.of("corp.example"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		ValidatorUtil.HostValidator.configure(List.of(), List.of());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			// IPv4-mapped, NAT64 and 6to4 forms of 10.0.0.1
+			"::ffff:10.0.0.1", "64:ff9b::a00:1", "2002:0a00:0001::",
+			// shorthand and hex forms of 127.0.0.1
+			"127.1", "0x7f.0.0.1", "2130706433",
+			"[fe80::1%eth0]", "fe80::1", "localhost.", "LOCALHOST", "api.localhost", "metadata.google.internal",
+			"127.0.0.1", "[::1]", "::", "0.0.0.0", "169.254.169.254", "100.64.0.1", "172.31.255.255",
+			"192.168.1.1", "fd00::1", "ff02::1", "2001:db8::1", " 10.0.0.1 ", "[]", ".", "",
+			// operator-configured ranges and hostnames
+			"8.8.4.4", "::ffff:8.8.4.4", "64:ff9b::808:404", "2001:4860:4802::1", "corp.example",
+			"git.corp.example" })
+	void internalHostsAreUnsafe(String host) {
+		assertThat(ValidatorUtil.HostValidator.isSafe(host)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "8.8.8.8", "1.1.1.1", "172.32.0.1", "100.128.0.1", "::ffff:8.8.8.8",
+			"64:ff9b::808:808", "2002:0808:0808::", "2606:4700:4700::1111", "[2001:4860:4860::8888]",
+			"node.example.com", "example.com.", "notcorp.example", "localhost.example.com" })
+	void publicHostsAreSafe(String host) {
+		assertThat(ValidatorUtil.HostValidator.isSafe(host)).isTrue();
+	}
+
+	@Test
+	void nullIsUnsafe() {
+		assertThat(ValidatorUtil.HostValidator.isSafe(null)).isFalse();
+	}
+
+	@Test
+	void reconfiguringReplacesTheOperatorList() {
+		ValidatorUtil.HostValidator.configure(List.of(), List.of());
+
+		assertThat(ValidatorUtil.HostValidator.isSafe("8.8.4.4")).isTrue();
+		assertThat(ValidatorUtil.HostValidator.isSafe("corp.example")).isTrue();
+		assertThat(ValidatorUtil.HostValidator.isSafe("10.0.0.1")).isFalse();
+	}
+
+	@Test
+	void malformedOperatorRangeIsRejected() {
+		assertThatThrownBy(() -> ValidatorUtil.HostValidator.configure(List.of("10.0.0.0/33"), List.of()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IpAddressUtilTest {
+
+	@ParameterizedTest
+	@ValueSource(strings = { "203.0.113.7", "0.0.0.0", "255.255.255.255" })
+	void ipv4HalvesMatchTheArrayParse(String literal) {
+		long[] address = new long[2];
+		assertThat(IpAddressUtil.parse(literal, address)).isTrue();
+
+		long ipv4 = IpAddressUtil.parseIpv4(literal);
+
+		assertThat(ipv4).isNotNegative();
+		assertThat(address[0]).isZero();
+		assertThat(address[1]).isEqualTo(IpAddressUtil.IPV4_MAPPED_PREFIX | ipv4);
+		assertThat(IpAddressUtil.isIpv6(literal)).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "2001:db8::1", "::", "::1", "1::", "::ffff:203.0.113.7", "2001:db8:0:0:0:0:2:1",
+			"fe80::1:2:3:4:5", "ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff" })
+	void ipv6HalvesMatchTheArrayParse(String literal) {
+		long[] address = new long[2];
+		assertThat(IpAddressUtil.parse(literal, address)).isTrue();
+
+		assertThat(IpAddressUtil.parseIpv4(literal)).isEqualTo(-1);
+		assertThat(IpAddressUtil.isIpv6(literal)).isTrue();
+		assertThat(IpAddressUtil.ipv6High(literal)).isEqualTo(address[0]);
+		assertThat(IpAddressUtil.ipv6Low(literal)).isEqualTo(address[1]);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "", "localhost", "1.2.3", "1.2.3.256", "01.2.3.4", "1::2::3", ":1", "1:", "12345::",
+			"1:2:3:4:5:6:7:8:9", "fe80::1%eth0", "[::1]" })
+	void rejectsNonLiterals(String value) {
+		assertThat(IpAddressUtil.parse(value, new long[2])).isFalse();
+		assertThat(IpAddressUtil.parseIpv4(value)).isEqualTo(-1);
+		assertThat(IpAddressUtil.isIpv6(value)).isFalse();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.module.ModuleDescriptor.Version;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SoftwareVersionUtilTest {
+
+	@Test
+	void packedOrderIsVersionOrder() {
+		List<String> versions = new ArrayList<>(List.of("0", "0.0.1", "1", "1.0", "1.0.0", "1.0.0.0", "01.2", "1.2",
+				"1.10", "1.9.9", "2.0.0.1", "32767.32767.32767.32767", "0.32767"));
+		Random random = new Random(43);
+		for (int i = 0; i < 500; i++) {
+			StringBuilder version = new StringBuilder();
+			for (int component = 0, components = 1 + random.nextInt(4); component < components; component++) {
+				version.append(component == 0 ? "" : ".")
+						.append(random.nextBoolean() ? random.nextInt(3) : random.nextInt(32768));
+			}
+			versions.add(version.toString());
+		}
+
+		for (String left : versions) {
+			for (String right : versions) {
+				assertThat(Long.signum(Long.compare(SoftwareVersionUtil.pack(left), SoftwareVersionUtil.pack(right))))
+						.as("%s vs %s", left, right)
+						.isEqualTo(Integer.signum(Version.parse(left).compareTo(Version.parse(right))));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "1.0.0-rc1", "1.0.0+build", "1.2.3.4.5", "32768", "1.40000", "1.0a", "1..2", "1.0.",
+			".1", "", "v1.0" })
+	void versionsOutsideThePlainGrammarAreNotPacked(String version) {
+		assertThat(SoftwareVersionUtil.pack(version)).isEqualTo(SoftwareVersionUtil.INVALID);
+	}
+}
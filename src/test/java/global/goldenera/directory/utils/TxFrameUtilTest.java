@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2025-2030 The GoldenEraGlobal Developers
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package global.goldenera.directory.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import global.goldenera.cryptoj.common.Tx;
+import global.goldenera.cryptoj.serialization.tx.TxDecoder;
+import global.goldenera.directory.cli.TxCorpusCommand;
+import global.goldenera.directory.utils.TxFrameUtil.Frame;
+
+class TxFrameUtilTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void framesReadBackInOrder() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(buffer);
+		TxFrameUtil.writeTx(out, new byte[] { 1, 2, 3 });
+		TxFrameUtil.writeError(out, "Insufficient fee – näive");
+		TxFrameUtil.writeTx(out, new byte[0]);
+		TxFrameUtil.writeError(out, null);
+
+		List<Frame> frames = readAll(new ByteArrayInputStream(buffer.toByteArray()));
+
+		assertThat(frames).hasSize(4);
+		assertThat(frames.get(0).isError()).isFalse();
+		assertThat(frames.get(0).getEncodedTx()).containsExactly(1, 2, 3);
+		assertThat(frames.get(1).getError()).isEqualTo("Insufficient fee – näive");
+		assertThat(frames.get(2).getEncodedTx()).isEmpty();
+		assertThat(frames.get(3).getError()).isEqualTo(TxFrameUtil.UNKNOWN_ERROR);
+	}
+
+	@Test
+	void failedItemHasANegativeLength() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		TxFrameUtil.writeError(new DataOutputStream(buffer), "bad");
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+		assertThat(in.readInt()).isEqualTo(-3);
+	}
+
+	@Test
+	void truncatedFrameIsAnError() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		TxFrameUtil.writeTx(new DataOutputStream(buffer), new byte[] { 1, 2, 3 });
+		byte[] truncated = Arrays.copyOf(buffer.toByteArray(), buffer.size() - 1);
+
+		assertThatThrownBy(() -> readAll(new ByteArrayInputStream(truncated))).isInstanceOf(EOFException.class);
+		assertThatThrownBy(() -> readAll(new ByteArrayInputStream(new byte[] { 0, 0 })))
+				.isInstanceOf(EOFException.class);
+	}
+
+	@Test
+	void corpusFilesAreFrameStreams() throws Exception {
+		Path out = dataDir.resolve("corpus.bin");
+
+		assertThat(TxCorpusCommand.run(new String[] { "--out=" + out, "--keys=2", "--txs-per-key=2", "--threads=1" }))
+				.isZero();
+
+		List<Frame> frames;
+		try (InputStream in = Files.newInputStream(out)) {
+			frames = readAll(in);
+		}
+		assertThat(frames).hasSize(4).noneMatch(Frame::isError);
+		for (Frame frame : frames) {
+			Tx tx = TxDecoder.INSTANCE.decode(Bytes.wrap(frame.getEncodedTx()));
+			assertThat(tx.getSender()).isNotNull();
+		}
+	}
+
+	private static List<Frame> readAll(InputStream stream) throws IOException {
+		DataInputStream in = new DataInputStream(stream);
+		List<Frame> frames = new ArrayList<>();
+		for (Frame frame = TxFrameUtil.read(in); frame != null; frame = TxFrameUtil.read(in)) {
+			frames.add(frame);
+		}
+		return frames;
+	}
+}